@@ -1,8 +1,43 @@
 import common.GameRunner;
+import server.SessionHost;
+import server.TelnetServer;
+import utils.AssetCatalog;
+import utils.LiveCatalog;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // "--host <port>" serves one session per TCP connection instead of the local console
+        if (args.length >= 2 && args[0].equals("--host")) {
+            try (SessionHost host = new SessionHost()) {
+                host.listen(Integer.parseInt(args[1]));
+            }
+            return;
+        }
+
+        // "--telnet <port>" multiplexes every connection over one NIO selector thread
+        if (args.length >= 2 && args[0].equals("--telnet")) {
+            try (SessionHost host = new SessionHost();
+                 TelnetServer server = new TelnetServer(host, Integer.parseInt(args[1]))) {
+                server.run();
+            }
+            return;
+        }
+
+        // "--assets" reads every data file in parallel and prints per-file parse times
+        if (args.length >= 1 && args[0].equals("--assets")) {
+            AssetCatalog.load().printReport(System.out);
+            return;
+        }
+
+        // "--hot-reload" picks up edits to monster and item files without restarting
+        if (args.length >= 1 && args[0].equals("--hot-reload")) {
+            try (LiveCatalog catalog = LiveCatalog.watch()) {
+                GameRunner.run(catalog);
+            }
+            return;
+        }
+
         // Delegate execution to the GameRunner which handles the menu and errors
         GameRunner.run();
     }
-}
\ No newline at end of file
+}
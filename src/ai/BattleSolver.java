@@ -0,0 +1,377 @@
+package ai;
+
+/**
+ * Picks the best action for the hero to move in a Legends battle.
+ *
+ * <p>Battles are games against dice, not against a thinking opponent: monsters pick a random
+ * standing hero, and every weapon blow can be dodged. So the search is expectimax: heroes
+ * maximise, and dodge rolls and monster targeting are chance nodes that average their outcomes.
+ * Chance nodes are pruned with Star1 (alpha-beta windows narrowed by the outcomes already
+ * averaged, relying on the evaluation being bounded), which is what makes full-width search
+ * affordable.</p>
+ *
+ * <p>Search deepens one ply at a time until the time budget runs out; a ply is one hero action
+ * or one monster attack. The best move of each finished depth, remembered in a transposition
+ * table, is tried first at the next, so the cut-offs come early. The answer is always the best
+ * move of the deepest finished search.</p>
+ *
+ * <p>Not thread-safe: each thread needs its own solver, though they may share one table.</p>
+ */
+public final class BattleSolver {
+
+    public static final long DEFAULT_BUDGET_NANOS = 50_000_000L; // 50 ms
+
+    private static final int MAX_DEPTH = 64;
+
+    // Scores are bounded so chance nodes can prune
+    private static final double WIN = 10_000;
+    private static final double LOSS = -10_000;
+
+    /**
+     * Result of one solve.
+     */
+    public static final class Advice {
+        private final int move;
+        private final double score;
+        private final int depth;
+        private final long nodes;
+        private final long nanos;
+
+        Advice(int move, double score, int depth, long nodes, long nanos) {
+            this.move = move;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        /** @return The move to play, decoded with BattleState.moveKind/moveItem/moveTarget. */
+        public int getMove() { return move; }
+        /** @return Expected evaluation of the move, from -10000 (defeat) to 10000. */
+        public double getScore() { return score; }
+        /** @return Deepest search finished within the budget, in plies. */
+        public int getDepth() { return depth; }
+        public long getNodes() { return nodes; }
+        public long getNanos() { return nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("move %d, score %.0f, depth %d, %d nodes in %.1f ms",
+                    move, score, depth, nodes, nanos / 1e6);
+        }
+    }
+
+    // Thrown to unwind the search when the budget is spent; preallocated and stackless
+    private static final class OutOfTime extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        OutOfTime() { super(null, null, false, false); }
+    }
+
+    private static final OutOfTime OUT_OF_TIME = new OutOfTime();
+
+    private final TranspositionTable table;
+    private final BattleState[] stack = new BattleState[MAX_DEPTH + 2];
+    private final int[][] moves = new int[MAX_DEPTH + 2][];
+    private final double[][] order = new double[MAX_DEPTH + 2][];
+
+    // Star1 running average of the chance node at each ply
+    private final double[] chanceSum = new double[MAX_DEPTH + 2];
+    private final double[] chanceLeft = new double[MAX_DEPTH + 2];
+    private final double[] chanceCutoff = new double[MAX_DEPTH + 2];
+
+    private long deadline;
+    private long nodes;
+    private boolean horizon; // Some line was cut off by depth rather than ending the battle
+
+    public BattleSolver() {
+        this(new TranspositionTable(1 << 16));
+    }
+
+    public BattleSolver(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * @param root         A battle with a hero to move.
+     * @param budgetNanos  Time allowed; at least a one-ply search always finishes.
+     */
+    public Advice solve(BattleState root, long budgetNanos) {
+        long start = System.nanoTime();
+        if (root.isOver() || !root.isHeroTurn()) {
+            throw new IllegalArgumentException("It is not a hero's turn in this battle.");
+        }
+        prepare(root);
+        nodes = 0;
+
+        int[] rootMoves = moves[0];
+        int count = root.generateMoves(rootMoves);
+        orderMoves(root, rootMoves, order[0], count, 0);
+        int best = rootMoves[0];
+        double bestScore = 0;
+        int finished = 0;
+
+        if (count > 1) {
+            deadline = Long.MAX_VALUE; // Depth 1 always finishes, so there is an answer
+            for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+                horizon = false;
+                try {
+                    double alpha = LOSS;
+                    int depthBest = rootMoves[0];
+                    for (int i = 0; i < count; i++) {
+                        double v = moveValue(root, rootMoves[i], depth, alpha, WIN, 0);
+                        if (v > alpha || i == 0) {
+                            alpha = v;
+                            depthBest = rootMoves[i];
+                        }
+                    }
+                    best = depthBest;
+                    bestScore = alpha;
+                    finished = depth;
+                } catch (OutOfTime e) {
+                    break;
+                }
+                if (!horizon) break; // Searched to the end of the battle; deeper cannot change anything
+                moveToFront(rootMoves, count, best); // Best first, so the next depth cuts early
+                deadline = start + budgetNanos - budgetNanos / 5; // Headroom for a late clock check or a pause
+                // Each depth costs several times the last, so one started late would only be thrown away
+                if (System.nanoTime() - start > budgetNanos / 2) break;
+            }
+        }
+        return new Advice(best, bestScore, finished, nodes, System.nanoTime() - start);
+    }
+
+    private void prepare(BattleState root) {
+        int width = root.maxMoves();
+        for (int ply = 0; ply < stack.length; ply++) {
+            // Copies share their capture's constants, so each battle needs its own scratch states
+            stack[ply] = root.copy();
+            if (moves[ply] == null || moves[ply].length < width) {
+                moves[ply] = new int[width];
+                order[ply] = new double[width];
+            }
+        }
+    }
+
+    private double search(BattleState state, int depth, double alpha, double beta, int ply) {
+        if ((++nodes & 255) == 0 && System.nanoTime() > deadline) throw OUT_OF_TIME;
+        if (state.isOver()) return terminal(state);
+        if (depth == 0) {
+            horizon = true;
+            return evaluate(state);
+        }
+
+        long key = state.key();
+        long entry = table.probe(key);
+        int hashMove = -1;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                double s = Float.intBitsToFloat(TranspositionTable.score(entry));
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && s >= beta)
+                        || (bound == TranspositionTable.UPPER && s <= alpha)) {
+                    horizon = true; // The stored line may have stopped at the horizon
+                    return s;
+                }
+            }
+        }
+
+        double best;
+        int bestMove = 0;
+        if (state.isHeroTurn()) {
+            int[] list = moves[ply];
+            int count = state.generateMoves(list);
+            orderMoves(state, list, order[ply], count, hashMove);
+            best = LOSS - 1;
+            double a = alpha;
+            for (int i = 0; i < count; i++) {
+                double v = moveValue(state, list[i], depth, a, beta, ply);
+                if (v > best) {
+                    best = v;
+                    bestMove = list[i];
+                    if (v > a) a = v;
+                    if (a >= beta) break;
+                }
+            }
+        } else {
+            best = monsterValue(state, depth, alpha, beta, ply);
+        }
+
+        int bound = (best <= alpha) ? TranspositionTable.UPPER
+                : (best >= beta) ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(key, TranspositionTable.pack(Float.floatToIntBits((float) best), depth, bound, bestMove));
+        return best;
+    }
+
+    /**
+     * Value of a hero's move: potions and spells are certain, weapon blows may be dodged.
+     */
+    private double moveValue(BattleState state, int move, int depth, double alpha, double beta, int ply) {
+        BattleState child = stack[ply + 1];
+        int item = BattleState.moveItem(move);
+        int target = BattleState.moveTarget(move);
+        switch (BattleState.moveKind(move)) {
+            case BattleState.POTION:
+                child.copyFrom(state);
+                child.applyPotion(item);
+                return search(child, depth - 1, alpha, beta, ply + 1);
+            case BattleState.SPELL:
+                child.copyFrom(state);
+                child.applySpell(item, target);
+                return search(child, depth - 1, alpha, beta, ply + 1);
+            default:
+                double dodge = state.monsterDodgeChance(target);
+                if (dodge <= 0) {
+                    child.copyFrom(state);
+                    child.applyAttack(target, false);
+                    return search(child, depth - 1, alpha, beta, ply + 1);
+                }
+                // Two outcomes: the blow lands, or it is dodged
+                startChance(ply);
+                child.copyFrom(state);
+                child.applyAttack(target, false);
+                if (addOutcome(child, 1 - dodge, depth, alpha, beta, ply)) return chanceCutoff[ply];
+                child.copyFrom(state);
+                child.applyAttack(target, true);
+                if (addOutcome(child, dodge, depth, alpha, beta, ply)) return chanceCutoff[ply];
+                return chanceSum[ply];
+        }
+    }
+
+    /**
+     * Value of a monster's attack: uniform over standing heroes, each of whom may dodge.
+     */
+    private double monsterValue(BattleState state, int depth, double alpha, double beta, int ply) {
+        BattleState child = stack[ply + 1];
+        double pick = 1.0 / state.heroesStanding();
+        startChance(ply);
+        for (int h = 0; h < state.getHeroCount(); h++) {
+            if (state.heroHp(h) <= 0) continue;
+            double dodge = state.heroDodgeChance(h);
+            child.copyFrom(state);
+            child.applyMonsterAttack(h, false);
+            if (addOutcome(child, pick * (1 - dodge), depth, alpha, beta, ply)) return chanceCutoff[ply];
+            if (dodge > 0) {
+                child.copyFrom(state);
+                child.applyMonsterAttack(h, true);
+                if (addOutcome(child, pick * dodge, depth, alpha, beta, ply)) return chanceCutoff[ply];
+            }
+        }
+        return chanceSum[ply];
+    }
+
+    private void startChance(int ply) {
+        chanceSum[ply] = 0;
+        chanceLeft[ply] = 1;
+    }
+
+    /**
+     * Adds one outcome to the Star1 average of the chance node at this ply. The outcome is
+     * searched with the window its value must fall in to still matter, given the outcomes
+     * averaged so far and the best and worst the rest could be.
+     *
+     * @return true if the node can stop; its bound is then in chanceCutoff[ply].
+     */
+    private boolean addOutcome(BattleState child, double p, int depth, double alpha, double beta, int ply) {
+        if (p <= 0) return false;
+        double sum = chanceSum[ply];
+        double rest = chanceLeft[ply] - p;
+        double lo = Math.max(LOSS, (alpha - sum - WIN * rest) / p);
+        double hi = Math.min(WIN, (beta - sum - LOSS * rest) / p);
+        double v = search(child, depth - 1, lo, hi, ply + 1);
+        if (v <= lo && lo > LOSS) {
+            chanceCutoff[ply] = sum + p * v + WIN * rest; // Even the best remaining outcomes cannot reach alpha
+            return true;
+        }
+        if (v >= hi && hi < WIN) {
+            chanceCutoff[ply] = sum + p * v + LOSS * rest; // Even the worst remaining outcomes stay above beta
+            return true;
+        }
+        chanceSum[ply] = sum + p * v;
+        chanceLeft[ply] = rest;
+        return false;
+    }
+
+    /**
+     * Sorts moves by a cheap guess at their worth, with the remembered best move first.
+     */
+    private static void orderMoves(BattleState state, int[] list, double[] scores, int count, int hashMove) {
+        int hero = state.getToMove();
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int item = BattleState.moveItem(move);
+            int target = BattleState.moveTarget(move);
+            double s;
+            switch (BattleState.moveKind(move)) {
+                case BattleState.ATTACK: {
+                    double damage = state.attackDamage(hero, target);
+                    s = (1 - state.monsterDodgeChance(target)) * Math.min(1, damage / state.monsterHp(target));
+                    if (damage >= state.monsterHp(target)) s += 1;
+                    break;
+                }
+                case BattleState.SPELL: {
+                    double damage = state.spellDamage(item);
+                    s = Math.min(1, damage / state.monsterHp(target));
+                    if (damage >= state.monsterHp(target)) s += 1.5;
+                    break;
+                }
+                default:
+                    s = (state.heroHpFraction(hero) < 0.5) ? 0.5 : -1; // Drinking at full health is rarely right
+            }
+            scores[i] = (move == hashMove) ? 10 : s;
+        }
+        // Insertion sort: a handful of moves
+        for (int i = 1; i < count; i++) {
+            int move = list[i];
+            double s = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < s) {
+                list[j + 1] = list[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            list[j + 1] = move;
+            scores[j + 1] = s;
+        }
+    }
+
+    private static void moveToFront(int[] list, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (list[i] == move) {
+                System.arraycopy(list, 0, list, 1, i);
+                list[0] = move;
+                return;
+            }
+        }
+    }
+
+    private static double terminal(BattleState state) {
+        if (state.heroesStanding() == 0) return LOSS;
+        // Heroes who fainted forfeit their rewards, and health carries into the next fight
+        return 8_000 + 1_000 * averageHeroHp(state) + 1_000 * state.heroesStanding() / state.getHeroCount();
+    }
+
+    /**
+     * Heuristic value of an unfinished battle, strictly between LOSS and a win.
+     */
+    private static double evaluate(BattleState state) {
+        double monsters = 0;
+        for (int m = 0; m < state.getMonsterCount(); m++) monsters += state.monsterHpFraction(m);
+        monsters /= state.getMonsterCount();
+        double mana = 0;
+        for (int h = 0; h < state.getHeroCount(); h++) mana += state.heroManaFraction(h);
+        mana /= state.getHeroCount();
+        return 4_000 * averageHeroHp(state)
+                + 1_500 * state.heroesStanding() / state.getHeroCount()
+                + 500 * mana
+                - 6_000 * monsters;
+    }
+
+    private static double averageHeroHp(BattleState state) {
+        double total = 0;
+        for (int h = 0; h < state.getHeroCount(); h++) total += state.heroHpFraction(h);
+        return total / state.getHeroCount();
+    }
+}
@@ -0,0 +1,490 @@
+package ai;
+
+import entities.Hero;
+import entities.Monster;
+import items.Armor;
+import items.Potion;
+import items.Spell;
+import items.Weapon;
+
+import java.util.List;
+
+/**
+ * Compact, copyable model of one Legends battle for search. It follows BattleController's rules
+ * (hit and dodge formulas, spell side effects, free potion use, armor wear per hit, weapon wear
+ * and 10% regeneration per round) but holds only numbers, so a search can copy it thousands of
+ * times per millisecond without touching the real heroes.
+ *
+ * <p>Per-battle constants (max HP and mana, gear base values, spell and potion descriptions) are
+ * shared between copies; only the values a move can change are copied. Heroes and monsters keep
+ * the index they had in the lists they were captured from, fainted or not, and spells and potions
+ * remember their owner and inventory slot, so a chosen move maps straight back to real objects.
+ * A stack of several identical spells or potions becomes that many units on one slot.</p>
+ *
+ * <p>Equipping gear is not modelled; it is a free action the player can still take by hand.</p>
+ */
+public final class BattleState {
+
+    public static final int MAX_HEROES = 8;
+    public static final int MAX_MONSTERS = 8;
+    public static final int MAX_SPELLS = 64;  // Bits of spellsLeft
+    public static final int MAX_POTIONS = 64; // Bits of potionsLeft
+
+    // Move kinds; a move is kind << 12 | item << 4 | target
+    public static final int ATTACK = 1;
+    public static final int SPELL = 2;
+    public static final int POTION = 3;
+
+    // Mutable per-hero values, HERO_FIELDS per hero at the start of values[]
+    private static final int H_HP = 0, H_MANA = 1, H_STRENGTH = 2, H_AGILITY = 3, H_DEXTERITY = 4,
+            H_WEAPON_DURABILITY = 5, H_ARMOR_DURABILITY = 6, HERO_FIELDS = 7;
+    // Mutable per-monster values, after the heroes
+    private static final int M_HP = 0, M_DAMAGE = 1, M_DEFENSE = 2, M_DODGE = 3, MONSTER_FIELDS = 4;
+
+    // Potion stat bits
+    private static final int P_HEALTH = 1, P_MANA = 2, P_STRENGTH = 4, P_DEXTERITY = 8, P_AGILITY = 16;
+
+    private static final double NO_GEAR = -1;
+
+    // Per-battle constants, shared by every copy
+    private final int heroCount;
+    private final int monsterCount;
+    private final double[] heroMaxHp, heroMaxMana, weaponDamage, armorReduction;
+    private final double[] monsterMaxHp;
+    private final int[] spellOwner, spellSlot, spellType;
+    private final double[] spellDamage, spellCost;
+    private final int[] potionOwner, potionSlot, potionStats;
+    private final double[] potionAmount;
+    private final long salt; // Hash of the constants, so one table can serve many battles
+
+    // Values moves change
+    private final double[] values;
+    private long spellsLeft;
+    private long potionsLeft;
+    private int toMove; // Hero index, or heroCount + m while monster m attacks
+    private int round;
+
+    private BattleState(BattleState shared) {
+        this.heroCount = shared.heroCount;
+        this.monsterCount = shared.monsterCount;
+        this.heroMaxHp = shared.heroMaxHp;
+        this.heroMaxMana = shared.heroMaxMana;
+        this.weaponDamage = shared.weaponDamage;
+        this.armorReduction = shared.armorReduction;
+        this.monsterMaxHp = shared.monsterMaxHp;
+        this.spellOwner = shared.spellOwner;
+        this.spellSlot = shared.spellSlot;
+        this.spellType = shared.spellType;
+        this.spellDamage = shared.spellDamage;
+        this.spellCost = shared.spellCost;
+        this.potionOwner = shared.potionOwner;
+        this.potionSlot = shared.potionSlot;
+        this.potionStats = shared.potionStats;
+        this.potionAmount = shared.potionAmount;
+        this.salt = shared.salt;
+        this.values = shared.values.clone();
+        this.spellsLeft = shared.spellsLeft;
+        this.potionsLeft = shared.potionsLeft;
+        this.toMove = shared.toMove;
+        this.round = shared.round;
+    }
+
+    private BattleState(List<Hero> heroes, List<Monster> monsters, int actingHero) {
+        if (heroes.isEmpty() || heroes.size() > MAX_HEROES) {
+            throw new IllegalArgumentException("A battle needs 1 to " + MAX_HEROES + " heroes.");
+        }
+        if (monsters.isEmpty() || monsters.size() > MAX_MONSTERS) {
+            throw new IllegalArgumentException("A battle needs 1 to " + MAX_MONSTERS + " monsters.");
+        }
+        heroCount = heroes.size();
+        monsterCount = monsters.size();
+        heroMaxHp = new double[heroCount];
+        heroMaxMana = new double[heroCount];
+        weaponDamage = new double[heroCount];
+        armorReduction = new double[heroCount];
+        monsterMaxHp = new double[monsterCount];
+        values = new double[heroCount * HERO_FIELDS + monsterCount * MONSTER_FIELDS];
+
+        // Every unit of a stacked spell or potion gets its own bit
+        int spellTotal = 0, potionTotal = 0;
+        for (Hero h : heroes) {
+            for (Spell spell : h.getInventory().getSpells()) spellTotal += h.getInventory().getCount(spell);
+            for (Potion potion : h.getInventory().getPotions()) potionTotal += h.getInventory().getCount(potion);
+        }
+        // Anything past the mask width is simply invisible to the search
+        spellTotal = Math.min(spellTotal, MAX_SPELLS);
+        potionTotal = Math.min(potionTotal, MAX_POTIONS);
+        spellOwner = new int[spellTotal];
+        spellSlot = new int[spellTotal];
+        spellType = new int[spellTotal];
+        spellDamage = new double[spellTotal];
+        spellCost = new double[spellTotal];
+        potionOwner = new int[potionTotal];
+        potionSlot = new int[potionTotal];
+        potionStats = new int[potionTotal];
+        potionAmount = new double[potionTotal];
+
+        int s = 0, p = 0;
+        for (int i = 0; i < heroCount; i++) {
+            Hero h = heroes.get(i);
+            heroMaxHp[i] = h.getMaxHp();
+            heroMaxMana[i] = h.getMaxMana();
+            int base = i * HERO_FIELDS;
+            values[base + H_HP] = h.getHp();
+            values[base + H_MANA] = h.getMana();
+            values[base + H_STRENGTH] = h.getStrength();
+            values[base + H_AGILITY] = h.getAgility();
+            values[base + H_DEXTERITY] = h.getDexterity();
+
+            Weapon weapon = h.getEquippedWeapon();
+            weaponDamage[i] = (weapon != null) ? weapon.getBaseDamage() : 0;
+            values[base + H_WEAPON_DURABILITY] = (weapon != null) ? weapon.getDurability() : NO_GEAR;
+            Armor armor = h.getEquippedArmor();
+            armorReduction[i] = (armor != null) ? armor.getBaseDamageReduction() : 0;
+            values[base + H_ARMOR_DURABILITY] = (armor != null) ? armor.getDurability() : NO_GEAR;
+
+            List<Spell> spells = h.getInventory().getSpells();
+            for (int slot = 0; slot < spells.size(); slot++) {
+                Spell spell = spells.get(slot);
+                for (int unit = h.getInventory().getCount(spell); unit > 0 && s < spellTotal; unit--, s++) {
+                    spellOwner[s] = i;
+                    spellSlot[s] = slot;
+                    spellType[s] = spell.getType().ordinal();
+                    spellDamage[s] = spell.getDamage();
+                    spellCost[s] = spell.getManaCost();
+                    spellsLeft |= 1L << s;
+                }
+            }
+            List<Potion> potions = h.getInventory().getPotions();
+            for (int slot = 0; slot < potions.size(); slot++) {
+                Potion potion = potions.get(slot);
+                int stats = (potion.affects("Health") ? P_HEALTH : 0)
+                        | (potion.affects("Mana") ? P_MANA : 0)
+                        | (potion.affects("Strength") ? P_STRENGTH : 0)
+                        | (potion.affects("Dexterity") ? P_DEXTERITY : 0)
+                        | (potion.affects("Agility") ? P_AGILITY : 0);
+                for (int unit = h.getInventory().getCount(potion); unit > 0 && p < potionTotal; unit--, p++) {
+                    potionOwner[p] = i;
+                    potionSlot[p] = slot;
+                    potionAmount[p] = potion.getAttributeIncrease();
+                    potionStats[p] = stats;
+                    potionsLeft |= 1L << p;
+                }
+            }
+        }
+
+        for (int m = 0; m < monsterCount; m++) {
+            Monster monster = monsters.get(m);
+            monsterMaxHp[m] = monster.getMaxHp();
+            int base = monsterBase(m);
+            values[base + M_HP] = monster.getHp();
+            values[base + M_DAMAGE] = monster.getBaseDamage();
+            values[base + M_DEFENSE] = monster.getDefense();
+            values[base + M_DODGE] = monster.getDodgeChance() * 100; // Back to the value Monster stores
+        }
+
+        this.toMove = actingHero;
+        this.round = 1;
+
+        long h = heroCount * 31L + monsterCount;
+        for (int i = 0; i < heroCount; i++) {
+            h = mix(h, heroMaxHp[i]);
+            h = mix(h, weaponDamage[i]);
+            h = mix(h, armorReduction[i]);
+        }
+        for (int i = 0; i < spellTotal; i++) h = mix(h, spellDamage[i] + spellOwner[i]);
+        for (int i = 0; i < potionTotal; i++) h = mix(h, potionAmount[i] + potionOwner[i]);
+        this.salt = h;
+    }
+
+    /**
+     * Captures a battle in progress.
+     *
+     * @param heroes     The whole party, fainted heroes included, in party order.
+     * @param monsters   Every enemy of the battle, in spawn order.
+     * @param actingHero Index of the hero whose turn it is.
+     */
+    public static BattleState capture(List<Hero> heroes, List<Monster> monsters, int actingHero) {
+        return new BattleState(heroes, monsters, actingHero);
+    }
+
+    public BattleState copy() {
+        return new BattleState(this);
+    }
+
+    /**
+     * Overwrites this state with a copy of the same battle, without allocating.
+     */
+    public void copyFrom(BattleState other) {
+        System.arraycopy(other.values, 0, values, 0, values.length);
+        spellsLeft = other.spellsLeft;
+        potionsLeft = other.potionsLeft;
+        toMove = other.toMove;
+        round = other.round;
+    }
+
+    // MOVES
+
+    public static int move(int kind, int item, int target) { return kind << 12 | item << 4 | target; }
+    public static int moveKind(int move) { return move >>> 12; }
+    public static int moveItem(int move) { return (move >>> 4) & 0xFF; }
+    public static int moveTarget(int move) { return move & 0xF; }
+
+    public int getSpellOwner(int spell) { return spellOwner[spell]; }
+    public int getSpellSlot(int spell) { return spellSlot[spell]; }
+    public int getPotionOwner(int potion) { return potionOwner[potion]; }
+    public int getPotionSlot(int potion) { return potionSlot[potion]; }
+
+    /**
+     * Writes every legal move of the hero to move into out.
+     *
+     * @param out Needs room for monsters * (1 + spells) + potions moves.
+     * @return Number of moves written; 0 when a monster is to move or the battle is over.
+     */
+    public int generateMoves(int[] out) {
+        if (!isHeroTurn() || isOver()) return 0;
+        int hero = toMove;
+        int count = 0;
+        for (int m = 0; m < monsterCount; m++) {
+            if (monsterHp(m) > 0) out[count++] = move(ATTACK, 0, m);
+        }
+        double mana = values[heroBase(hero) + H_MANA];
+        for (int s = 0; s < spellOwner.length; s++) {
+            if (spellOwner[s] != hero || (spellsLeft & (1L << s)) == 0 || mana < spellCost[s]) continue;
+            if (isSpareUnit(spellOwner, spellSlot, spellsLeft, s)) continue;
+            for (int m = 0; m < monsterCount; m++) {
+                if (monsterHp(m) > 0) out[count++] = move(SPELL, s, m);
+            }
+        }
+        for (int p = 0; p < potionOwner.length; p++) {
+            if (potionOwner[p] != hero || (potionsLeft & (1L << p)) == 0) continue;
+            if (!isSpareUnit(potionOwner, potionSlot, potionsLeft, p)) out[count++] = move(POTION, p, 0);
+        }
+        return count;
+    }
+
+    // Units of one stack are adjacent; only the first one left offers moves, the rest would repeat them
+    private static boolean isSpareUnit(int[] owner, int[] slot, long left, int unit) {
+        return unit > 0 && owner[unit - 1] == owner[unit] && slot[unit - 1] == slot[unit]
+                && (left & (1L << (unit - 1))) != 0;
+    }
+
+    public int maxMoves() {
+        return monsterCount * (1 + spellOwner.length) + potionOwner.length;
+    }
+
+    // RULES (mirroring BattleController)
+
+    /**
+     * @return Chance the target monster dodges a weapon attack.
+     */
+    public double monsterDodgeChance(int monster) {
+        return Math.min(0.20, values[monsterBase(monster) + M_DODGE] * 0.01);
+    }
+
+    /**
+     * @return Damage the hero to move would deal to a monster with a weapon attack that lands.
+     */
+    public double attackDamage(int hero, int monster) {
+        int hb = heroBase(hero);
+        double weapon = weaponDamageNow(hero);
+        double raw = (values[hb + H_STRENGTH] + weapon) * 0.05;
+        return Math.max(0, raw - values[monsterBase(monster) + M_DEFENSE] * 0.05);
+    }
+
+    /**
+     * @return Damage a spell deals; spells never miss.
+     */
+    public double spellDamage(int spell) {
+        double dexterity = values[heroBase(spellOwner[spell]) + H_DEXTERITY];
+        return spellDamage[spell] + (dexterity / 10000.0) * spellDamage[spell];
+    }
+
+    public void applyAttack(int monster, boolean dodged) {
+        if (!dodged) damageMonster(monster, attackDamage(toMove, monster));
+        endHeroTurn();
+    }
+
+    public void applySpell(int spell, int monster) {
+        int hb = heroBase(spellOwner[spell]);
+        values[hb + H_MANA] -= spellCost[spell];
+        damageMonster(monster, spellDamage(spell));
+        int mb = monsterBase(monster);
+        if (values[mb + M_HP] > 0) {
+            switch (Spell.SpellType.values()[spellType[spell]]) {
+                case ICE: values[mb + M_DAMAGE] = Math.max(0, values[mb + M_DAMAGE] * 0.9); break;
+                case FIRE: values[mb + M_DEFENSE] = Math.max(0, values[mb + M_DEFENSE] * 0.9); break;
+                // The controller takes 10% of the 0-1 chance off the 0-100 rating
+                case LIGHTNING: values[mb + M_DODGE] = Math.max(0, values[mb + M_DODGE] * 0.999); break;
+            }
+        }
+        spellsLeft &= ~(1L << spell);
+        endHeroTurn();
+    }
+
+    /**
+     * Drinks a potion. Potions are free actions, so the same hero is still to move.
+     */
+    public void applyPotion(int potion) {
+        int hb = heroBase(potionOwner[potion]);
+        double amount = potionAmount[potion];
+        int stats = potionStats[potion];
+        int hero = potionOwner[potion];
+        if ((stats & P_HEALTH) != 0) values[hb + H_HP] = clamp(values[hb + H_HP] + amount, heroMaxHp[hero]);
+        if ((stats & P_MANA) != 0) values[hb + H_MANA] = clamp(values[hb + H_MANA] + amount, heroMaxMana[hero]);
+        if ((stats & P_STRENGTH) != 0) values[hb + H_STRENGTH] += amount;
+        if ((stats & P_DEXTERITY) != 0) values[hb + H_DEXTERITY] += amount;
+        if ((stats & P_AGILITY) != 0) values[hb + H_AGILITY] += amount;
+        potionsLeft &= ~(1L << potion);
+    }
+
+    /**
+     * @return Chance a hero dodges a monster attack.
+     */
+    public double heroDodgeChance(int hero) {
+        double agility = values[heroBase(hero) + H_AGILITY];
+        return Math.min(0.70, agility / (agility + 1000.0));
+    }
+
+    /**
+     * Resolves the attack of the monster to move on the chosen hero.
+     */
+    public void applyMonsterAttack(int hero, boolean dodged) {
+        if (!dodged) {
+            int hb = heroBase(hero);
+            double mitigation = armorReductionNow(hero);
+            double damage = Math.max(0, values[monsterBase(toMove - heroCount) + M_DAMAGE] - mitigation * 0.2);
+            if (values[hb + H_ARMOR_DURABILITY] > 0) {
+                values[hb + H_ARMOR_DURABILITY] = Math.max(0, values[hb + H_ARMOR_DURABILITY] - 2.5);
+            }
+            values[hb + H_HP] = clamp(values[hb + H_HP] - damage, heroMaxHp[hero]);
+        }
+        endMonsterTurn();
+    }
+
+    private void damageMonster(int monster, double damage) {
+        int mb = monsterBase(monster);
+        values[mb + M_HP] = clamp(values[mb + M_HP] - damage, monsterMaxHp[monster]);
+    }
+
+    private void endHeroTurn() {
+        if (monstersStanding() == 0) return; // Victory; nobody moves again
+        for (int h = toMove + 1; h < heroCount; h++) {
+            if (heroHp(h) > 0) {
+                toMove = h;
+                return;
+            }
+        }
+        toMove = heroCount + nextMonster(-1);
+    }
+
+    private void endMonsterTurn() {
+        if (heroesStanding() == 0) return; // Defeat
+        int next = nextMonster(toMove - heroCount);
+        if (next < monsterCount) {
+            toMove = heroCount + next;
+            return;
+        }
+        regenerate();
+        round++;
+        for (int h = 0; h < heroCount; h++) {
+            if (heroHp(h) > 0) {
+                toMove = h;
+                return;
+            }
+        }
+    }
+
+    private int nextMonster(int after) {
+        int m = after + 1;
+        while (m < monsterCount && monsterHp(m) <= 0) m++;
+        return m;
+    }
+
+    private void regenerate() {
+        for (int h = 0; h < heroCount; h++) {
+            int hb = heroBase(h);
+            if (values[hb + H_HP] <= 0) continue;
+            values[hb + H_HP] = clamp(values[hb + H_HP] * 1.1, heroMaxHp[h]);
+            values[hb + H_MANA] = clamp(values[hb + H_MANA] * 1.1, heroMaxMana[h]);
+            if (values[hb + H_WEAPON_DURABILITY] != NO_GEAR) {
+                double durability = Math.max(0, values[hb + H_WEAPON_DURABILITY] - 1.5);
+                values[hb + H_WEAPON_DURABILITY] = (durability <= 0) ? NO_GEAR : durability; // Broken gear is unequipped
+            }
+            if (values[hb + H_ARMOR_DURABILITY] != NO_GEAR && values[hb + H_ARMOR_DURABILITY] <= 0) {
+                values[hb + H_ARMOR_DURABILITY] = NO_GEAR;
+            }
+        }
+    }
+
+    private double weaponDamageNow(int hero) {
+        double durability = values[heroBase(hero) + H_WEAPON_DURABILITY];
+        return (durability == NO_GEAR) ? 0 : weaponDamage[hero] * (0.25 + 0.75 * durability / 100.0);
+    }
+
+    private double armorReductionNow(int hero) {
+        double durability = values[heroBase(hero) + H_ARMOR_DURABILITY];
+        return (durability == NO_GEAR) ? 0 : armorReduction[hero] * (0.25 + 0.75 * durability / 100.0);
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    // QUERIES
+
+    public int getHeroCount() { return heroCount; }
+    public int getMonsterCount() { return monsterCount; }
+    public int getToMove() { return toMove; }
+    public int getRound() { return round; }
+    public boolean isHeroTurn() { return toMove < heroCount; }
+
+    /**
+     * @return Index of the monster to move; only meaningful when !isHeroTurn().
+     */
+    public int getMonsterToMove() { return toMove - heroCount; }
+
+    public double heroHp(int hero) { return values[heroBase(hero) + H_HP]; }
+    public double heroHpFraction(int hero) { return heroHp(hero) / heroMaxHp[hero]; }
+    public double heroManaFraction(int hero) {
+        return heroMaxMana[hero] > 0 ? values[heroBase(hero) + H_MANA] / heroMaxMana[hero] : 0;
+    }
+    public double monsterHp(int monster) { return values[monsterBase(monster) + M_HP]; }
+    public double monsterHpFraction(int monster) { return monsterHp(monster) / monsterMaxHp[monster]; }
+
+    public int heroesStanding() {
+        int n = 0;
+        for (int h = 0; h < heroCount; h++) if (heroHp(h) > 0) n++;
+        return n;
+    }
+
+    public int monstersStanding() {
+        int n = 0;
+        for (int m = 0; m < monsterCount; m++) if (monsterHp(m) > 0) n++;
+        return n;
+    }
+
+    public boolean isOver() {
+        return monstersStanding() == 0 || heroesStanding() == 0;
+    }
+
+    /**
+     * @return 64-bit key of everything a move can change, salted with the battle's constants.
+     * Values are rounded to thousandths first, so states that differ only by float noise share a key.
+     */
+    public long key() {
+        long h = salt ^ (spellsLeft * 0x9E3779B97F4A7C15L) ^ Long.rotateLeft(potionsLeft, 29) ^ ((long) toMove << 56);
+        for (double v : values) h = mix(h, v);
+        return h;
+    }
+
+    private static long mix(long h, double v) {
+        long z = h + Math.round(v * 1000) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int heroBase(int hero) { return hero * HERO_FIELDS; }
+    private int monsterBase(int monster) { return heroCount * HERO_FIELDS + monster * MONSTER_FIELDS; }
+}
@@ -0,0 +1,99 @@
+package ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free cache of search results keyed by 64-bit state keys (e.g. Zobrist keys),
+ * safe to share between any number of search threads.
+ *
+ * <p>Each entry is two longs: the packed data, and the key XOR the data. Writers store both
+ * words without locking; a reader accepts an entry only if the two words XOR back to the key it
+ * asked for. Two threads writing the same slot at once can leave a torn pair, but a torn pair
+ * never verifies, so the worst case is a miss, never a wrong answer.</p>
+ *
+ * <p>Data words hold a score, the remaining search depth, the kind of bound and a move index;
+ * use pack() and the accessors to build and read them.</p>
+ */
+public final class TranspositionTable {
+
+    /** Bound kinds: the score is exact, a lower bound (fail high) or an upper bound (fail low). */
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    /** Returned by probe when the key is not in the table. */
+    public static final long MISS = 0L;
+
+    private static final long VALID = 1L << 63; // Set in every packed word, so MISS is never a real entry
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * @param entries Requested capacity; rounded up to a power of two.
+     */
+    public TranspositionTable(int entries) {
+        if (entries < 1 || entries > (1 << 29)) {
+            throw new IllegalArgumentException("Table size must be between 1 and " + (1 << 29) + " entries.");
+        }
+        int size = (entries == 1) ? 1 : Integer.highestOneBit(entries - 1) << 1;
+        this.slots = new AtomicLongArray(size * 2);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return The packed data stored for the key, or MISS.
+     */
+    public long probe(long key) {
+        int i = index(key);
+        long check = slots.get(i);
+        long data = slots.get(i + 1);
+        return ((check ^ data) == key && data != MISS) ? data : MISS;
+    }
+
+    /**
+     * Stores a result, unless the slot already holds a deeper search of the same key.
+     * A different key in the slot is always replaced.
+     */
+    public void store(long key, long data) {
+        int i = index(key);
+        long oldData = slots.get(i + 1);
+        if ((slots.get(i) ^ oldData) == key && oldData != MISS && depth(oldData) > depth(data)) {
+            return;
+        }
+        slots.set(i + 1, data);
+        slots.set(i, key ^ data);
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) slots.set(i, 0L);
+    }
+
+    private int index(long key) {
+        // Fold both halves so keys that differ only in their high bits still spread out
+        return (((int) (key >>> 32) ^ (int) key) & mask) << 1;
+    }
+
+    /**
+     * @param score Evaluation from the searching side's point of view.
+     * @param depth Remaining depth searched below this state (0-255).
+     * @param bound EXACT, LOWER or UPPER.
+     * @param move  Index of the best move found (0-65535), for move ordering.
+     */
+    public static long pack(int score, int depth, int bound, int move) {
+        return VALID
+                | ((long) (move & 0xFFFF) << 42)
+                | ((long) (bound & 0x3) << 40)
+                | ((long) (depth & 0xFF) << 32)
+                | (score & 0xFFFFFFFFL);
+    }
+
+    public static int score(long data) { return (int) data; }
+    public static int depth(long data) { return (int) (data >>> 32) & 0xFF; }
+    public static int bound(long data) { return (int) (data >>> 40) & 0x3; }
+    public static int move(long data) { return (int) (data >>> 42) & 0xFFFF; }
+}
@@ -0,0 +1,188 @@
+package bench;
+
+import ai.BattleSolver;
+import ai.BattleState;
+import common.GameSession;
+import common.RandomGenerator;
+import entities.Hero;
+import entities.Monster;
+import entities.MonsterTemplate;
+import entities.Party;
+import events.CombatListener;
+import events.CombatTally;
+import game.BattleController;
+import items.Armor;
+import items.Potion;
+import items.Spell;
+import items.Spell.SpellType;
+import items.Weapon;
+import utils.AssetCatalog;
+import utils.GameDataLoader;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * Times the battle advisor on seeded 3v3 Legends fights and checks it plays well.
+ *
+ * <p>Each party is raised to the chosen level and gets random gear, spells and potions; the
+ * monsters match its level. First the advisor is asked for the opening move of every fight,
+ * reporting how long the answers took and how deep they looked. Then every fight is played
+ * through the real BattleController with the same dice seed, once always attacking the first
+ * monster and once on Auto-Battle, and wins, damage taken and fainted heroes are compared.</p>
+ *
+ * <p>Usage: java -cp bin bench.BattleSolverBenchmark [--battles N] [--budget MS] [--level L]</p>
+ */
+public class BattleSolverBenchmark {
+
+    private static final CombatListener NO_EVENTS = new CombatListener() { };
+
+    public static void main(String[] args) {
+        int battles = 200;
+        long budgetMs = 50;
+        int level = 10; // Low-level fights end in a swing or two, whatever the advisor picks
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--battles": battles = Integer.parseInt(args[++i]); break;
+                case "--budget": budgetMs = Long.parseLong(args[++i]); break;
+                case "--level": level = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        List<Weapon> weapons = GameDataLoader.loadWeapons("Weaponry.txt");
+        List<Armor> armor = GameDataLoader.loadArmor("Armory.txt");
+        List<Potion> potions = GameDataLoader.loadPotions("Potions.txt");
+        List<Spell> spells = new ArrayList<>();
+        spells.addAll(GameDataLoader.loadSpells("FireSpells.txt", SpellType.FIRE));
+        spells.addAll(GameDataLoader.loadSpells("IceSpells.txt", SpellType.ICE));
+        spells.addAll(GameDataLoader.loadSpells("LightningSpells.txt", SpellType.LIGHTNING));
+
+        if (roster.size() < 3 || catalog.isEmpty() || weapons.isEmpty() || armor.isEmpty()
+                || potions.isEmpty() || spells.isEmpty()) {
+            System.err.println("Need heroes, monsters and every item catalog. Check data/ directory.");
+            return;
+        }
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        Kit kit = new Kit(roster, catalog, weapons, armor, potions, spells, level);
+        int battleCount = battles;
+        long budget = budgetMs * 1_000_000L;
+
+        GameSession.headless().execute(() -> {
+            timeOpenings(report, kit, battleCount, budget);
+            comparePlay(report, kit, battleCount);
+        });
+    }
+
+    private static void timeOpenings(PrintStream report, Kit kit, int battles, long budget) {
+        BattleSolver solver = new BattleSolver();
+        for (int b = 0; b < Math.min(battles, 20); b++) solver.solve(kit.opening(b), budget); // Warm up the JIT
+
+        long[] nanos = new long[battles];
+        long depths = 0, nodes = 0;
+        for (int b = 0; b < battles; b++) {
+            BattleSolver.Advice advice = solver.solve(kit.opening(b), budget);
+            nanos[b] = advice.getNanos();
+            depths += advice.getDepth();
+            nodes += advice.getNodes();
+        }
+        Arrays.sort(nanos);
+        long total = Arrays.stream(nanos).sum();
+        report.printf("Opening advice for %d battles, %d ms budget%n", battles, budget / 1_000_000);
+        report.printf("  mean %.1f ms, p99 %.1f ms, max %.1f ms, mean depth %.1f plies, %.2f M nodes/s%n",
+                total / 1e6 / battles, nanos[(int) (battles * 0.99)] / 1e6, nanos[battles - 1] / 1e6,
+                (double) depths / battles, nodes / (total / 1e9) / 1e6);
+    }
+
+    private static void comparePlay(PrintStream report, Kit kit, int battles) {
+        String[] scripts = {"1\n1\n".repeat(1000), "8\n"}; // Attack the first monster, or hand over at once
+        String[] names = {"attack first", "auto-battle"};
+        for (int policy = 0; policy < 2; policy++) {
+            BattleController controller = new BattleController(kit.catalog);
+            controller.getEvents().clear();
+            CombatTally tally = new CombatTally();
+            controller.getEvents().subscribe(tally);
+            int wins = 0;
+            double health = 0;
+
+            long start = System.nanoTime();
+            for (int b = 0; b < battles; b++) {
+                Party party = kit.party(b);
+                RandomGenerator.getInstance().setSeed(b); // Same foes for both policies
+                controller.startBattle(new Scanner(scripts[policy]), party);
+                if (!party.isPartyWipedOut()) {
+                    wins++;
+                    for (Hero h : party.getHeroes()) health += h.getHp() / h.getMaxHp() / party.getSize();
+                }
+            }
+            report.printf("%-13s %d/%d wins, %.1f%% health left, %.0f damage taken, %d heroes fainted (%.1fs)%n",
+                    names[policy] + ":", wins, battles, 100 * health / battles, tally.getDamageToHeroes(),
+                    tally.getHeroesFainted(), (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    // Builds the same geared party and foes for a given battle number every time
+    private static final class Kit {
+        private final List<Hero> roster;
+        private final List<MonsterTemplate> catalog;
+        private final List<Weapon> weapons;
+        private final List<Armor> armor;
+        private final List<Potion> potions;
+        private final List<Spell> spells;
+        private final int level;
+
+        Kit(List<Hero> roster, List<MonsterTemplate> catalog, List<Weapon> weapons, List<Armor> armor,
+            List<Potion> potions, List<Spell> spells, int level) {
+            this.roster = roster;
+            this.catalog = catalog;
+            this.weapons = weapons;
+            this.armor = armor;
+            this.potions = potions;
+            this.spells = spells;
+            this.level = level;
+        }
+
+        Party party(int battle) {
+            Random random = new Random(battle);
+            Party party = new Party();
+            for (int slot = 0; slot < 3; slot++) {
+                Hero hero = roster.get((battle + slot * 7) % roster.size()).copy();
+                hero.gainExperience(5 * level * (level - 1), NO_EVENTS); // Levels 1..L-1 cost 10, 20, ... XP
+                // Weapons and armor wear out, so each hero gets its own piece
+                Weapon w = weapons.get(random.nextInt(weapons.size()));
+                hero.equipWeapon(new Weapon(w.getName(), w.getPrice(), w.getMinLevel(), w.getBaseDamage(), w.getRequiredHands()));
+                Armor a = armor.get(random.nextInt(armor.size()));
+                hero.equipArmor(new Armor(a.getName(), a.getPrice(), a.getMinLevel(), a.getBaseDamageReduction()));
+                for (int i = 0; i < 2; i++) {
+                    hero.getInventory().addItem(spells.get(random.nextInt(spells.size())));
+                    hero.getInventory().addItem(potions.get(random.nextInt(potions.size())));
+                }
+                party.addHero(hero);
+            }
+            return party;
+        }
+
+        BattleState opening(int battle) {
+            Party party = party(battle);
+            Random random = new Random(~battle);
+            int level = party.getHeroes().stream().mapToInt(Hero::getLevel).max().orElse(1);
+            List<Monster> foes = new ArrayList<>(3);
+            for (int i = 0; i < 3; i++) {
+                foes.add(GameDataLoader.createMonsterFromTemplate(catalog.get(random.nextInt(catalog.size())), level));
+            }
+            return BattleState.capture(party.getHeroes(), foes, 0);
+        }
+    }
+}
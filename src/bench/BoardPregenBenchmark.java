@@ -0,0 +1,67 @@
+package bench;
+
+import board.LegendsBoard;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how long a Legends session waits for its board, generating it on the spot versus
+ * claiming the one prepared in the background during the previous session.
+ *
+ * <p>Each simulated session obtains a board, queues the next one and then "plays" for a short
+ * gap, during which the background thread builds the next board.</p>
+ *
+ * <p>Usage: java -cp bin bench.BoardPregenBenchmark [--size N] [--sessions S] [--gap MS]</p>
+ */
+public class BoardPregenBenchmark {
+
+    private static long sink; // Keeps every board observable
+
+    public static void main(String[] args) {
+        int size = 20;
+        int sessions = 200;
+        long gapMs = 5;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--sessions": sessions = Integer.parseInt(args[++i]); break;
+                case "--gap": gapMs = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        run(size, sessions, gapMs, false); // Warm up the JIT
+        run(size, sessions, gapMs, true);
+        long[] sync = run(size, sessions, gapMs, false);
+        long[] prepared = run(size, sessions, gapMs, true);
+
+        System.out.printf("%dx%d board, %d sessions, %d ms between sessions%n", size, size, sessions, gapMs);
+        print("generated:", sync);
+        print("prepared:", prepared);
+        System.out.printf("(checksum %d)%n", sink);
+    }
+
+    // Returns every session's wait for its board in nanoseconds
+    private static long[] run(int size, int sessions, long gapMs, boolean prepare) {
+        long[] nanos = new long[sessions];
+        for (int s = 0; s < sessions; s++) {
+            long start = System.nanoTime();
+            LegendsBoard board = prepare ? LegendsBoard.obtain(size) : new LegendsBoard(size);
+            nanos[s] = System.nanoTime() - start;
+            if (prepare) LegendsBoard.prepare(size);
+            sink += board.getCell(size - 1, size - 1).isAccessible() ? 1 : 0;
+            LockSupport.parkNanos(gapMs * 1_000_000L); // The session being played
+        }
+        return nanos;
+    }
+
+    private static void print(String label, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%-10s median %.1f us, p99 %.1f us, max %.1f us%n", label,
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3, nanos[nanos.length - 1] / 1e3);
+    }
+}
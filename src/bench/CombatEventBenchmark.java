@@ -0,0 +1,116 @@
+package bench;
+
+import common.GameSession;
+import entities.EntityPool;
+import entities.Hero;
+import entities.MonsterTemplate;
+import events.CombatListener;
+import events.CombatTally;
+import events.ConsoleCombatRenderer;
+import game.ValorGame;
+import game.ValorGame.Outcome;
+import utils.AssetCatalog;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays the same seeded headless Valor matches with three combat-event setups and reports
+ * throughput and bytes allocated per match for each:
+ * the console renderer (text formatted, then discarded by the headless session),
+ * an empty bus (nothing formatted) and a CombatTally (events counted, nothing formatted).
+ * All three must report the same win count; the process exits with status 1 otherwise.
+ *
+ * <p>Usage: java -cp bin bench.CombatEventBenchmark [--matches N] [--rounds R] [--reps K]</p>
+ */
+public class CombatEventBenchmark {
+
+    public static void main(String[] args) {
+        int matches = 5_000;
+        int maxRounds = 30;
+        int reps = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches": matches = Integer.parseInt(args[++i]); break;
+                case "--rounds": maxRounds = Integer.parseInt(args[++i]); break;
+                case "--reps": reps = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        if (roster.size() < 3 || catalog.isEmpty()) {
+            System.err.println("Need at least 3 heroes and 1 monster. Check data/ directory.");
+            return;
+        }
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        report.printf("%d matches per run, %d rounds max%n", matches, maxRounds);
+        report.printf("%-4s %-9s %9s %14s %14s %6s%n", "rep", "listener", "time (ms)", "matches/hour", "KB per match", "wins");
+
+        boolean same = true;
+        for (int rep = 1; rep <= reps; rep++) {
+            CombatTally tally = new CombatTally();
+            int console = run(report, rep, "console", new ConsoleCombatRenderer(ConsoleCombatRenderer.Style.VALOR), roster, catalog, matches, maxRounds);
+            int none = run(report, rep, "none", null, roster, catalog, matches, maxRounds);
+            int tallied = run(report, rep, "tally", tally, roster, catalog, matches, maxRounds);
+            report.println("     tally: " + tally);
+            same &= console == none && console == tallied;
+        }
+        if (!same) {
+            report.println("FAILED: the listener setups won a different number of games");
+            System.exit(1);
+        }
+    }
+
+    private static int run(PrintStream report, int rep, String mode, CombatListener listener, List<Hero> roster,
+                            List<MonsterTemplate> catalog, int matches, int maxRounds) {
+        Random random = new Random();
+        ValorGame game = new ValorGame(random);
+        EntityPool pool = new EntityPool(32);
+        game.setPool(pool);
+        game.getEvents().clear();
+        if (listener != null) game.getEvents().subscribe(listener);
+        List<Hero> lineup = new ArrayList<>(3);
+        int[] wins = {0};
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        GameSession.headless().execute(() -> {
+            for (int m = 0; m < matches; m++) {
+                random.setSeed(m);
+                lineup.clear();
+                for (int slot = 0; slot < 3; slot++) {
+                    lineup.add(pool.acquireHero(roster.get((m + slot * 7) % roster.size())));
+                }
+                if (game.simulate(lineup, catalog, maxRounds) == Outcome.VICTORY) wins[0]++;
+                for (Hero hero : lineup) pool.releaseHero(hero);
+            }
+        });
+
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        report.printf("%-4d %-9s %9.0f %14.0f %14.1f %6d%n",
+                rep, mode, nanos / 1e6, matches * 3600e9 / nanos, allocated / 1024.0 / matches, wins[0]);
+        return wins[0];
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,82 @@
+package bench;
+
+import items.Inventory;
+import items.Item;
+import items.Potion;
+import items.Spell;
+import utils.AssetCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Fills an inventory the way a long bot session does, buying many copies of a few consumables,
+ * then compares listing potions and spells from the stacked Inventory with the old layout of one
+ * list entry per unit.
+ *
+ * <p>Usage: java -cp bin bench.InventoryBenchmark [--units N] [--distinct D] [--reps R]
+ * Exits with status 1 if the stacked inventory loses or splits units.</p>
+ */
+public class InventoryBenchmark {
+
+    public static void main(String[] args) {
+        int units = 500;
+        int distinct = 10;
+        int reps = 200_000;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--units": units = Integer.parseInt(args[++i]); break;
+                case "--distinct": distinct = Integer.parseInt(args[++i]); break;
+                case "--reps": reps = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        List<Item> consumables = new ArrayList<>();
+        for (Item item : AssetCatalog.load().items().join()) {
+            if (Inventory.isStackable(item)) consumables.add(item);
+        }
+        if (consumables.size() < distinct) {
+            System.err.println("Need at least " + distinct + " potions and spells. Check data/ directory.");
+            return;
+        }
+
+        Random random = new Random(1);
+        Inventory stacked = new Inventory();
+        List<Item> flat = new ArrayList<>(); // The old layout
+        for (int i = 0; i < units; i++) {
+            Item item = consumables.get(random.nextInt(distinct));
+            stacked.addItem(item);
+            flat.add(item);
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            sink += stacked.getPotions().size() + stacked.getSpells().size();
+        }
+        double stackedNs = (System.nanoTime() - start) / (double) reps;
+
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            sink += flat.stream().filter(i -> i instanceof Potion).collect(Collectors.toList()).size()
+                    + flat.stream().filter(i -> i instanceof Spell).collect(Collectors.toList()).size();
+        }
+        double flatNs = (System.nanoTime() - start) / (double) reps;
+
+        System.out.printf("%d units of %d distinct consumables%n", units, distinct);
+        System.out.printf("entries: %d stacked vs %d flat (quantity %d)%n",
+                stacked.getStacks().size(), flat.size(), stacked.getQuantity());
+        System.out.printf("list potions + spells: %.0f ns stacked vs %.0f ns flat (checksum %d)%n", stackedNs, flatNs, sink);
+
+        if (stacked.getQuantity() != units || stacked.getStacks().size() > distinct) {
+            System.out.println("FAILED: stacked inventory does not hold the units it was given");
+            System.exit(1);
+        }
+    }
+}
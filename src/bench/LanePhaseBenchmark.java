@@ -0,0 +1,135 @@
+package bench;
+
+import board.ValorLayout;
+import common.GameSession;
+import entities.Monster;
+import entities.MonsterTemplate;
+import game.ValorGame;
+import utils.AssetCatalog;
+import utils.GameDataLoader;
+import utils.MonsterScaling;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the lane-parallel monster phase on tall custom maps. Each run is a heroless match
+ * with a wave every round, so the board fills with hundreds of marching monsters per lane and
+ * the monster phase is nearly all of the work. Every lane count is played sequentially and on
+ * a ForkJoinPool, and the final monster positions of both runs must match exactly; the
+ * process exits with status 1 if any lane count ends differently.
+ *
+ * <p>Usage: java -cp bin bench.LanePhaseBenchmark [--lanes 1,2,4,8,16] [--rows R] [--rounds N]
+ * [--threads T] [--reps K] [--seed S]</p>
+ *
+ * <p>Times are the best of K repetitions. Speedup can only approach the lane count when at
+ * least that many cores are free.</p>
+ */
+public class LanePhaseBenchmark {
+
+    public static void main(String[] args) {
+        int[] laneCounts = {1, 2, 4, 8, 16};
+        int rows = 1000;
+        int rounds = 800;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int reps = 5;
+        long seed = 37L;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--lanes": laneCounts = parseList(args[++i]); break;
+                case "--rows": rows = Integer.parseInt(args[++i]); break;
+                case "--rounds": rounds = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--reps": reps = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        List<MonsterTemplate> catalog = AssetCatalog.load().monsters().join();
+
+        // A wave every round; everything else as configured
+        MonsterScaling base = GameDataLoader.getMonsterScaling();
+        MonsterScaling everyRound = new MonsterScaling(base.getDamagePerLevel(), base.getMinDamage(),
+                base.getDefensePerLevel(), base.getMinDefense(), base.getDodgeCap(), 1);
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        ForkJoinPool executor = new ForkJoinPool(threads);
+        report.printf("%d rows, %d rounds, %d worker threads (%d cores)%n",
+                rows, rounds, threads, Runtime.getRuntime().availableProcessors());
+        report.printf("%6s %10s %14s %14s %9s %10s%n", "lanes", "monsters", "sequential ms", "parallel ms", "speedup", "identical");
+
+        boolean allIdentical = true;
+        for (int lanes : laneCounts) {
+            ValorLayout layout = new ValorLayout(lanes, ValorLayout.DEFAULT.getLaneWidth(), rows);
+            Run reference = play(layout, everyRound, catalog, null, rounds, seed);
+            long sequential = Long.MAX_VALUE;
+            long parallel = Long.MAX_VALUE;
+            boolean identical = true;
+            // Alternate the modes so neither gets a warmer JIT or heap than the other
+            for (int r = 0; r < reps; r++) {
+                Run seq = play(layout, everyRound, catalog, null, rounds, seed);
+                Run par = play(layout, everyRound, catalog, executor, rounds, seed);
+                sequential = Math.min(sequential, seq.nanos);
+                parallel = Math.min(parallel, par.nanos);
+                identical &= seq.digest == reference.digest && par.digest == reference.digest;
+            }
+            report.printf("%6d %10d %14.1f %14.1f %8.2fx %10s%n", lanes, reference.monsters,
+                    sequential / 1e6, parallel / 1e6, (double) sequential / parallel, identical ? "yes" : "NO");
+            allIdentical &= identical;
+        }
+        executor.shutdown();
+        if (!allIdentical) {
+            report.println("FAILED: parallel and sequential runs ended on different boards");
+            System.exit(1);
+        }
+    }
+
+    private static final class Run {
+        long nanos;
+        long digest;
+        int monsters;
+    }
+
+    private static Run play(ValorLayout layout, MonsterScaling scaling, List<MonsterTemplate> catalog,
+                            ForkJoinPool executor, int rounds, long seed) {
+        ValorGame game = new ValorGame(new Random(seed), layout);
+        game.setScaling(scaling);
+        game.setLaneExecutor(executor);
+        game.setVerbose(false);
+
+        Run run = new Run();
+        GameSession.headless().execute(() -> {
+            long start = System.nanoTime();
+            game.simulate(Collections.emptyList(), catalog, rounds);
+            run.nanos = System.nanoTime() - start;
+
+            // Order-sensitive hash of every lane's monsters and where they stand
+            long digest = 17;
+            for (int lane = 0; lane < layout.getLanes(); lane++) {
+                for (Monster m : game.getMonsters(lane)) {
+                    digest = digest * 31 + m.getName().hashCode();
+                    digest = digest * 31 + m.getRow() * 1_000L + m.getCol();
+                    run.monsters++;
+                }
+            }
+            run.digest = digest;
+        });
+        return run;
+    }
+
+    private static int[] parseList(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,144 @@
+package bench;
+
+import board.CellType;
+import board.LegendsMapGenerator;
+
+import java.util.Random;
+
+/**
+ * Compares the constructive Legends map generator with the old shuffle-and-retry approach
+ * from 20x20 up to 4096x4096.
+ *
+ * <p>The retry baseline shuffles exactly 20/30/50 cell types, forces the start and safe cells
+ * open, flood-fills and tries again up to ten times, as LegendsBoard used to before falling
+ * back to a fixed pattern. Every constructive map is checked for connectivity and exact
+ * proportions.</p>
+ *
+ * <p>Usage: java -cp bin bench.LegendsMapBenchmark [--max N] [--boards B]
+ * Exits with status 1 if any constructive map fails its checks.</p>
+ */
+public class LegendsMapBenchmark {
+
+    private static final int[] SIZES = {20, 64, 256, 1024, 4096};
+    private static final int MAX_ATTEMPTS = 10;
+
+    public static void main(String[] args) {
+        int max = 4096;
+        int boards = 200;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--max": max = Integer.parseInt(args[++i]); break;
+                case "--boards": boards = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        Random random = new Random(7);
+        for (int r = 0; r < 5_000; r++) LegendsMapGenerator.generate(20, 20, random); // Warm up the JIT
+
+        int failed = 0;
+        System.out.printf("%-10s %14s %9s %22s %14s%n", "SIZE", "CONSTRUCTIVE", "CHECKED", "RETRY: CONNECTED", "RETRY TIME");
+        for (int n : SIZES) {
+            if (n > max) break;
+            // Fewer boards as they grow, so every size takes about the same time
+            int count = Math.max(1, (int) Math.min(boards, (long) boards * 400 / ((long) n * n) + 1));
+            int[] queue = new int[n * n];
+
+            long nanos = 0;
+            int bad = 0;
+            for (int b = 0; b < count; b++) {
+                long start = System.nanoTime();
+                CellType[] types = LegendsMapGenerator.generate(n, n, random);
+                nanos += System.nanoTime() - start;
+                if (!connected(types, n, queue) || !exact(types, n)) bad++;
+            }
+            failed += bad;
+
+            long retryNanos = 0;
+            int connectedCount = 0;
+            long attempts = 0;
+            for (int b = 0; b < count; b++) {
+                long start = System.nanoTime();
+                for (int a = 1; a <= MAX_ATTEMPTS; a++) {
+                    attempts++;
+                    if (connected(shuffled(n, random), n, queue)) {
+                        connectedCount++;
+                        break;
+                    }
+                }
+                retryNanos += System.nanoTime() - start;
+            }
+
+            System.out.printf("%-10s %11.1f ns %9s %10d/%d (%.1f tries) %11.1f ns%n", n + "x" + n,
+                    nanos / (double) count / ((long) n * n), bad == 0 ? "ok" : bad + " BAD",
+                    connectedCount, count, attempts / (double) count, retryNanos / (double) count / ((long) n * n));
+        }
+        System.out.println("(times are per cell; the retry baseline falls back to a fixed pattern when it fails)");
+        if (failed > 0) {
+            System.out.println("FAILED: " + failed + " constructive maps were disconnected or off proportion");
+            System.exit(1);
+        }
+    }
+
+    // The old generator: exact counts, shuffled blindly, then the start and safe cells forced open
+    private static CellType[] shuffled(int n, Random random) {
+        int cells = n * n;
+        int walls = Math.max(1, (int) Math.round(cells * LegendsMapGenerator.WALL_SHARE));
+        int markets = (int) Math.round(cells * LegendsMapGenerator.MARKET_SHARE);
+        CellType[] types = new CellType[cells];
+        for (int i = 0; i < cells; i++) {
+            types[i] = (i < walls) ? CellType.INACCESSIBLE : (i < walls + markets) ? CellType.MARKET : CellType.COMMON;
+        }
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            CellType t = types[i];
+            types[i] = types[j];
+            types[j] = t;
+        }
+        types[0] = CellType.COMMON;
+        if (types[1] == CellType.INACCESSIBLE) types[1] = CellType.COMMON;
+        if (types[n] == CellType.INACCESSIBLE) types[n] = CellType.COMMON;
+        return types;
+    }
+
+    // Breadth-first flood from the start; true if it reaches every accessible cell
+    private static boolean connected(CellType[] types, int n, int[] queue) {
+        boolean[] seen = new boolean[types.length];
+        int accessible = 0;
+        for (CellType t : types) if (t != CellType.INACCESSIBLE) accessible++;
+        int head = 0, tail = 0;
+        queue[tail++] = 0;
+        seen[0] = true;
+        while (head < tail) {
+            int cell = queue[head++];
+            int r = cell / n, c = cell % n;
+            if (r > 0) tail = visit(types, seen, queue, tail, cell - n);
+            if (r < n - 1) tail = visit(types, seen, queue, tail, cell + n);
+            if (c > 0) tail = visit(types, seen, queue, tail, cell - 1);
+            if (c < n - 1) tail = visit(types, seen, queue, tail, cell + 1);
+        }
+        return tail == accessible;
+    }
+
+    private static int visit(CellType[] types, boolean[] seen, int[] queue, int tail, int cell) {
+        if (seen[cell] || types[cell] == CellType.INACCESSIBLE) return tail;
+        seen[cell] = true;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    private static boolean exact(CellType[] types, int n) {
+        int cells = n * n;
+        int walls = 0, markets = 0;
+        for (CellType t : types) {
+            if (t == CellType.INACCESSIBLE) walls++;
+            else if (t == CellType.MARKET) markets++;
+        }
+        return walls == Math.max(1, (int) Math.round(cells * LegendsMapGenerator.WALL_SHARE))
+                && markets == (int) Math.round(cells * LegendsMapGenerator.MARKET_SHARE)
+                && types[0] == CellType.COMMON && types[1] != CellType.INACCESSIBLE && types[n] != CellType.INACCESSIBLE;
+    }
+}
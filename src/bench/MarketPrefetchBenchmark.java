@@ -0,0 +1,104 @@
+package bench;
+
+import common.GameSession;
+import entities.Hero;
+import entities.Hero.HeroType;
+import entities.Party;
+import game.MarketController;
+import items.Item;
+import utils.AssetCatalog;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how long entering a market takes right after a level up, with and without the
+ * background prefetch LegendsGame starts on a level up.
+ *
+ * <p>For each level the party walks into the same markets. Cold, every visit generates its
+ * stock on the spot, as every level up used to force. Prefetched, the markets are queued for
+ * the background thread first and the walk starts once they are stocked, as the player's
+ * time on the map allows. The catalog is repeated to stand in for a large one.</p>
+ *
+ * <p>Usage: java -cp bin bench.MarketPrefetchBenchmark [--markets M] [--levels L] [--copies K]</p>
+ */
+public class MarketPrefetchBenchmark {
+
+    public static void main(String[] args) {
+        int markets = 24;
+        int levels = 10;
+        int copies = 50;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--markets": markets = Integer.parseInt(args[++i]); break;
+                case "--levels": levels = Integer.parseInt(args[++i]); break;
+                case "--copies": copies = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Item> base = assets.items().join();
+        List<Hero> warriors = assets.heroes(HeroType.WARRIOR).join();
+        if (base.isEmpty() || warriors.isEmpty()) {
+            System.err.println("Need items and warriors. Check data/ directory.");
+            return;
+        }
+        List<Item> catalog = new ArrayList<>();
+        for (int c = 0; c < copies; c++) catalog.addAll(base);
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        int m = markets, l = levels;
+        GameSession.headless().execute(() -> {
+            run(catalog, warriors.get(0), m, l, false); // Warm up the JIT
+            long[] cold = run(catalog, warriors.get(0), m, l, false);
+            long[] warm = run(catalog, warriors.get(0), m, l, true);
+            report.printf("%d markets x %d levels, %,d catalog items%n", m, l, catalog.size());
+            print(report, "cold:", cold);
+            print(report, "prefetched:", warm);
+        });
+    }
+
+    private static void print(PrintStream report, String label, long[] nanos) {
+        Arrays.sort(nanos);
+        report.printf("%-11s median %.1f us, p99 %.1f us per visit%n",
+                label, nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3);
+    }
+
+    // Returns every visit's time in nanoseconds
+    private static long[] run(List<Item> catalog, Hero template, int markets, int levels, boolean prefetch) {
+        MarketController controller = new MarketController(catalog);
+        Party party = new Party();
+        Hero hero = template.copy();
+        party.addHero(hero);
+
+        long[] nanos = new long[markets * levels];
+        int turn = 0;
+        for (int level = 1; level <= levels; level++) {
+            if (level > 1) hero.advanceLevels(1);
+            if (prefetch) {
+                for (int i = 0; i < markets; i++) controller.prefetch(row(i), col(i), level);
+                // The party is still walking while the background thread works
+                for (int i = 0; i < markets; i++) {
+                    while (!controller.isStocked(row(i), col(i), level)) LockSupport.parkNanos(100_000);
+                }
+            }
+            for (int i = 0; i < markets; i++) {
+                long start = System.nanoTime();
+                controller.enterMarketAtPosition(new Scanner("3\n"), party, row(i), col(i), ++turn);
+                nanos[turn - 1] = System.nanoTime() - start;
+            }
+        }
+        return nanos;
+    }
+
+    private static int row(int market) { return market / 5; }
+    private static int col(int market) { return market % 5; }
+}
@@ -0,0 +1,114 @@
+package bench;
+
+import game.MarketPricing;
+import items.Item;
+import utils.AssetCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares lazily caught-up market prices with a global tick.
+ *
+ * <p>A party wanders a large map, visiting one random market per turn and buying or selling a
+ * few items there. The lazy engine touches only the market being visited. The eager baseline
+ * replays the same trades but also brings every market visited so far up to date on every turn,
+ * as a global price tick would. Both must end with the same prices; the process exits with
+ * status 1 if any differ.</p>
+ *
+ * <p>Usage: java -cp bin bench.MarketPricingBenchmark [--size N] [--turns T] [--offer K]</p>
+ */
+public class MarketPricingBenchmark {
+
+    public static void main(String[] args) {
+        int size = 1000;
+        int turns = 5_000;
+        int offerSize = 12;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size": size = Integer.parseInt(args[++i]); break;
+                case "--turns": turns = Integer.parseInt(args[++i]); break;
+                case "--offer": offerSize = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        List<Item> catalog = AssetCatalog.load().items().join();
+        if (catalog.size() < offerSize) {
+            System.err.println("Need at least " + offerSize + " items. Check data/ directory.");
+            return;
+        }
+
+        MarketPricing lazy = new MarketPricing();
+        MarketPricing eager = new MarketPricing();
+        int[] rows = new int[turns];
+        int[] cols = new int[turns];
+
+        long lazyNanos = run(lazy, false, catalog, size, turns, offerSize, rows, cols);
+        long eagerNanos = run(eager, true, catalog, size, turns, offerSize, rows, cols);
+
+        // Bring both to the same final turn and compare every listed price
+        int mismatches = 0, compared = 0;
+        for (int t = 0; t < turns; t++) {
+            List<Item> offer = offerFor(catalog, rows[t], cols[t], offerSize);
+            MarketPricing.Stall a = lazy.visit(rows[t], cols[t], turns, offer);
+            MarketPricing.Stall b = eager.visit(rows[t], cols[t], turns, offer);
+            for (Item item : offer) {
+                compared++;
+                if (Math.abs(a.buyPrice(item) - b.buyPrice(item)) > 1 || a.getStock(item) != b.getStock(item)) {
+                    mismatches++;
+                }
+            }
+        }
+
+        System.out.printf("%dx%d map (%,d cells), %,d turns, %d items per market%n", size, size, (long) size * size, turns, offerSize);
+        System.out.printf("markets with state: %,d (%.2f%% of cells)%n", lazy.size(), 100.0 * lazy.size() / ((double) size * size));
+        System.out.printf("lazy:  %.2f us per turn%n", lazyNanos / 1e3 / turns);
+        System.out.printf("eager: %.2f us per turn (every visited market ticked)%n", eagerNanos / 1e3 / turns);
+        System.out.printf("prices compared: %,d, mismatches: %d (%s)%n", compared, mismatches, mismatches == 0 ? "ok" : "DIFFERENT");
+        if (mismatches > 0) System.exit(1);
+    }
+
+    private static long run(MarketPricing pricing, boolean tickAll, List<Item> catalog, int size, int turns,
+                            int offerSize, int[] rows, int[] cols) {
+        Random random = new Random(42); // Same walk and trades for both engines
+        List<Item> carried = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int turn = 1; turn <= turns; turn++) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            rows[turn - 1] = row;
+            cols[turn - 1] = col;
+            if (tickAll) {
+                for (int t = 0; t < turn - 1; t++) {
+                    pricing.visit(rows[t], cols[t], turn, offerFor(catalog, rows[t], cols[t], offerSize));
+                }
+            }
+
+            List<Item> offer = offerFor(catalog, row, col, offerSize);
+            MarketPricing.Stall stall = pricing.visit(row, col, turn, offer);
+            for (int trade = 0; trade < 3; trade++) {
+                if (random.nextBoolean() || carried.isEmpty()) {
+                    Item item = offer.get(random.nextInt(offer.size()));
+                    if (stall.getStock(item) > 0) {
+                        stall.recordPurchase(item);
+                        carried.add(item);
+                    }
+                } else {
+                    stall.recordSale(carried.remove(carried.size() - 1));
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    // A fixed window of the catalog per cell, so both engines see the same offer without storing it
+    private static List<Item> offerFor(List<Item> catalog, int row, int col, int offerSize) {
+        int from = Math.floorMod(row * 31 + col, catalog.size() - offerSize + 1);
+        return catalog.subList(from, from + offerSize);
+    }
+}
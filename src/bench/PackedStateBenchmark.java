@@ -0,0 +1,118 @@
+package bench;
+
+import common.GameSession;
+import entities.Hero;
+import entities.MonsterTemplate;
+import game.PackedValorState;
+import game.ValorGame;
+import game.ValorGame.Outcome;
+import utils.AssetCatalog;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays seeded headless Valor matches in fixed-point mode, snapshots the final state of each,
+ * and replays every seed to check the two snapshots are equal with equal hashes. Then reports
+ * snapshot size and the cost of capture, copy and equality, and compares the win count with
+ * unrounded play to show how little the rounding moves results. The process exits with
+ * status 1 if a replayed or copied snapshot differs from its source.
+ *
+ * <p>Usage: java -cp bin bench.PackedStateBenchmark [--matches N] [--rounds R] [--copies C]</p>
+ */
+public class PackedStateBenchmark {
+
+    public static void main(String[] args) {
+        int matches = 2_000;
+        int maxRounds = 30;
+        int copies = 2_000_000;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches": matches = Integer.parseInt(args[++i]); break;
+                case "--rounds": maxRounds = Integer.parseInt(args[++i]); break;
+                case "--copies": copies = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        if (roster.size() < 3 || catalog.isEmpty()) {
+            System.err.println("Need at least 3 heroes and 1 monster. Check data/ directory.");
+            return;
+        }
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        Random random = new Random();
+        ValorGame game = new ValorGame(random);
+        game.getEvents().clear();
+        List<Hero> lineup = new ArrayList<>(3);
+
+        int[] fixedWins = {0};
+        int[] plainWins = {0};
+        int[] mismatches = {0};
+        long[] captureNanos = {0};
+        PackedValorState[] largest = {null};
+        int matchCount = matches;
+        int rounds = maxRounds;
+
+        GameSession.headless().execute(() -> {
+            for (int m = 0; m < matchCount; m++) {
+                game.setFixedPoint(true);
+                if (play(game, random, lineup, roster, catalog, m, rounds) == Outcome.VICTORY) fixedWins[0]++;
+                long start = System.nanoTime();
+                PackedValorState first = game.snapshot();
+                captureNanos[0] += System.nanoTime() - start;
+
+                play(game, random, lineup, roster, catalog, m, rounds);
+                PackedValorState second = game.snapshot();
+                if (!first.equals(second) || first.hashCode() != second.hashCode()) mismatches[0]++;
+                if (largest[0] == null || first.getPackedSize() > largest[0].getPackedSize()) largest[0] = first;
+
+                game.setFixedPoint(false);
+                if (play(game, random, lineup, roster, catalog, m, rounds) == Outcome.VICTORY) plainWins[0]++;
+            }
+        });
+
+        report.printf("%d seeded matches, %d rounds max%n", matches, maxRounds);
+        report.printf("replayed snapshots equal: %s (%d mismatches)%n", mismatches[0] == 0 ? "yes" : "NO", mismatches[0]);
+        report.printf("wins: %d fixed-point, %d unrounded%n", fixedWins[0], plainWins[0]);
+        report.printf("largest snapshot: %s%n", largest[0]);
+        report.printf("capture: %.0f ns%n", (double) captureNanos[0] / matches);
+
+        PackedValorState source = largest[0];
+        PackedValorState scratch = source.copy();
+        long start = System.nanoTime();
+        for (int i = 0; i < copies; i++) scratch.copyFrom(source);
+        report.printf("copyFrom: %.1f ns%n", (double) (System.nanoTime() - start) / copies);
+
+        start = System.nanoTime();
+        int equal = 0;
+        for (int i = 0; i < copies; i++) {
+            if (scratch.equals(source)) equal++;
+        }
+        report.printf("equals: %.1f ns (%d/%d equal)%n", (double) (System.nanoTime() - start) / copies, equal, copies);
+
+        if (mismatches[0] > 0 || equal != copies) {
+            report.println("FAILED: a replayed or copied snapshot was not equal to its source");
+            System.exit(1);
+        }
+    }
+
+    private static Outcome play(ValorGame game, Random random, List<Hero> lineup, List<Hero> roster,
+                                List<MonsterTemplate> catalog, int match, int maxRounds) {
+        random.setSeed(match);
+        lineup.clear();
+        for (int slot = 0; slot < 3; slot++) {
+            lineup.add(roster.get((match + slot * 7) % roster.size()).copy());
+        }
+        return game.simulate(lineup, catalog, maxRounds);
+    }
+}
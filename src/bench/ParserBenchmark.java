@@ -0,0 +1,123 @@
+package bench;
+
+import utils.RecordReader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+/**
+ * Compares the original trim/split/parseDouble line parsing with RecordReader on a
+ * generated monster catalog, reporting time and bytes allocated by the parsing thread.
+ * Exits with status 1 if the parsers do not agree on the checksum.
+ *
+ * <p>Usage: java -cp bin bench.ParserBenchmark [--lines N] [--rounds R]</p>
+ */
+public class ParserBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int lines = 1_000_000;
+        int rounds = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--lines": lines = Integer.parseInt(args[++i]); break;
+                case "--rounds": rounds = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        File catalog = File.createTempFile("monsters", ".txt");
+        catalog.deleteOnExit();
+        writeCatalog(catalog, lines);
+        System.out.printf("Catalog: %d lines, %.1f MB%n", lines, catalog.length() / 1e6);
+
+        boolean agree = true;
+        for (int round = 1; round <= rounds; round++) {
+            double split = measure("split   ", round, () -> parseWithSplit(catalog));
+            double tokenized = measure("tokenize", round, () -> parseWithTokenizer(catalog));
+            double streamed = measure("stream  ", round, () -> streamWithTokenizer(catalog));
+            agree &= split == tokenized && split == streamed;
+        }
+        if (!agree) {
+            System.out.println("FAILED: the parsers disagree on the checksum");
+            System.exit(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parse {
+        double run() throws IOException;
+    }
+
+    private static double measure(String label, int round, Parse parse) throws IOException {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        double checksum = parse.run();
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("round %d  %s %8.1f ms %10.1f MB allocated   checksum %.1f%n",
+                round, label, nanos / 1e6, allocated / 1e6, checksum);
+        return checksum;
+    }
+
+    // The loaders' original approach: a regex split and substrings per line
+    private static double parseWithSplit(File file) throws IOException {
+        double sum = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty() || line.trim().startsWith("Name/")) continue;
+                String[] parts = line.trim().split("\\s+");
+                if (parts.length < 5) continue;
+                sum += Integer.parseInt(parts[1]) + Double.parseDouble(parts[2])
+                        + Double.parseDouble(parts[3]) + Double.parseDouble(parts[4]);
+            }
+        }
+        return sum;
+    }
+
+    private static double parseWithTokenizer(File file) throws IOException {
+        double[] sum = {0};
+        try (RecordReader reader = new RecordReader(new FileReader(file), file.getName())) {
+            reader.forEach(5, r -> sum[0] += r.getInt(1) + r.getDouble(2) + r.getDouble(3) + r.getDouble(4));
+        }
+        return sum[0];
+    }
+
+    private static double streamWithTokenizer(File file) throws IOException {
+        RecordReader reader = new RecordReader(new FileReader(file), file.getName());
+        try (DoubleStream values = reader.stream(5,
+                r -> r.getInt(1) + r.getDouble(2) + r.getDouble(3) + r.getDouble(4)).mapToDouble(Double::doubleValue)) {
+            return values.sum();
+        }
+    }
+
+    private static void writeCatalog(File file, int lines) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
+            out.write("Name/level/damage/defense/dodge chance\n");
+            for (int i = 0; i < lines; i++) {
+                out.write("Monster_" + i + "\t " + (1 + random.nextInt(10)) + "       " + (100 * (1 + random.nextInt(10)))
+                        + "       " + (100 * (1 + random.nextInt(9))) + "     " + (5 * random.nextInt(12)) + "\n");
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,140 @@
+package bench;
+
+import common.GameSession;
+import entities.EntityPool;
+import entities.Hero;
+import entities.MonsterTemplate;
+import game.ValorGame;
+import game.ValorGame.Outcome;
+import utils.AssetCatalog;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays the same seeded headless Valor matches with and without an EntityPool and reports
+ * throughput, bytes allocated per match and collector activity for each mode. Both modes
+ * must produce the same win count, which doubles as a check that recycled entities carry
+ * no state over from their previous match; the process exits with status 1 if they do not.
+ *
+ * <p>Usage: java -Xlog:gc -cp bin bench.PoolingBenchmark [--matches N] [--rounds R] [--reps K] [--level L]</p>
+ * <p>-Xlog:gc is optional; it prints each young collection so the two modes can be compared
+ * in the GC log as well as in the summary lines.</p>
+ */
+public class PoolingBenchmark {
+
+    public static void main(String[] args) {
+        int matches = 20_000;
+        int maxRounds = 30;
+        int reps = 3;
+        int level = 1;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches": matches = Integer.parseInt(args[++i]); break;
+                case "--rounds": maxRounds = Integer.parseInt(args[++i]); break;
+                case "--reps": reps = Integer.parseInt(args[++i]); break;
+                case "--level": level = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        if (roster.size() < 3 || catalog.isEmpty()) {
+            System.err.println("Need at least 3 heroes and 1 monster. Check data/ directory.");
+            return;
+        }
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        report.printf("%d matches per run, %d rounds max, heroes at level %d%n", matches, maxRounds, level);
+        report.printf("%-4s %-9s %9s %14s %14s %8s %10s %6s%n",
+                "rep", "mode", "time (ms)", "matches/hour", "KB per match", "GCs", "GC (ms)", "wins");
+
+        boolean same = true;
+        for (int rep = 1; rep <= reps; rep++) {
+            int fresh = run(report, rep, "new", null, roster, catalog, matches, maxRounds, level);
+            int pooled = run(report, rep, "pooled", new EntityPool(32), roster, catalog, matches, maxRounds, level);
+            same &= fresh == pooled;
+        }
+        if (!same) {
+            report.println("FAILED: pooled matches won a different number of games");
+            System.exit(1);
+        }
+    }
+
+    private static int run(PrintStream report, int rep, String mode, EntityPool pool, List<Hero> roster,
+                            List<MonsterTemplate> catalog, int matches, int maxRounds, int level) {
+        Random random = new Random();
+        ValorGame game = new ValorGame(random);
+        game.setPool(pool);
+        List<Hero> lineup = new ArrayList<>(3);
+        int[] wins = {0};
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcMillis();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        GameSession.headless().execute(() -> {
+            for (int m = 0; m < matches; m++) {
+                random.setSeed(m);
+                lineup.clear();
+                for (int slot = 0; slot < 3; slot++) {
+                    // Consecutive roster entries so every class mix appears
+                    Hero template = roster.get((m + slot * 7) % roster.size());
+                    Hero hero = (pool == null) ? template.copy() : pool.acquireHero(template);
+                    hero.advanceLevels(level - 1);
+                    lineup.add(hero);
+                }
+                if (game.simulate(lineup, catalog, maxRounds) == Outcome.VICTORY) wins[0]++;
+                if (pool != null) {
+                    for (Hero hero : lineup) pool.releaseHero(hero);
+                }
+            }
+        });
+
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        report.printf("%-4d %-9s %9.0f %14.0f %14.1f %8d %10d %6d%n",
+                rep, mode, nanos / 1e6, matches * 3600e9 / nanos, allocated / 1024.0 / matches,
+                gcCount() - gcCountBefore, gcMillis() - gcTimeBefore, wins[0]);
+        if (pool != null) {
+            report.printf("     pool: %d created, %d reused%n", pool.getCreated(), pool.getReused());
+        }
+        return wins[0];
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,115 @@
+package bench;
+
+import board.Cell;
+import board.NeighbourTable;
+import board.ValorBoard;
+import board.ValorLayout;
+import entities.Monster;
+import entities.Monster.MonsterType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the old attack-range scan (3x3 loop with bounds checks into a new list) with
+ * ValorBoard.collectMonstersInRange on a randomly populated board, reporting time and bytes
+ * allocated per query. Both must find the same monsters; the process exits with status 1
+ * if their counts differ.
+ *
+ * <p>Usage: java -cp bin bench.RangeQueryBenchmark [--layout LANESxROWS] [--queries N] [--density D]</p>
+ */
+public class RangeQueryBenchmark {
+
+    public static void main(String[] args) {
+        ValorLayout layout = ValorLayout.DEFAULT;
+        int queries = 20_000_000;
+        double density = 0.3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--layout": layout = ValorLayout.parse(args[++i]); break;
+                case "--queries": queries = Integer.parseInt(args[++i]); break;
+                case "--density": density = Double.parseDouble(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        Random random = new Random(5);
+        ValorBoard board = new ValorBoard(random, layout);
+        for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.isAccessible() && random.nextDouble() < density) {
+                    cell.setMonster(new Monster("M" + r + "_" + c, MonsterType.DRAGON, 1, 100, 100, 10));
+                }
+            }
+        }
+
+        // Query positions drawn up front so both loops do identical work
+        int[] rows = new int[4096];
+        int[] cols = new int[4096];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = random.nextInt(board.getHeight());
+            cols[i] = random.nextInt(board.getWidth());
+        }
+
+        System.out.printf("Board %s, %,d queries, %.0f%% of cells occupied%n", layout, queries, density * 100);
+        boolean agree = true;
+        for (int round = 1; round <= 3; round++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            long scanned = 0;
+            for (int q = 0; q < queries; q++) {
+                scanned += scanIntoList(board, rows[q & 4095], cols[q & 4095]).size();
+            }
+            report(round, "list scan ", start, allocated, queries, scanned);
+
+            Monster[] buffer = new Monster[NeighbourTable.MAX_RANGE];
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            long found = 0;
+            for (int q = 0; q < queries; q++) {
+                found += board.collectMonstersInRange(rows[q & 4095], cols[q & 4095], buffer);
+            }
+            report(round, "table fill", start, allocated, queries, found);
+            agree &= found == scanned;
+        }
+        if (!agree) {
+            System.out.println("FAILED: the table lookup found a different number of monsters");
+            System.exit(1);
+        }
+    }
+
+    // The query as ValorGame used to run it
+    private static List<Monster> scanIntoList(ValorBoard board, int row, int col) {
+        List<Monster> targets = new ArrayList<>();
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = col - 1; c <= col + 1; c++) {
+                if (board.isValidCoordinate(r, c) && board.getCell(r, c).hasMonster()) {
+                    targets.add(board.getCell(r, c).getMonster());
+                }
+            }
+        }
+        return targets;
+    }
+
+    private static void report(int round, String label, long start, long allocatedBefore, int queries, long found) {
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("round %d  %s %6.1f ns/query %8.2f bytes/query   found %d%n",
+                round, label, (double) nanos / queries, (double) allocated / queries, found);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
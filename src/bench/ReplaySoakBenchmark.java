@@ -0,0 +1,132 @@
+package bench;
+
+import common.GameSession;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Soak test for the menu -> game -> menu loop.
+ * Drives one session through many scripted Valor replays (recruit three heroes, quit,
+ * answer "yes" to play again) and samples live heap after GC and the call stack depth
+ * each time the main menu reads its choice. Both must stay flat across every replay; the
+ * process exits with status 1 if the stack depth changes.
+ *
+ * <p>Usage: java -cp bin bench.ReplaySoakBenchmark [--replays N] [--sample K]</p>
+ */
+public class ReplaySoakBenchmark {
+
+    // One replay: Valor, three heroes (class 1, first hero), quit on the first turn, play again
+    private static final String REPLAY = "2\n1\n1\n1\n1\n1\n1\nq\ny\n";
+    private static final String EXIT = "4\n";
+
+    public static void main(String[] args) {
+        int replays = 2000;
+        int sampleEvery = 200;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--replays": replays = Integer.parseInt(args[++i]); break;
+                case "--sample": sampleEvery = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        PrintStream report = System.out; // Captured before the session console is installed
+        ScriptedInput input = new ScriptedInput(replays, sampleEvery, report);
+        GameSession session = new GameSession(input, OutputStream.nullOutputStream(), null);
+
+        report.printf("%8s %12s %12s %10s%n", "replay", "heap (KB)", "stack depth", "time (s)");
+        session.run();
+
+        long growth = input.lastHeap - input.firstHeap;
+        report.printf("%nReplays: %d  heap growth: %d KB  stack depth: %s%n",
+                input.completed, growth / 1024,
+                input.minDepth == input.maxDepth ? "constant (" + input.minDepth + ")" : input.minDepth + ".." + input.maxDepth);
+        if (input.completed != replays || input.maxDepth > input.minDepth) {
+            report.println("FAILED: the session did not finish every replay at a constant stack depth");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Endless script feeder. Every time the next replay starts, the main menu is the reader,
+     * which makes it a stable point to measure the heap and stack from.
+     */
+    private static final class ScriptedInput extends InputStream {
+        private final byte[] replay = REPLAY.getBytes(StandardCharsets.US_ASCII);
+        private final byte[] exit = EXIT.getBytes(StandardCharsets.US_ASCII);
+        private final int replays;
+        private final int sampleEvery;
+        private final PrintStream report;
+        private final long start = System.nanoTime();
+
+        private byte[] current = replay;
+        private int position;
+        private int completed;
+        private boolean exiting;
+
+        long firstHeap = -1;
+        long lastHeap;
+        int minDepth = Integer.MAX_VALUE;
+        int maxDepth;
+
+        ScriptedInput(int replays, int sampleEvery, PrintStream report) {
+            this.replays = replays;
+            this.sampleEvery = Math.max(1, sampleEvery);
+            this.report = report;
+            if (replays == 0) {
+                current = exit;
+                exiting = true;
+            }
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (exiting) return -1;
+                completed++;
+                if (completed % sampleEvery == 0 || completed == replays) sample();
+                if (completed == replays) {
+                    current = exit;
+                    exiting = true;
+                }
+                position = 0;
+            }
+            return current[position++];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            int first = read();
+            if (first < 0) return -1;
+            b[off] = (byte) first;
+            int count = 1;
+            // Stop at the end of a line or script so sampling happens between replays
+            while (count < len && first != '\n' && position < current.length) {
+                first = current[position++];
+                b[off + count++] = (byte) first;
+            }
+            return count;
+        }
+
+        private void sample() {
+            int depth = Thread.currentThread().getStackTrace().length;
+            minDepth = Math.min(minDepth, depth);
+            maxDepth = Math.max(maxDepth, depth);
+
+            Runtime rt = Runtime.getRuntime();
+            System.gc();
+            long used = rt.totalMemory() - rt.freeMemory();
+            if (firstHeap < 0) firstHeap = used;
+            lastHeap = used;
+
+            report.printf("%8d %12d %12d %10.1f%n", completed, used / 1024, depth, (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package bench;
+
+import common.GameSession;
+import entities.Hero;
+import items.Item;
+import items.Weapon;
+import utils.AssetCatalog;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fast-forwards wounded, armed heroes through an idle stretch of rounds and compares the
+ * round-stamped upkeep (one closed-form settle per hero) with ticking every hero every round.
+ * In a game the stretch is every round since the hero was last settled: a headless Valor hero
+ * settles only when it levels up or the match ends. Both must end with the same HP, mana and
+ * weapon durability.
+ *
+ * <p>Usage: java -cp bin bench.UpkeepBenchmark [--heroes N] [--rounds R] [--reps K]
+ * Exits with status 1 if the two disagree.</p>
+ */
+public class UpkeepBenchmark {
+
+    public static void main(String[] args) {
+        int heroCount = 1_000;
+        int rounds = 50;
+        int reps = 200;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--heroes": heroCount = Integer.parseInt(args[++i]); break;
+                case "--rounds": rounds = Integer.parseInt(args[++i]); break;
+                case "--reps": reps = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<Weapon> weapons = new ArrayList<>();
+        for (Item item : assets.items().join()) {
+            if (item instanceof Weapon) weapons.add((Weapon) item);
+        }
+        if (roster.isEmpty() || weapons.isEmpty()) {
+            System.err.println("Need heroes and weapons. Check data/ directory.");
+            return;
+        }
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        int n = heroCount, r = rounds, k = reps;
+        boolean[] same = {false};
+        GameSession.headless().execute(() -> same[0] = run(report, roster, weapons, n, r, k));
+        if (!same[0]) {
+            report.println("FAILED: settled and ticked heroes differ");
+            System.exit(1);
+        }
+    }
+
+    private static boolean run(PrintStream report, List<Hero> roster, List<Weapon> weapons, int heroCount, int rounds, int reps) {
+        long settledNanos = 0, tickedNanos = 0;
+        double maxError = 0;
+        int durabilityMismatches = 0;
+
+        for (int rep = 0; rep < reps; rep++) {
+            List<Hero> settled = party(roster, weapons, heroCount, rep);
+            List<Hero> ticked = party(roster, weapons, heroCount, rep);
+
+            long start = System.nanoTime();
+            for (Hero h : settled) h.settleUpkeep(rounds, true);
+            settledNanos += System.nanoTime() - start;
+
+            // The per-round loop the battle used to run
+            start = System.nanoTime();
+            for (int round = 1; round <= rounds; round++) {
+                for (Hero h : ticked) {
+                    if (h.isFainted()) continue;
+                    h.setHp(h.getHp() * Hero.REGEN_PER_ROUND);
+                    h.setMana(h.getMana() * Hero.REGEN_PER_ROUND);
+                    if (h.getEquippedWeapon() != null) h.getEquippedWeapon().degrade();
+                }
+            }
+            tickedNanos += System.nanoTime() - start;
+
+            for (int i = 0; i < heroCount; i++) {
+                Hero a = settled.get(i), b = ticked.get(i);
+                maxError = Math.max(maxError, Math.abs(a.getHp() - b.getHp()) / b.getMaxHp());
+                maxError = Math.max(maxError, Math.abs(a.getMana() - b.getMana()) / Math.max(1, b.getMaxMana()));
+                if (a.getEquippedWeapon().getDurability() != b.getEquippedWeapon().getDurability()) durabilityMismatches++;
+            }
+        }
+
+        report.printf("%,d heroes fast-forwarded %d idle rounds, %d reps%n", heroCount, rounds, reps);
+        report.printf("settled: %.1f ns per hero%n", settledNanos / (double) reps / heroCount);
+        report.printf("ticked:  %.1f ns per hero (%d rounds each)%n", tickedNanos / (double) reps / heroCount, rounds);
+        boolean same = maxError < 1e-9 && durabilityMismatches == 0;
+        report.printf("max HP/mana difference: %.2e of the cap, durability mismatches: %d (%s)%n",
+                maxError, durabilityMismatches, same ? "ok" : "DIFFERENT");
+        return same;
+    }
+
+    // Same wounded, drained and armed heroes for a given rep every time
+    private static List<Hero> party(List<Hero> roster, List<Weapon> weapons, int heroCount, int rep) {
+        Random random = new Random(rep);
+        List<Hero> heroes = new ArrayList<>(heroCount);
+        for (int i = 0; i < heroCount; i++) {
+            Hero hero = roster.get(random.nextInt(roster.size())).copy();
+            hero.advanceLevels(random.nextInt(10));
+            hero.setHp(hero.getMaxHp() * (0.05 + 0.9 * random.nextDouble()));
+            hero.setMana(hero.getMaxMana() * random.nextDouble());
+            Weapon w = weapons.get(random.nextInt(weapons.size()));
+            hero.equipWeapon(new Weapon(w.getName(), w.getPrice(), w.getMinLevel(), w.getBaseDamage(), w.getRequiredHands()));
+            hero.getEquippedWeapon().wear(random.nextInt(60));
+            heroes.add(hero);
+        }
+        return heroes;
+    }
+}
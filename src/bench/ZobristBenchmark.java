@@ -0,0 +1,173 @@
+package bench;
+
+import ai.TranspositionTable;
+import board.ValorLayout;
+import common.GameSession;
+import entities.Hero;
+import entities.MonsterTemplate;
+import game.ValorGame;
+import utils.AssetCatalog;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two checks for search infrastructure.
+ *
+ * <p>State keys: plays seeded headless Valor matches that stop after every possible round count,
+ * and compares the incrementally maintained key with one computed from scratch; they must never
+ * differ. Also reports how long the from-scratch hash takes on the chosen map, which is what
+ * every state would cost without incremental updates.</p>
+ *
+ * <p>Transposition table: several threads store and probe overlapping random keys in one shared
+ * table. Each stored word is derived from its key, so a hit whose data does not match its key
+ * would be a torn read slipping through; the count of those must be zero.</p>
+ *
+ * <p>The process exits with status 1 if either check fails.</p>
+ *
+ * <p>Usage: java -cp bin bench.ZobristBenchmark [--matches N] [--rounds R] [--layout LANESxROWS]
+ * [--threads T] [--ops N] [--entries E]</p>
+ */
+public class ZobristBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int matches = 200;
+        int maxRounds = 30;
+        ValorLayout layout = ValorLayout.DEFAULT;
+        int threads = 4;
+        int ops = 5_000_000;
+        int entries = 1 << 16;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches": matches = Integer.parseInt(args[++i]); break;
+                case "--rounds": maxRounds = Integer.parseInt(args[++i]); break;
+                case "--layout": layout = ValorLayout.parse(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--ops": ops = Integer.parseInt(args[++i]); break;
+                case "--entries": entries = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        if (roster.size() < layout.getLanes() || catalog.isEmpty()) {
+            System.err.println("Need one hero per lane and at least 1 monster. Check data/ directory.");
+            return;
+        }
+
+        PrintStream report = System.out; // Captured before the headless console is bound
+        boolean keysOk = checkStateKeys(report, layout, roster, catalog, matches, maxRounds);
+        boolean tableOk = hammerTable(report, threads, ops, entries);
+        if (!keysOk || !tableOk) {
+            report.println("FAILED: state key mismatches or corrupt table reads");
+            System.exit(1);
+        }
+    }
+
+    private static boolean checkStateKeys(PrintStream report, ValorLayout layout, List<Hero> roster,
+                                       List<MonsterTemplate> catalog, int matches, int maxRounds) {
+        Random random = new Random();
+        ValorGame game = new ValorGame(random, layout);
+        game.getEvents().clear();
+        game.setVerbose(false);
+        List<Hero> lineup = new ArrayList<>(layout.getLanes());
+        long[] counts = new long[3]; // checks, mismatches, distinct-looking final keys
+        long[] hashNanos = {0};
+
+        GameSession.headless().execute(() -> {
+            long previous = 0;
+            for (int m = 0; m < matches; m++) {
+                for (int rounds = 1; rounds <= maxRounds; rounds++) {
+                    random.setSeed(m);
+                    lineup.clear();
+                    for (int slot = 0; slot < layout.getLanes(); slot++) {
+                        lineup.add(roster.get((m + slot * 7) % roster.size()).copy());
+                    }
+                    game.simulate(lineup, catalog, rounds);
+
+                    long start = System.nanoTime();
+                    long full = game.computeStateKey();
+                    hashNanos[0] += System.nanoTime() - start;
+
+                    counts[0]++;
+                    if (full != game.getStateKey()) counts[1]++;
+                    if (full != previous) counts[2]++;
+                    previous = full;
+                }
+            }
+        });
+
+        report.printf("State keys on %s: %d checks, %d mismatches (%s), %d changes between consecutive checks%n",
+                layout, counts[0], counts[1], counts[1] == 0 ? "ok" : "BROKEN", counts[2]);
+        report.printf("  full recompute: %.0f ns per state%n", (double) hashNanos[0] / counts[0]);
+        return counts[1] == 0;
+    }
+
+    private static boolean hammerTable(PrintStream report, int threads, int ops, int entries) throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(entries);
+        AtomicLong hits = new AtomicLong();
+        AtomicLong misses = new AtomicLong();
+        AtomicLong corrupt = new AtomicLong();
+        int keySpace = table.capacity() * 4; // Four keys per slot, so writers keep colliding
+
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long localHits = 0, localMisses = 0, localCorrupt = 0;
+                for (int i = 0; i < ops; i++) {
+                    long key = keyFor(random.nextInt(keySpace));
+                    if (random.nextBoolean()) {
+                        table.store(key, dataFor(key, random.nextInt(8)));
+                    } else {
+                        long data = table.probe(key);
+                        if (data == TranspositionTable.MISS) {
+                            localMisses++;
+                        } else if (TranspositionTable.score(data) != (int) key
+                                || TranspositionTable.move(data) != (int) (key >>> 48)) {
+                            localCorrupt++;
+                        } else {
+                            localHits++;
+                        }
+                    }
+                }
+                hits.addAndGet(localHits);
+                misses.addAndGet(localMisses);
+                corrupt.addAndGet(localCorrupt);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report.printf("Transposition table: %d threads x %,d ops on %,d entries in %.2fs (%.1f M ops/s)%n",
+                threads, ops, table.capacity(), seconds, threads * (double) ops / seconds / 1e6);
+        report.printf("  %d hits, %d misses, %d corrupt (%s)%n",
+                hits.get(), misses.get(), corrupt.get(), corrupt.get() == 0 ? "ok" : "BROKEN");
+        return corrupt.get() == 0;
+    }
+
+    // Spread small integers over all 64 bits, like real Zobrist keys
+    private static long keyFor(int n) {
+        long z = n * 0x9E3779B97F4A7C15L + 1;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return z ^ (z >>> 27);
+    }
+
+    // The score and move are taken from the key, so a reader can tell whose data it got
+    private static long dataFor(long key, int depth) {
+        return TranspositionTable.pack((int) key, depth, TranspositionTable.EXACT, (int) (key >>> 48));
+    }
+}
@@ -0,0 +1,110 @@
+package board;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Builds Legends terrain that is connected by construction, with exact proportions:
+ * 20% inaccessible, 30% markets and the rest common.
+ *
+ * <p>A random spanning tree of the whole grid is grown from the start cell. Walls are then
+ * placed by repeatedly removing a random leaf of that tree; a leaf is never an articulation
+ * cell, so every accessible cell stays reachable from the start. Markets are drawn at random
+ * from the cells left. Each step is linear in the number of cells and nothing is ever retried,
+ * so the generator works on maps far larger than the game allows.</p>
+ */
+public final class LegendsMapGenerator {
+
+    /** Share of cells that are inaccessible (at least one). */
+    public static final double WALL_SHARE = 0.20;
+
+    /** Share of cells that are markets. */
+    public static final double MARKET_SHARE = 0.30;
+
+    // Direction from a cell to its tree parent: up, down, left, right; d ^ 1 is the opposite one
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+    private static final byte UNSEEN = -1;
+    private static final byte ROOT = 4;
+
+    private LegendsMapGenerator() {
+    }
+
+    /**
+     * Generates a map whose accessible cells are all reachable from (0, 0).
+     * The start cell is always common and its two neighbours (0, 1) and (1, 0) are always
+     * accessible, as the game requires.
+     *
+     * @return Cell types in row-major order (index row * width + col).
+     */
+    public static CellType[] generate(int height, int width, Random random) {
+        if (height < 2 || width < 2) {
+            throw new IllegalArgumentException("Map must be at least 2x2, got " + height + "x" + width + ".");
+        }
+        int cells = Math.multiplyExact(height, width);
+        int walls = Math.max(1, (int) Math.round(cells * WALL_SHARE));
+        int markets = (int) Math.round(cells * MARKET_SHARE);
+
+        byte[] parent = new byte[cells];
+        byte[] children = new byte[cells];
+        int[] bag = new int[cells]; // Cells waiting their turn; reused by every phase
+        Arrays.fill(parent, UNSEEN);
+
+        // 1. Random spanning tree: take a random waiting cell and adopt its unseen neighbours.
+        // The start is taken first, so both safe cells are its children.
+        parent[0] = ROOT;
+        int size = 0;
+        bag[size++] = 0;
+        while (size > 0) {
+            int pick = random.nextInt(size);
+            int cell = bag[pick];
+            bag[pick] = bag[--size];
+            int r = cell / width;
+            int c = cell - r * width;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d];
+                int nc = c + DC[d];
+                if (nr < 0 || nr >= height || nc < 0 || nc >= width) continue;
+                int next = nr * width + nc;
+                if (parent[next] != UNSEEN) continue;
+                parent[next] = (byte) (d ^ 1);
+                children[cell]++;
+                bag[size++] = next;
+            }
+        }
+
+        // 2. Walls: peel random leaves; a parent whose last child went becomes a leaf itself.
+        // The start and safe cells are never peeled, and only the start is above them.
+        CellType[] types = new CellType[cells];
+        Arrays.fill(types, CellType.COMMON);
+        for (int cell = 0; cell < cells; cell++) {
+            if (children[cell] == 0 && !isProtected(cell, width)) bag[size++] = cell;
+        }
+        for (int placed = 0; placed < walls && size > 0; placed++) {
+            int pick = random.nextInt(size);
+            int cell = bag[pick];
+            bag[pick] = bag[--size];
+            types[cell] = CellType.INACCESSIBLE;
+            int up = parent[cell];
+            int above = cell + DR[up] * width + DC[up];
+            if (--children[above] == 0 && !isProtected(above, width)) bag[size++] = above;
+        }
+
+        // 3. Markets: a random sample of the accessible cells other than the start
+        size = 0;
+        for (int cell = 1; cell < cells; cell++) {
+            if (types[cell] != CellType.INACCESSIBLE) bag[size++] = cell;
+        }
+        for (int placed = 0; placed < markets && size > 0; placed++) {
+            int pick = random.nextInt(size);
+            types[bag[pick]] = CellType.MARKET;
+            bag[pick] = bag[--size];
+        }
+        return types;
+    }
+
+    // Start (0, 0) and the safe cells (0, 1) and (1, 0)
+    private static boolean isProtected(int cell, int width) {
+        return cell == 0 || cell == 1 || cell == width;
+    }
+}
@@ -0,0 +1,83 @@
+package board;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed neighbour lists for every cell of a Valor map, stored as flat index arrays.
+ * Cells are numbered row-major (row * width + col). Built once per board, so range and
+ * teleport queries are plain array walks with no bounds checks and no allocation.
+ *
+ * <p>Walls never hold a hero or a monster, so they are left out of every list.</p>
+ */
+public final class NeighbourTable {
+
+    /** Largest attack/spell range list: the 3x3 block around a cell. */
+    public static final int MAX_RANGE = 9;
+
+    private final int width;
+
+    // rangeCells[rangeStart[i] .. rangeStart[i + 1]) is the 3x3 block around cell i, row-major
+    private final int[] rangeStart;
+    private final int[] rangeCells;
+
+    // Same layout for the spots beside a hero that a teammate can teleport to: left, right, behind
+    private final int[] spotStart;
+    private final int[] spotCells;
+
+    public NeighbourTable(ValorLayout layout) {
+        this.width = layout.getWidth();
+        int rows = layout.getRows();
+        int count = rows * width;
+
+        rangeStart = new int[count + 1];
+        spotStart = new int[count + 1];
+        int[] range = new int[count * MAX_RANGE];
+        int[] spots = new int[count * 3];
+        int rangeSize = 0;
+        int spotSize = 0;
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < width; c++) {
+                int cell = r * width + c;
+                rangeStart[cell] = rangeSize;
+                for (int nr = r - 1; nr <= r + 1; nr++) {
+                    for (int nc = c - 1; nc <= c + 1; nc++) {
+                        if (nr >= 0 && nr < rows && nc >= 0 && nc < width && !layout.isWall(nc)) {
+                            range[rangeSize++] = nr * width + nc;
+                        }
+                    }
+                }
+
+                spotStart[cell] = spotSize;
+                int[][] beside = {{r, c - 1}, {r, c + 1}, {r + 1, c}};
+                for (int[] s : beside) {
+                    if (s[0] < rows && s[1] >= 0 && s[1] < width && !layout.isWall(s[1])) {
+                        spots[spotSize++] = s[0] * width + s[1];
+                    }
+                }
+            }
+        }
+        rangeStart[count] = rangeSize;
+        spotStart[count] = spotSize;
+        rangeCells = Arrays.copyOf(range, rangeSize);
+        spotCells = Arrays.copyOf(spots, spotSize);
+    }
+
+    public int indexOf(int row, int col) { return row * width + col; }
+    public int rowOf(int cell) { return cell / width; }
+    public int colOf(int cell) { return cell % width; }
+
+    /**
+     * Range cells of a cell are rangeCell(i) for rangeFrom(cell) <= i < rangeTo(cell).
+     */
+    public int rangeFrom(int cell) { return rangeStart[cell]; }
+    public int rangeTo(int cell) { return rangeStart[cell + 1]; }
+    public int rangeCell(int i) { return rangeCells[i]; }
+
+    /**
+     * Teleport spots of a cell are spotCell(i) for spotFrom(cell) <= i < spotTo(cell).
+     */
+    public int spotFrom(int cell) { return spotStart[cell]; }
+    public int spotTo(int cell) { return spotStart[cell + 1]; }
+    public int spotCell(int i) { return spotCells[i]; }
+}
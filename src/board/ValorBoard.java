@@ -1,37 +1,102 @@
 package board;
 
+import entities.Monster;
+
 import java.util.Random;
 
 public class ValorBoard extends Board {
     private final Cell[][] grid;
+    private final Cell[] cells; // Same cells, row-major, indexed like the neighbour table
     private final Random random;
+    private final ValorLayout layout;
+    private final NeighbourTable neighbours;
+    private final ZobristKeys zobrist;
 
     public ValorBoard() {
-        super(8, 8);
-        this.grid = new Cell[8][8];
-        this.random = new Random();
+        this(new Random());
+    }
+
+    /**
+     * @param random Source for terrain rolls; pass a seeded instance for reproducible maps.
+     */
+    public ValorBoard(Random random) {
+        this(random, ValorLayout.DEFAULT);
+    }
+
+    /**
+     * @param layout Lane count, lane width and rows of the map.
+     */
+    public ValorBoard(Random random, ValorLayout layout) {
+        super(layout.getWidth(), layout.getRows());
+        this.grid = new Cell[height][width];
+        this.cells = new Cell[height * width];
+        this.random = random;
+        this.layout = layout;
+        this.neighbours = new NeighbourTable(layout);
+        this.zobrist = new ZobristKeys(layout);
+        initializeBoard();
+    }
+
+    public ValorLayout getLayout() { return layout; }
+    public NeighbourTable getNeighbours() { return neighbours; }
+    public ZobristKeys getZobrist() { return zobrist; }
+
+    /**
+     * @param index Row-major cell index, as used by the neighbour table.
+     */
+    public Cell getCell(int index) { return cells[index]; }
+
+    /**
+     * Writes the monsters in the 3x3 block around a cell into the buffer, row by row.
+     * Nothing is allocated, so AI code can call this as often as it likes.
+     *
+     * @param buffer Receives the monsters; needs at least NeighbourTable.MAX_RANGE slots.
+     * @return Number of monsters written.
+     */
+    public int collectMonstersInRange(int row, int col, Monster[] buffer) {
+        int cell = neighbours.indexOf(row, col);
+        int count = 0;
+        for (int i = neighbours.rangeFrom(cell), end = neighbours.rangeTo(cell); i < end; i++) {
+            Monster m = cells[neighbours.rangeCell(i)].getMonster();
+            if (m != null) buffer[count++] = m;
+        }
+        return count;
+    }
+
+    /**
+     * Re-rolls the terrain and clears all occupants, reusing the existing cells.
+     * Lets headless simulations play many matches on one board without reallocating it.
+     */
+    public void reset() {
         initializeBoard();
     }
 
     private void initializeBoard() {
         for (int r = 0; r < height; r++) {
             for (int c = 0; c < width; c++) {
-                if (c == 2 || c == 5) {
-                    grid[r][c] = new Cell(CellType.INACCESSIBLE);
-                    continue;
-                }
-                if (r == 0 || r == 7) {
-                    grid[r][c] = new Cell(CellType.NEXUS);
-                    continue;
+                CellType type;
+                if (layout.isWall(c)) {
+                    type = CellType.INACCESSIBLE;
+                } else if (r == layout.getMonsterNexusRow() || r == layout.getHeroNexusRow()) {
+                    type = CellType.NEXUS;
+                } else {
+                    // Adjusted Probabilities for Obstacles
+                    double roll = random.nextDouble();
+                    if (roll < 0.20) type = CellType.COMMON;
+                    else if (roll < 0.40) type = CellType.BUSH;
+                    else if (roll < 0.60) type = CellType.CAVE;
+                    else if (roll < 0.80) type = CellType.KOULOU;
+                    else type = CellType.OBSTACLE; // 20% Chance
                 }
 
-                // Adjusted Probabilities for Obstacles
-                double roll = random.nextDouble();
-                if (roll < 0.20) grid[r][c] = new Cell(CellType.COMMON);
-                else if (roll < 0.40) grid[r][c] = new Cell(CellType.BUSH);
-                else if (roll < 0.60) grid[r][c] = new Cell(CellType.CAVE);
-                else if (roll < 0.80) grid[r][c] = new Cell(CellType.KOULOU);
-                else grid[r][c] = new Cell(CellType.OBSTACLE); // 20% Chance
+                if (grid[r][c] == null) {
+                    grid[r][c] = new Cell(type);
+                    cells[r * width + c] = grid[r][c];
+                } else {
+                    grid[r][c].setType(type);
+                    grid[r][c].removeHero();
+                    grid[r][c].removeMonster();
+                }
             }
         }
     }
@@ -44,7 +109,12 @@ public class ValorBoard extends Board {
     @Override
     public void printBoard() {
         // Each column is 7 chars wide (6 content + 1 border): center 3-char labels
-        System.out.println("\n  L-0    L-0    W-1    L-1    L-1    W-2    L-2    L-2  ");
+        StringBuilder header = new StringBuilder("\n");
+        for (int c = 0; c < width; c++) {
+            String label = layout.isWall(c) ? "W-" + (layout.laneOf(c - 1) + 1) : "L-" + layout.laneOf(c);
+            header.append(String.format("  %-5s", label));
+        }
+        System.out.println(header);
         printHorizontalDivider();
 
         for (int r = 0; r < height; r++) {
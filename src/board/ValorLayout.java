@@ -0,0 +1,86 @@
+package board;
+
+/**
+ * Immutable description of a Valor map: how many lanes, how wide each lane is and how many rows
+ * separate the two Nexus rows. Lanes are separated by one wall column, so the classic board
+ * (3 lanes of 2 columns, 8 rows) has walls at columns 2 and 5.
+ * Loaded from data/ValorLayout.txt by GameDataLoader; DEFAULT is the original 8x8 map.
+ */
+public class ValorLayout {
+
+    public static final ValorLayout DEFAULT = new ValorLayout(3, 2, 8);
+
+    private final int lanes;
+    private final int laneWidth;
+    private final int rows;
+
+    /**
+     * @param lanes     Number of lanes (one hero and one monster spawn each).
+     * @param laneWidth Playable columns per lane.
+     * @param rows      Board height including both Nexus rows.
+     */
+    public ValorLayout(int lanes, int laneWidth, int rows) {
+        if (lanes < 1 || lanes > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Lane count must be between 1 and " + Byte.MAX_VALUE + ".");
+        }
+        if (laneWidth < 1) {
+            throw new IllegalArgumentException("Lane width must be at least 1.");
+        }
+        // Monsters store their column in a short
+        if (lanes * (laneWidth + 1L) - 1 > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Board width (lanes x (lane width + 1) - 1) must be at most " + Short.MAX_VALUE + ".");
+        }
+        if (rows < 3 || rows > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Row count must be between 3 and " + Short.MAX_VALUE + ".");
+        }
+        this.lanes = lanes;
+        this.laneWidth = laneWidth;
+        this.rows = rows;
+    }
+
+    /**
+     * Parses a "LANESxROWS" spec such as "16x200"; lanes keep the default width.
+     */
+    public static ValorLayout parse(String spec) {
+        String[] parts = spec.trim().toLowerCase().split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Layout must look like LANESxROWS, e.g. 3x8: " + spec);
+        }
+        return new ValorLayout(Integer.parseInt(parts[0]), DEFAULT.laneWidth, Integer.parseInt(parts[1]));
+    }
+
+    public int getLanes() { return lanes; }
+    public int getLaneWidth() { return laneWidth; }
+    public int getRows() { return rows; }
+
+    /**
+     * @return Total columns: every lane plus one wall between neighbouring lanes.
+     */
+    public int getWidth() { return lanes * (laneWidth + 1) - 1; }
+
+    // Monsters enter at the top row, heroes defend the bottom row
+    public int getMonsterNexusRow() { return 0; }
+    public int getHeroNexusRow() { return rows - 1; }
+
+    /**
+     * @return Left-most column of a lane, where its hero spawns and recalls to.
+     */
+    public int laneLeftColumn(int lane) { return lane * (laneWidth + 1); }
+
+    /**
+     * @return Right-most column of a lane, where its monsters spawn.
+     */
+    public int laneRightColumn(int lane) { return laneLeftColumn(lane) + laneWidth - 1; }
+
+    public boolean isWall(int col) { return col % (laneWidth + 1) == laneWidth; }
+
+    /**
+     * @return Lane index of a column, or -1 for a wall column.
+     */
+    public int laneOf(int col) { return isWall(col) ? -1 : col / (laneWidth + 1); }
+
+    @Override
+    public String toString() {
+        return lanes + " lanes x " + rows + " rows (" + getWidth() + " columns)";
+    }
+}
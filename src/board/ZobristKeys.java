@@ -0,0 +1,64 @@
+package board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of a Valor game state. A state's key is the XOR of
+ * one key per feature present: each hero (by party slot) on its cell, each monster on its cell
+ * with its HP bucket, each obstacle still standing, and the round's phase in the spawn cycle.
+ * Moving a piece is two XORs, so a game can keep its key current in O(1) per mutation.
+ *
+ * <p>Only one random key is stored per cell; hero, monster and phase keys are mixed from it
+ * on demand, so the table is no larger than the board whatever the lane or bucket count.</p>
+ *
+ * <p>Keys come from a fixed seed, so every board with the same layout hashes identically and
+ * one transposition table can be shared by searches running on different game objects.</p>
+ */
+public final class ZobristKeys {
+
+    /** Monster HP is hashed in this many equal slices of its maximum. */
+    public static final int HP_BUCKETS = 8;
+
+    private static final long SEED = 0x5A0B215L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final long[] cellKeys; // [cell], also the obstacle key
+    private final long heroSalt;
+    private final long monsterSalt;
+    private final long phaseSalt;
+
+    public ZobristKeys(ValorLayout layout) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        cellKeys = new long[layout.getRows() * layout.getWidth()];
+        for (int i = 0; i < cellKeys.length; i++) cellKeys[i] = random.nextLong();
+        heroSalt = random.nextLong();
+        monsterSalt = random.nextLong();
+        phaseSalt = random.nextLong();
+    }
+
+    public long hero(int slot, int cell) { return mix(cellKeys[cell] + heroSalt + slot * GOLDEN); }
+    public long monster(int cell, int bucket) { return mix(cellKeys[cell] + monsterSalt + bucket * GOLDEN); }
+    public long obstacle(int cell) { return cellKeys[cell]; }
+
+    /**
+     * @param phase Round number modulo the spawn interval; any non-negative int is accepted.
+     */
+    public long phase(int phase) {
+        return mix(phaseSalt + phase * GOLDEN);
+    }
+
+    // SplitMix64 finaliser: spreads a salted index into an independent-looking key
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return Which HP slice a monster is in: 0 when fainted up to HP_BUCKETS - 1 at full health.
+     */
+    public static int hpBucket(double hp, double maxHp) {
+        if (hp <= 0 || maxHp <= 0) return 0;
+        return (int) Math.min(HP_BUCKETS - 1, hp * HP_BUCKETS / maxHp);
+    }
+}
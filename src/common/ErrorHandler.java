@@ -12,6 +12,13 @@ public class ErrorHandler {
      * @param e The exception that caused the crash.
      */
     public static void handleFatalError(Exception e) {
+        GameSession session = GameSession.current();
+        if (session != null) {
+            // A failing session must never take the rest of the host down with it
+            System.err.println("Session " + session.getId() + " terminated: " + e);
+            throw new GameSession.SessionEndedException(1);
+        }
+
         System.err.println("CRITICAL SYSTEM FAILURE");
         System.err.println("The application encountered an unexpected error and must close.");
         System.err.println("Error Details: " + e.getMessage());
@@ -12,14 +12,16 @@ public abstract class GameInfo {
     /**
      * Template method that displays complete game information.
      * Follows a consistent format while allowing customization.
+     *
+     * @param scanner Shared scanner used to wait for the player before returning.
      */
-    public final void displayInfo() {
+    public final void displayInfo(Scanner scanner) {
         printHeader();
         printObjective();
         printGameplay();
         printControls();
         printTips();
-        printFooter();
+        printFooter(scanner);
     }
     
     protected abstract String getGameTitle();
@@ -83,10 +85,9 @@ public abstract class GameInfo {
         System.out.println(color + "╠════════════════════════════════════════════════════════════════════════╣" + ConsoleColors.RESET);
     }
     
-    private void printFooter() {
+    private void printFooter(Scanner scanner) {
         String color = getHeaderColor();
         System.out.println(color + "╚════════════════════════════════════════════════════════════════════════╝" + ConsoleColors.RESET);
-        Scanner scanner = new Scanner(System.in);
         System.out.print(ConsoleColors.YELLOW + "Press Enter to return to main menu..." + ConsoleColors.RESET);
         scanner.nextLine();
     }
@@ -3,6 +3,7 @@ package common;
 import utils.ConsoleColors;
 import game.LegendsGame;
 import game.ValorGame;
+import utils.LiveCatalog;
 import java.util.Scanner;
 
 /**
@@ -13,48 +14,87 @@ public class GameRunner {
 
 
 
+    /**
+     * Screens the session moves between. Each transition returns to the loop in run(),
+     * so a finished game is dropped before the next one starts and the stack never grows.
+     */
+    private enum State {
+        MENU, LEGENDS, VALOR, INFO, EXIT
+    }
+
     /**
      * Safely starts the game loop.
      * Any unhandled exceptions during the game's lifecycle will be caught here.
+     * Returns once the player chooses to leave.
      */
     public static void run() {
+        run(null);
+    }
+
+    /**
+     * @param liveCatalog Reloaded monsters and items shared by every game started here,
+     *                    or null to have each game read the data files once.
+     */
+    public static void run(LiveCatalog liveCatalog) {
         try (Scanner scanner = new Scanner(System.in)) {
-            printWelcomeBanner();
-
-            System.out.println(ConsoleColors.CYAN + "      Select Your Destiny:" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ╔════════════════════════════════════════════╗" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "1." + ConsoleColors.WHITE_BOLD + " Legends: Monsters and Heroes (RPG)      " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "2." + ConsoleColors.WHITE_BOLD + " Legends of Valor (MOBA Strategy)        " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ╚════════════════════════════════════════════╝" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.WHITE_BOLD + "    3. Game Information & Instructions" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.WHITE_BOLD + "    4. Exit Game" + ConsoleColors.RESET);
-            System.out.println();
-
-            int choice = InputValidator.getValidInt(scanner, ConsoleColors.YELLOW + "Choose Option: " + ConsoleColors.RESET, 1, 4);
-
-            switch (choice) {
-                case 1:
-                    printLegendsRules();
-                    new LegendsGame().play(scanner);
-                    break;
-                case 2:
-                    printValorRules();
-                    new ValorGame().play(scanner);
-                    break;
-                case 3:
-                    showGameInfo(scanner);
-                    break;
-                case 4:
-                    System.out.println(ConsoleColors.CYAN + "Thank you for playing! Goodbye!" + ConsoleColors.RESET);
-                    System.exit(0);
-                    break;
+            State state = State.MENU;
+            while (state != State.EXIT) {
+                switch (state) {
+                    case MENU:
+                        state = selectMode(scanner);
+                        break;
+                    case LEGENDS:
+                        printLegendsRules();
+                        LegendsGame legends = new LegendsGame();
+                        legends.setLiveCatalog(liveCatalog);
+                        state = legends.play(scanner) ? State.MENU : State.EXIT;
+                        break;
+                    case VALOR:
+                        printValorRules();
+                        ValorGame valor = new ValorGame();
+                        valor.setLiveCatalog(liveCatalog);
+                        state = valor.play(scanner) ? State.MENU : State.EXIT;
+                        break;
+                    case INFO:
+                        showGameInfo(scanner);
+                        state = State.MENU;
+                        break;
+                    default:
+                        state = State.EXIT;
+                }
             }
 
+        } catch (GameSession.SessionEndedException e) {
+            throw e; // Let the hosting session unwind cleanly
         } catch (Exception e) {
             ErrorHandler.handleFatalError(e);
         }
     }
 
+    private static State selectMode(Scanner scanner) {
+        printWelcomeBanner();
+
+        System.out.println(ConsoleColors.CYAN + "      Select Your Destiny:" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ╔════════════════════════════════════════════╗" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "1." + ConsoleColors.WHITE_BOLD + " Legends: Monsters and Heroes (RPG)      " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "2." + ConsoleColors.WHITE_BOLD + " Legends of Valor (MOBA Strategy)        " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ╚════════════════════════════════════════════╝" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.WHITE_BOLD + "    3. Game Information & Instructions" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.WHITE_BOLD + "    4. Exit Game" + ConsoleColors.RESET);
+        System.out.println();
+
+        int choice = InputValidator.getValidInt(scanner, ConsoleColors.YELLOW + "Choose Option: " + ConsoleColors.RESET, 1, 4);
+
+        switch (choice) {
+            case 1: return State.LEGENDS;
+            case 2: return State.VALOR;
+            case 3: return State.INFO;
+            default:
+                System.out.println(ConsoleColors.CYAN + "Thank you for playing! Goodbye!" + ConsoleColors.RESET);
+                return State.EXIT;
+        }
+    }
+
     /**
      * Shows detailed game information using the Strategy pattern.
      * Allows users to learn about either game mode before playing.
@@ -72,16 +112,13 @@ public class GameRunner {
 
         switch (infoChoice) {
             case 1:
-                new LegendsGameInfo().displayInfo();
-                run(); // Return to main menu
+                new LegendsGameInfo().displayInfo(scanner);
                 break;
             case 2:
-                new ValorGameInfo().displayInfo();
-                run(); // Return to main menu
+                new ValorGameInfo().displayInfo(scanner);
                 break;
             case 3:
-                run(); // Return to main menu
-                break;
+                break; // Return to main menu
         }
     }
 
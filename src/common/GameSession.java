@@ -0,0 +1,180 @@
+package common;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single hosted play session with its own input and output channels.
+ * The games keep talking to System.in / System.out; SessionConsole routes those
+ * streams to whichever session is bound to the current thread, so every session
+ * runs against isolated console state without forking any game logic.
+ */
+public class GameSession implements Runnable {
+
+    private static final ThreadLocal<GameSession> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    // Small per-session buffer: most output is short menu lines
+    private static final int OUTPUT_BUFFER_SIZE = 1024;
+    private static final int INPUT_BUFFER_SIZE = 256;
+
+    private final long id;
+    private final InputStream in;
+    private final PrintStream out;
+    private final Runnable onClose;
+    private volatile boolean closed;
+
+    public GameSession(InputStream in, OutputStream out, Runnable onClose) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.in = new LineInputStream(in);
+        this.out = new PrintStream(new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE), true, StandardCharsets.UTF_8);
+        this.onClose = onClose;
+    }
+
+    /**
+     * @return The session bound to the calling thread, or null when running on the plain console.
+     */
+    public static GameSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Creates a session with no player attached: input is empty and output is discarded.
+     * Bind it with {@link #execute(Runnable)} to run simulations without console noise.
+     */
+    public static GameSession headless() {
+        return new GameSession(InputStream.nullInputStream(), OutputStream.nullOutputStream(), null);
+    }
+
+    public long getId() { return id; }
+    public InputStream getInput() { return in; }
+    public PrintStream getOutput() { return out; }
+    public boolean isClosed() { return closed; }
+
+    /**
+     * Runs the regular main menu against this session's channels.
+     * Returns when the player exits, disconnects, or the session fails.
+     */
+    @Override
+    public void run() {
+        SessionConsole.install();
+        CURRENT.set(this);
+        try {
+            GameRunner.run();
+        } catch (SessionEndedException e) {
+            // Normal termination: the player quit or the connection dropped
+        } finally {
+            CURRENT.remove();
+            close();
+        }
+    }
+
+    /**
+     * Runs a task on the calling thread with this session bound as its console.
+     */
+    public void execute(Runnable task) {
+        SessionConsole.install();
+        GameSession previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Flushes pending output and releases both channels. Safe to call more than once.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        out.flush();
+        out.close();
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do if the peer is already gone
+        }
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    /**
+     * Thrown to unwind a hosted session where the console version would call System.exit.
+     */
+    public static class SessionEndedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        public SessionEndedException(int status) {
+            super("Session ended with status " + status, null, false, false);
+            this.status = status;
+        }
+
+        public int getStatus() { return status; }
+    }
+
+    /**
+     * Hands input to readers at most one line at a time, like a terminal does.
+     * The games open more than one Scanner over System.in; without this, the first
+     * Scanner would swallow lines a remote client sent in a single packet.
+     */
+    private static final class LineInputStream extends InputStream {
+        private final InputStream source;
+        private final byte[] buffer = new byte[INPUT_BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        LineInputStream(InputStream source) {
+            this.source = source;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) return true;
+            position = 0;
+            limit = source.read(buffer, 0, buffer.length);
+            return limit > 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? buffer[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!fill()) return -1;
+
+            int count = 0;
+            while (count < len && position < limit) {
+                byte next = buffer[position++];
+                b[off + count++] = next;
+                if (next == '\n') break;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return 0; // Never invite a reader to run ahead of the current line
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+    }
+}
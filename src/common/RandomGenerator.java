@@ -14,7 +14,7 @@ public class RandomGenerator {
         this.random = new Random();
     }
 
-    public static RandomGenerator getInstance() {
+    public static synchronized RandomGenerator getInstance() {
         if (instance == null) {
             instance = new RandomGenerator();
         }
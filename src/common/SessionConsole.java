@@ -0,0 +1,161 @@
+package common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Routes System.in and System.out to the GameSession bound to the current thread.
+ * Threads without a session (the local console, loaders, tools) fall through to
+ * the original JVM streams, so single-player behaviour is unchanged.
+ */
+public final class SessionConsole {
+
+    private static boolean installed = false;
+    private static PrintStream consoleOut;
+    private static InputStream consoleIn;
+
+    private SessionConsole() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Replaces System.in / System.out with session-aware routers. Idempotent.
+     */
+    public static synchronized void install() {
+        if (installed) return;
+        consoleOut = System.out;
+        consoleIn = System.in;
+        System.setOut(new RoutingPrintStream());
+        System.setIn(new RoutingInputStream());
+        installed = true;
+    }
+
+    private static PrintStream currentOut() {
+        GameSession session = GameSession.current();
+        return session != null ? session.getOutput() : consoleOut;
+    }
+
+    /**
+     * PrintStream that forwards every call to the current thread's target.
+     * All public methods are overridden so the shared instance is never locked.
+     */
+    private static final class RoutingPrintStream extends PrintStream {
+
+        RoutingPrintStream() {
+            super(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    currentOut().write(b);
+                }
+            }, false);
+        }
+
+        @Override public void flush() { currentOut().flush(); }
+        @Override public void close() { currentOut().flush(); }
+        @Override public boolean checkError() { return currentOut().checkError(); }
+        @Override public void write(int b) { currentOut().write(b); }
+        @Override public void write(byte[] buf, int off, int len) { currentOut().write(buf, off, len); }
+        @Override public void print(boolean b) { currentOut().print(b); }
+        @Override public void print(char c) { currentOut().print(c); }
+        @Override public void print(int i) { currentOut().print(i); }
+        @Override public void print(long l) { currentOut().print(l); }
+        @Override public void print(float f) { currentOut().print(f); }
+        @Override public void print(double d) { currentOut().print(d); }
+        @Override public void print(char[] s) { currentOut().print(s); }
+        @Override public void print(String s) { currentOut().print(s); }
+        @Override public void print(Object obj) { currentOut().print(obj); }
+        @Override public void println() { currentOut().println(); }
+        @Override public void println(boolean x) { currentOut().println(x); }
+        @Override public void println(char x) { currentOut().println(x); }
+        @Override public void println(int x) { currentOut().println(x); }
+        @Override public void println(long x) { currentOut().println(x); }
+        @Override public void println(float x) { currentOut().println(x); }
+        @Override public void println(double x) { currentOut().println(x); }
+        @Override public void println(char[] x) { currentOut().println(x); }
+        @Override public void println(String x) { currentOut().println(x); }
+        @Override public void println(Object x) { currentOut().println(x); }
+
+        @Override
+        public PrintStream printf(String format, Object... args) {
+            currentOut().printf(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream printf(Locale l, String format, Object... args) {
+            currentOut().printf(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(String format, Object... args) {
+            currentOut().format(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(Locale l, String format, Object... args) {
+            currentOut().format(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq) {
+            currentOut().append(csq);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq, int start, int end) {
+            currentOut().append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(char c) {
+            currentOut().append(c);
+            return this;
+        }
+    }
+
+    /**
+     * InputStream that reads from the current thread's session.
+     * Pending output is flushed before every read so prompts printed without a
+     * newline reach the player before the game blocks waiting for an answer.
+     */
+    private static final class RoutingInputStream extends InputStream {
+
+        private InputStream currentIn() {
+            GameSession session = GameSession.current();
+            if (session == null) return consoleIn;
+            session.getOutput().flush();
+            return session.getInput();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return currentIn().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return currentIn().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return currentIn().available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // A session owns its own channel lifecycle; only the real console may be closed here
+            if (GameSession.current() == null) {
+                consoleIn.close();
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package common;
 
+import board.ValorLayout;
 import utils.ConsoleColors;
+import utils.GameDataLoader;
 
 /**
  * Information provider for Legends of Valor game.
@@ -21,22 +23,25 @@ public class ValorGameInfo extends GameInfo {
     @Override
     protected void printObjective() {
         String color = getHeaderColor();
+        ValorLayout layout = GameDataLoader.getValorLayout();
         printBoxLine(ConsoleColors.WHITE_BOLD + "OBJECTIVE:" + ConsoleColors.RESET);
-        printBoxLine(ConsoleColors.GREEN + "WIN:" + ConsoleColors.RESET + " Move any hero to the Monster Nexus (Row 0).");
-        printBoxLine(ConsoleColors.RED + "LOSE:" + ConsoleColors.RESET + " If any monster reaches your Hero Nexus (Row 7).");
-        printBoxLine("Battle across 3 lanes in this strategic tower defense RPG.");
+        printBoxLine(ConsoleColors.GREEN + "WIN:" + ConsoleColors.RESET + " Move any hero to the Monster Nexus (Row " + layout.getMonsterNexusRow() + ").");
+        printBoxLine(ConsoleColors.RED + "LOSE:" + ConsoleColors.RESET + " If any monster reaches your Hero Nexus (Row " + layout.getHeroNexusRow() + ").");
+        printBoxLine("Battle across " + layout.getLanes() + " lanes in this strategic tower defense RPG.");
         System.out.println(color + "╠════════════════════════════════════════════════════════════════════════╣" + ConsoleColors.RESET);
     }
     
     @Override
     protected void printGameplay() {
         String color = getHeaderColor();
+        ValorLayout layout = GameDataLoader.getValorLayout();
         printBoxLine(ConsoleColors.WHITE_BOLD + "GAMEPLAY:" + ConsoleColors.RESET);
-        printBoxLine(ConsoleColors.YELLOW + "> Board:" + ConsoleColors.RESET + " 8x8 grid with 3 lanes (columns 0-2, 3-5, 6-7).");
+        printBoxLine(ConsoleColors.YELLOW + "> Board:" + ConsoleColors.RESET + " " + layout.getRows() + "x" + layout.getWidth() + " grid with " + layout.getLanes()
+                + " lanes of " + layout.getLaneWidth() + " columns, walls between.");
         printBoxLine(ConsoleColors.YELLOW + "> Movement:" + ConsoleColors.RESET + " Adjacent tiles only (North/South/East/West).");
         printBoxLine(ConsoleColors.YELLOW + "> Combat:" + ConsoleColors.RESET + " Attack range includes diagonal tiles.");
         printBoxLine(ConsoleColors.YELLOW + "> Terrain:" + ConsoleColors.RESET + " Bush(+Dex), Cave(+Agi), Koulou(+Str) bonuses.");
-        printBoxLine(ConsoleColors.YELLOW + "> Spawning:" + ConsoleColors.RESET + " New monsters appear every 8 rounds.");
+        printBoxLine(ConsoleColors.YELLOW + "> Spawning:" + ConsoleColors.RESET + " New monsters appear every " + GameDataLoader.getMonsterScaling().getSpawnInterval() + " rounds.");
         System.out.println(color + "╠════════════════════════════════════════════════════════════════════════╣" + ConsoleColors.RESET);
     }
     
@@ -58,7 +63,7 @@ public class ValorGameInfo extends GameInfo {
         printBoxLine(ConsoleColors.RED + "> " + ConsoleColors.RESET + "Use Teleport to quickly support other lanes.");
         printBoxLine(ConsoleColors.RED + "> " + ConsoleColors.RESET + "Recall to your Nexus to access the market safely.");
         printBoxLine(ConsoleColors.RED + "> " + ConsoleColors.RESET + "Position heroes on terrain matching their strengths.");
-        printBoxLine(ConsoleColors.RED + "> " + ConsoleColors.RESET + "Balance offense and defense across all three lanes.");
+        printBoxLine(ConsoleColors.RED + "> " + ConsoleColors.RESET + "Balance offense and defense across all lanes.");
         printBoxLine(ConsoleColors.RED + "> " + ConsoleColors.RESET + "Monitor monster spawn timing to prepare defenses.");
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package entities;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Opt-in free lists of Monster and Hero objects for high-rate simulations.
+ * Released objects are fully re-initialised when they are acquired again, so a recycled
+ * entity is indistinguishable from a newly constructed one. Not thread safe: give each
+ * simulation thread its own pool.
+ *
+ * <p>Whoever releases an entity must drop every reference to it (board cells, lists);
+ * the pool hands the same object out again on the next acquire.</p>
+ */
+public class EntityPool {
+
+    private final int capacity;
+    private final ArrayDeque<Monster> monsters = new ArrayDeque<>();
+    private final Map<Hero.HeroType, ArrayDeque<Hero>> heroes = new EnumMap<>(Hero.HeroType.class);
+
+    private long created;
+    private long reused;
+
+    /**
+     * @param capacity Most idle objects kept per free list; extras are left to the GC.
+     */
+    public EntityPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Pool capacity cannot be negative.");
+        }
+        this.capacity = capacity;
+        for (Hero.HeroType type : Hero.HeroType.values()) {
+            heroes.put(type, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Returns a monster in the same state as new Monster(template, level, hp, ...) would be.
+     */
+    public Monster acquireMonster(MonsterTemplate template, int level, double hp, double baseDamage, double defense, double dodgeChance) {
+        Monster monster = monsters.pollFirst();
+        if (monster == null) {
+            created++;
+            return new Monster(template, level, hp, baseDamage, defense, dodgeChance);
+        }
+        reused++;
+        monster.reset(template, level, hp, baseDamage, defense, dodgeChance);
+        return monster;
+    }
+
+    public void releaseMonster(Monster monster) {
+        if (monsters.size() < capacity) monsters.addFirst(monster);
+    }
+
+    /**
+     * Returns a hero in the same state as template.copy() would be.
+     */
+    public Hero acquireHero(Hero template) {
+        Hero hero = heroes.get(template.getType()).pollFirst();
+        if (hero == null) {
+            created++;
+            return template.copy();
+        }
+        reused++;
+        hero.resetFrom(template);
+        return hero;
+    }
+
+    public void releaseHero(Hero hero) {
+        ArrayDeque<Hero> free = heroes.get(hero.getType());
+        if (free.size() < capacity) free.addFirst(hero);
+    }
+
+    /**
+     * @return Entities built because the matching free list was empty.
+     */
+    public long getCreated() { return created; }
+
+    /**
+     * @return Acquires served from a free list.
+     */
+    public long getReused() { return reused; }
+}
@@ -1,8 +1,10 @@
 package entities;
 
+import events.CombatListener;
 import items.Inventory;
 import items.Weapon;
 import items.Armor;
+import utils.FixedPoint;
 
 /**
  * Represents a playable Hero character.
@@ -38,6 +40,9 @@ public class Hero extends RPGCharacter {
     // Battle state tracking
     private boolean wasFaintedInBattle;
     
+    // Last round whose end-of-round upkeep (regeneration and weapon wear) has been applied
+    private int upkeepRound;
+
     // Temporary battle boosts (reset after each battle)
     private double strengthBoost = 0;
     private double agilityBoost = 0;
@@ -62,13 +67,17 @@ public class Hero extends RPGCharacter {
         this.inventory = new Inventory();
         this.wasFaintedInBattle = false;
 
-        // HP based on class type - more defensive classes get more HP
-        if (type == HeroType.WARRIOR) {
-            this.hp = this.level * 150;  // Tanky melee fighters
-        } else if (type == HeroType.PALADIN) {
-            this.hp = this.level * 120;  // Defensive hybrids  
-        } else if (type == HeroType.SORCERER) {
-            this.hp = this.level * 80;   // Glass cannon mages
+        this.hp = startingHp(type, this.level);
+    }
+
+    // HP based on class type - more defensive classes get more HP
+    private static double startingHp(HeroType type, int level) {
+        if (type == null) return 0;
+        switch (type) {
+            case WARRIOR: return level * 150;  // Tanky melee fighters
+            case PALADIN: return level * 120;  // Defensive hybrids
+            case SORCERER: return level * 80;  // Glass cannon mages
+            default: return 0;
         }
     }
     
@@ -89,6 +98,47 @@ public class Hero extends RPGCharacter {
         this.wasFaintedInBattle = false;
     }
 
+    /**
+     * Creates a fresh level 1 hero with this hero's current base attributes.
+     * Used to start many matches from one set of loaded templates.
+     */
+    public Hero copy() {
+        return new Hero(name, type, mana, strength, agility, dexterity, money, experience);
+    }
+
+    /**
+     * Turns a recycled hero back into exactly what source.copy() would return.
+     * Level, experience, position, inventory, equipment and battle boosts are all cleared.
+     *
+     * @param source Template hero of the same class.
+     */
+    void resetFrom(Hero source) {
+        if (source.type != this.type) {
+            throw new IllegalArgumentException("Cannot reset a " + type + " from a " + source.type + ".");
+        }
+        this.name = source.name;
+        this.level = 1;
+        this.mana = source.mana;
+        this.strength = source.strength;
+        this.agility = source.agility;
+        this.dexterity = source.dexterity;
+        this.money = source.money;
+        this.experience = source.experience;
+        this.hp = startingHp(type, 1);
+
+        this.row = 0;
+        this.col = 0;
+        this.lane = 0;
+        this.inventory.clear();
+        this.equippedWeapon = null;
+        this.equippedArmor = null;
+        this.wasFaintedInBattle = false;
+        this.upkeepRound = 0;
+        this.strengthBoost = 0;
+        this.agilityBoost = 0;
+        this.dexterityBoost = 0;
+    }
+
     // Implementation of Attack Abstraction
     @Override
     public double attack(RPGCharacter target) {
@@ -112,123 +162,114 @@ public class Hero extends RPGCharacter {
     public int getLane() { return lane; }
 
 
-    public void gainExperience(int amount) {
+    /**
+     * Adds experience and applies every level it pays for.
+     *
+     * @param listener Told about the level up, if there was one; may be null.
+     */
+    public void gainExperience(int amount, CombatListener listener) {
         this.experience += amount;
-        // Experience points to level up = hero_current_level * 10
-        if (this.experience >= this.level * 10) {
-            levelUp();
-        }
-    }
+        // Experience points to level up = hero_current_level * 10; overflow carries into further levels
+        int levels = HeroProgression.levelsAffordable(this.level, this.experience);
+        if (levels == 0) return;
 
-    private void levelUp() {
         int oldLevel = this.level;
         double oldStrength = this.strength;
         double oldAgility = this.agility;
         double oldDexterity = this.dexterity;
         double oldHp = this.hp;
         double oldMana = this.mana;
-        
-        this.level++;
-        
-        // Subtract the XP threshold from current XP (allow overflow for next level)
-        int xpUsed = oldLevel * 10;
-        this.experience -= xpUsed;
 
-        // HP based on class type when leveling up (base + level*increment for gradual growth)
-        if (type == HeroType.WARRIOR) {
-            this.hp = 100 + (this.level * 50);  // 150, 200, 250, 300... (gradual increase)
-        } else if (type == HeroType.PALADIN) {
-            this.hp = 80 + (this.level * 40);   // 120, 160, 200, 240... (defensive hybrids)  
-        } else if (type == HeroType.SORCERER) {
-            this.hp = 60 + (this.level * 30);   // 90, 120, 150, 180... (glass cannon mages)
+        this.experience -= (int) HeroProgression.experienceBetween(oldLevel, oldLevel + levels);
+        advanceLevels(levels);
+
+        // One level up event covering every level gained
+        if (listener != null) {
+            listener.onLevelUp(this, oldLevel, oldHp, oldMana, oldStrength, oldAgility, oldDexterity);
         }
+    }
+
+    /**
+     * Applies several level ups at once without touching experience or printing anything.
+     * Equivalent to levelling one step at a time, but constant time via HeroProgression tables,
+     * so simulations can fast-forward heroes to high levels cheaply.
+     */
+    public void advanceLevels(int levels) {
+        if (levels <= 0) return;
+        int oldLevel = this.level;
+        this.level += levels;
+
+        // HP based on class type when leveling up (base + level*increment for gradual growth)
+        this.hp = HeroProgression.maxHp(type, this.level);
 
         // Spec Rule: MP of the heroes when they level up = current_mana * 1.1
-        this.mana = this.mana * 1.1;
+        this.mana *= HeroProgression.manaMultiplier(this.level) / HeroProgression.manaMultiplier(oldLevel);
 
         // Spec Rule: When a hero levels up all of their skills increase by 5%
         // and their favored skills increase by an extra 5% (Total 10%).
-        double standardFactor = 1.05;
-        double favoredFactor = 1.10;
-
-        // Apply increases based on Type
-        if (type == HeroType.WARRIOR) {
-            strength *= favoredFactor;
-            agility *= favoredFactor;
-            dexterity *= standardFactor;
-        } else if (type == HeroType.SORCERER) {
-            strength *= standardFactor;
-            agility *= favoredFactor;
-            dexterity *= favoredFactor;
-        } else if (type == HeroType.PALADIN) {
-            strength *= favoredFactor;
-            agility *= standardFactor;
-            dexterity *= favoredFactor;
-        }
+        this.strength *= growth(HeroProgression.STRENGTH, oldLevel);
+        this.agility *= growth(HeroProgression.AGILITY, oldLevel);
+        this.dexterity *= growth(HeroProgression.DEXTERITY, oldLevel);
+    }
 
-        // Display simple level up notification
-        displayLevelUpStats(oldLevel, oldStrength, oldAgility, oldDexterity, oldHp, oldMana);
-        
-        // Check for consecutive level ups
-        if (this.experience >= this.level * 10) {
-            levelUp();
-        }
+    private double growth(int stat, int fromLevel) {
+        return HeroProgression.statMultiplier(type, stat, this.level) / HeroProgression.statMultiplier(type, stat, fromLevel);
     }
     
-    private void displayLevelUpStats(int oldLevel, double oldStrength, double oldAgility, double oldDexterity, double oldHp, double oldMana) {
-        System.out.println("\n" + utils.ConsoleColors.GREEN + "LEVEL UP! " + this.name + " (" + this.type + ") Level " + oldLevel + " -> " + this.level + utils.ConsoleColors.RESET);
-        
-        // Show HP and MP first
-        System.out.printf("HP: " + utils.ConsoleColors.GREEN + "%.0f -> %.0f" + utils.ConsoleColors.RESET, oldHp, this.hp);
-        System.out.println();
-        System.out.printf("MP: " + utils.ConsoleColors.BLUE + "%.0f -> %.0f" + utils.ConsoleColors.RESET, oldMana, this.mana);
-        System.out.println();
-        
-        // Show stats with favored ones colored
-        if (type == HeroType.WARRIOR || type == HeroType.PALADIN) {
-            System.out.printf("Strength: " + utils.ConsoleColors.YELLOW + "%.0f -> %.0f" + utils.ConsoleColors.RESET, oldStrength, this.strength);
-        } else {
-            System.out.printf("Strength: %.0f -> %.0f", oldStrength, this.strength);
-        }
-        System.out.println();
-        
-        if (type == HeroType.WARRIOR || type == HeroType.SORCERER) {
-            System.out.printf("Agility: " + utils.ConsoleColors.CYAN + "%.0f -> %.0f" + utils.ConsoleColors.RESET, oldAgility, this.agility);
-        } else {
-            System.out.printf("Agility: %.0f -> %.0f", oldAgility, this.agility);
-        }
-        System.out.println();
-        
-        if (type == HeroType.SORCERER || type == HeroType.PALADIN) {
-            System.out.printf("Dexterity: " + utils.ConsoleColors.PURPLE + "%.0f -> %.0f" + utils.ConsoleColors.RESET, oldDexterity, this.dexterity);
-        } else {
-            System.out.printf("Dexterity: %.0f -> %.0f", oldDexterity, this.dexterity);
-        }
-        System.out.println();
-        System.out.println();
-    }
-
     public double getMaxHp() {
-        if (type == HeroType.WARRIOR) {
-            return 100 + (this.level * 50);  // Matches level-up calculation
-        } else if (type == HeroType.PALADIN) {
-            return 80 + (this.level * 40);   // Matches level-up calculation
-        } else if (type == HeroType.SORCERER) {
-            return 60 + (this.level * 30);   // Matches level-up calculation
-        }
-        return 100 + (this.level * 30); // Default fallback
+        return HeroProgression.maxHp(type, this.level); // Matches level-up calculation
     }
     
     public double getMaxMana() {
-        // Base mana from constructor * level up multiplier (1.1^(level-1))
-        double baseMana;
-        switch (type) {
-            case WARRIOR: baseMana = 300; break; // Muamman_Duathall's base
-            case SORCERER: baseMana = 1000; break; // Average sorcerer base
-            case PALADIN: baseMana = 300; break; // Average paladin base
-            default: baseMana = 300; break;
-        }
-        return baseMana * Math.pow(1.1, level - 1);
+        // Class base mana * level up multiplier (1.1^(level-1)), read from the progression table
+        return HeroProgression.maxMana(type, this.level);
+    }
+
+    @Override
+    public void snapToFixedPoint() {
+        super.snapToFixedPoint();
+        this.mana = FixedPoint.snap(mana);
+        this.strength = FixedPoint.snap(strength);
+        this.agility = FixedPoint.snap(agility);
+        this.dexterity = FixedPoint.snap(dexterity);
+        this.money = FixedPoint.snap(money);
+    }
+
+    /** HP and mana grow by this factor at the end of every round a hero is standing. */
+    public static final double REGEN_PER_ROUND = 1.1;
+
+    /**
+     * Starts the upkeep clock at a round without applying anything, e.g. when a battle begins
+     * or a hero respawns.
+     */
+    public void stampUpkeep(int round) {
+        this.upkeepRound = round;
+    }
+
+    public int getUpkeepRound() { return upkeepRound; }
+
+    /**
+     * Applies the end-of-round upkeep owed for every round after the stamped one up to and
+     * including round: HP and mana regenerate by REGEN_PER_ROUND up to their caps and, if
+     * asked, the equipped weapon wears. Closed form, so a long idle stretch costs the same as
+     * one round; one round at a time gives exactly the per-round result. Fainted heroes do not
+     * regenerate. The caller checks the weapon for breakage afterwards.
+     *
+     * @param weaponWear Whether weapons wear out in this game mode (Legends battles only).
+     * @return Rounds applied (0 if already up to date).
+     */
+    public int settleUpkeep(int round, boolean weaponWear) {
+        int rounds = round - upkeepRound;
+        if (rounds <= 0) return 0;
+        this.upkeepRound = round;
+        if (isFainted()) return rounds;
+
+        // x * 1.1^n with a cap equals n capped multiplications, since the cap is sticky
+        double growth = Math.pow(REGEN_PER_ROUND, rounds);
+        setHp(this.hp * growth);
+        setMana(this.mana * growth);
+        if (weaponWear && equippedWeapon != null) equippedWeapon.wear(rounds);
+        return rounds;
     }
 
     public void revive() {
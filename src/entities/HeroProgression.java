@@ -0,0 +1,113 @@
+package entities;
+
+import entities.Hero.HeroType;
+
+/**
+ * Precomputed per-class level progression for heroes.
+ * Max HP, the max mana multiplier and the cumulative stat multipliers are tabulated once up to
+ * LEVEL_CAP, so levelling and mana capping are table lookups instead of repeated Math.pow calls.
+ * Levels past the cap fall back to the closed-form formulas.
+ */
+public final class HeroProgression {
+
+    public static final int LEVEL_CAP = 256;
+
+    private static final double MANA_GROWTH = 1.1;
+    private static final double STANDARD_GROWTH = 1.05; // Every skill gains 5% per level
+    private static final double FAVORED_GROWTH = 1.10;  // Favored skills gain an extra 5%
+
+    // Indexed by HeroType ordinal: HP = base + level * increment
+    private static final double[] HP_BASE = {100, 60, 80};
+    private static final double[] HP_PER_LEVEL = {50, 30, 40};
+    private static final double[] BASE_MANA = {300, 1000, 300};
+
+    // Per-level growth of {strength, agility, dexterity}, indexed by HeroType ordinal
+    private static final double[][] STAT_GROWTH = {
+            {FAVORED_GROWTH, FAVORED_GROWTH, STANDARD_GROWTH},  // Warrior: strength, agility
+            {STANDARD_GROWTH, FAVORED_GROWTH, FAVORED_GROWTH},  // Sorcerer: agility, dexterity
+            {FAVORED_GROWTH, STANDARD_GROWTH, FAVORED_GROWTH}   // Paladin: strength, dexterity
+    };
+
+    public static final int STRENGTH = 0;
+    public static final int AGILITY = 1;
+    public static final int DEXTERITY = 2;
+
+    private static final double[][] MAX_HP = new double[HeroType.values().length][LEVEL_CAP + 1];
+    private static final double[][][] STAT_MULTIPLIER = new double[HeroType.values().length][3][LEVEL_CAP + 1];
+    private static final double[] MANA_MULTIPLIER = new double[LEVEL_CAP + 1];
+
+    static {
+        MANA_MULTIPLIER[1] = 1.0;
+        for (int level = 2; level <= LEVEL_CAP; level++) {
+            MANA_MULTIPLIER[level] = MANA_MULTIPLIER[level - 1] * MANA_GROWTH;
+        }
+        for (HeroType type : HeroType.values()) {
+            int t = type.ordinal();
+            for (int level = 1; level <= LEVEL_CAP; level++) {
+                MAX_HP[t][level] = HP_BASE[t] + level * HP_PER_LEVEL[t];
+            }
+            for (int stat = 0; stat < 3; stat++) {
+                STAT_MULTIPLIER[t][stat][1] = 1.0;
+                for (int level = 2; level <= LEVEL_CAP; level++) {
+                    STAT_MULTIPLIER[t][stat][level] = STAT_MULTIPLIER[t][stat][level - 1] * STAT_GROWTH[t][stat];
+                }
+            }
+        }
+    }
+
+    private HeroProgression() {}
+
+    /**
+     * @return Max HP of a hero of this class at the given level.
+     */
+    public static double maxHp(HeroType type, int level) {
+        if (level >= 1 && level <= LEVEL_CAP) return MAX_HP[type.ordinal()][level];
+        return HP_BASE[type.ordinal()] + level * HP_PER_LEVEL[type.ordinal()];
+    }
+
+    /**
+     * @return Max mana of a hero of this class at the given level (base * 1.1^(level - 1)).
+     */
+    public static double maxMana(HeroType type, int level) {
+        return BASE_MANA[type.ordinal()] * manaMultiplier(level);
+    }
+
+    /**
+     * @return Growth of current mana from level 1 to the given level.
+     */
+    public static double manaMultiplier(int level) {
+        if (level >= 1 && level <= LEVEL_CAP) return MANA_MULTIPLIER[level];
+        return Math.pow(MANA_GROWTH, level - 1);
+    }
+
+    /**
+     * @param stat STRENGTH, AGILITY or DEXTERITY.
+     * @return Cumulative growth of that stat from level 1 to the given level.
+     */
+    public static double statMultiplier(HeroType type, int stat, int level) {
+        if (level >= 1 && level <= LEVEL_CAP) return STAT_MULTIPLIER[type.ordinal()][stat][level];
+        return Math.pow(STAT_GROWTH[type.ordinal()][stat], level - 1);
+    }
+
+    /**
+     * @return Total experience needed to climb from one level to another (level * 10 per step).
+     */
+    public static long experienceBetween(int fromLevel, int toLevel) {
+        long steps = toLevel - fromLevel;
+        // Sum of 10 * l for l in [fromLevel, toLevel)
+        return 10L * (steps * fromLevel + steps * (steps - 1) / 2);
+    }
+
+    /**
+     * @return How many levels a hero at the given level can gain with the given experience.
+     */
+    public static int levelsAffordable(int level, long experience) {
+        if (experience < 10L * level) return 0;
+        // Largest n with 5n^2 + (10L - 5)n <= experience, then correct for rounding
+        double b = 10.0 * level - 5;
+        int n = (int) ((-b + Math.sqrt(b * b + 20.0 * experience)) / 10.0);
+        while (n > 0 && experienceBetween(level, level + n) > experience) n--;
+        while (experienceBetween(level, level + n + 1) <= experience) n++;
+        return n;
+    }
+}
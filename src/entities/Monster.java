@@ -1,5 +1,7 @@
 package entities;
 
+import utils.FixedPoint;
+
 /**
  * Represents a Monster enemy.
  * Attributes derived from: Dragons.txt, Exoskeletons.txt, Spirits.txt
@@ -10,36 +12,59 @@ public class Monster extends RPGCharacter {
         DRAGON, EXOSKELETON, SPIRIT
     }
 
-    private final MonsterType type;
+    // Shared, immutable catalog data (name, type, file stats); only replaced when a pool recycles this object
+    private MonsterTemplate template;
+
+    // Per-instance combat state, scaled at spawn and worn down by spells
     private double baseDamage;
     private double defense;
     private double dodgeChance;
 
-    // Position Tracking for Valor
-    private int row;
-    private int col;
-    private int lane;
-
-    // Constructor matches file: Name/level/damage/defense/dodge chance
-    public Monster(String name, MonsterType type, int level, double baseDamage, double defense, double dodgeChance) {
-        super(name, level);
-        this.type = type;
+    // Position Tracking for Valor, kept narrow so a spawned monster stays small
+    private short row;
+    private short col;
+    private byte lane;
+
+    /**
+     * Spawns a monster from a shared template.
+     *
+     * @param dodgeChance Stored dodge value; getDodgeChance() returns a hundredth of it. Spawns pass
+     *                    the data file's 0-100 value already divided by 100, so they dodge under 1%.
+     */
+    public Monster(MonsterTemplate template, int level, double hp, double baseDamage, double defense, double dodgeChance) {
+        super(template.getName(), level);
+        this.template = template;
         this.baseDamage = baseDamage;
         this.defense = defense;
         this.dodgeChance = dodgeChance;
+        this.hp = hp;
+    }
 
-        // Spec: HP = level * 100
-        this.hp = level * 100;
+    /**
+     * Builds a monster from raw stats with a template of its own.
+     *
+     * @param dodgeChance Stored dodge value, as in the template constructor above.
+     */
+    public Monster(String name, MonsterType type, int level, double baseDamage, double defense, double dodgeChance) {
+        // Spec: HP = level * 100; the template keeps dodge on the data file's 0-100 scale
+        this(new MonsterTemplate(name, type, level, baseDamage, defense, dodgeChance * 100), level, level * 100, baseDamage, defense, dodgeChance);
     }
-    
-    // Constructor with explicit HP for subclasses
-    public Monster(String name, int level, double hp, double baseDamage, double defense, double dodgeChance, MonsterType type) {
-        super(name, level);
-        this.type = type;
+
+    /**
+     * Re-initialises a recycled monster as a fresh spawn of the given template.
+     * Every field is overwritten, so nothing from its previous life survives.
+     */
+    void reset(MonsterTemplate template, int level, double hp, double baseDamage, double defense, double dodgeChance) {
+        this.template = template;
+        this.name = template.getName();
+        this.level = level;
+        this.hp = hp;
         this.baseDamage = baseDamage;
         this.defense = defense;
         this.dodgeChance = dodgeChance;
-        this.hp = hp;
+        this.row = 0;
+        this.col = 0;
+        this.lane = 0;
     }
 
     // Implementation of Attack Abstraction
@@ -56,7 +81,11 @@ public class Monster extends RPGCharacter {
     }
 
     public MonsterType getType() {
-        return type;
+        return template.getType();
+    }
+
+    public MonsterTemplate getTemplate() {
+        return template;
     }
 
     public double getBaseDamage() {
@@ -84,21 +113,29 @@ public class Monster extends RPGCharacter {
         this.dodgeChance = Math.max(0, this.dodgeChance - amount);
     }
 
+    @Override
+    public void snapToFixedPoint() {
+        super.snapToFixedPoint();
+        this.baseDamage = FixedPoint.snap(baseDamage);
+        this.defense = FixedPoint.snap(defense);
+        this.dodgeChance = FixedPoint.snap(dodgeChance);
+    }
+
     // Position Getters/Setters
     public void setPosition(int row, int col) {
-        this.row = row;
-        this.col = col;
+        this.row = (short) row;
+        this.col = (short) col;
     }
 
     public int getRow() { return row; }
     public int getCol() { return col; }
 
     public int getLane() { return lane; }
-    public void setLane(int lane) { this.lane = lane; }
+    public void setLane(int lane) { this.lane = (byte) lane; }
 
     @Override
     public String toString() {
         return String.format("[%s] %s (Lvl %d) | HP: %.0f | Dmg: %.0f",
-                type, name, level, hp, baseDamage);
+                template.getType(), name, level, hp, baseDamage);
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package entities;
+
+import entities.Monster.MonsterType;
+
+/**
+ * Immutable catalog entry for a monster (one line of Dragons.txt, Exoskeletons.txt or Spirits.txt).
+ * Templates are loaded once and shared by every monster spawned from them, so a spawned
+ * Monster only carries a reference to its template plus its own mutable combat state.
+ */
+public final class MonsterTemplate {
+
+    private final String name;
+    private final MonsterType type;
+    private final int level;
+    private final double baseDamage;
+    private final double defense;
+    private final double dodgeChance;
+
+    // Constructor matches file: Name/level/damage/defense/dodge chance
+    public MonsterTemplate(String name, MonsterType type, int level, double baseDamage, double defense, double dodgeChance) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Monster name cannot be null or empty.");
+        }
+        if (level < 1) {
+            throw new IllegalArgumentException("Level must be at least 1.");
+        }
+        this.name = name;
+        this.type = type;
+        this.level = level;
+        this.baseDamage = baseDamage;
+        this.defense = defense;
+        this.dodgeChance = dodgeChance;
+    }
+
+    public String getName() { return name; }
+    public MonsterType getType() { return type; }
+    public int getLevel() { return level; }
+    public double getBaseDamage() { return baseDamage; }
+    public double getDefense() { return defense; }
+
+    /**
+     * @return Dodge chance as written in the data file (0-100).
+     */
+    public double getDodgeChance() { return dodgeChance; }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] %s (Lvl %d) | Dmg: %.0f | Def: %.0f | Dodge: %.0f",
+                type, name, level, baseDamage, defense, dodgeChance);
+    }
+}
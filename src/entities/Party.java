@@ -8,24 +8,40 @@ import java.util.List;
  * Tracks the party's location on the grid and their collective state.
  */
 public class Party {
+    public static final int DEFAULT_CAPACITY = 3;
+
     private final List<Hero> heroes;
+    private final int capacity;
     private int row; // Current Board Row
     private int col; // Current Board Column
 
     public Party() {
-        this.heroes = new ArrayList<>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Most heroes the party accepts (Valor uses one per lane).
+     */
+    public Party(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Party capacity must be at least 1.");
+        }
+        this.heroes = new ArrayList<>(capacity);
+        this.capacity = capacity;
         this.row = 0;
         this.col = 0;
     }
 
     public void addHero(Hero hero) {
-        if (heroes.size() < 3) {
+        if (heroes.size() < capacity) {
             heroes.add(hero);
         } else {
-            System.out.println("Party is full! (Max 3 heroes)");
+            System.out.println("Party is full! (Max " + capacity + " heroes)");
         }
     }
 
+    public int getCapacity() { return capacity; }
+
     public List<Hero> getHeroes() {
         return heroes;
     }
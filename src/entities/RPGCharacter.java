@@ -1,5 +1,7 @@
 package entities;
 
+import utils.FixedPoint;
+
 /**
  * Abstract base class representing any character in the RPG world (Hero or Monster).
  * Encapsulates shared attributes like Name, Level, and Health.
@@ -50,6 +52,14 @@ public abstract class RPGCharacter {
 
     public abstract double attack(RPGCharacter target);
 
+    /**
+     * Rounds every combat stat onto the FixedPoint grid, so a packed snapshot of this
+     * character loses nothing and two characters compare equal exactly when they pack equal.
+     */
+    public void snapToFixedPoint() {
+        this.hp = FixedPoint.snap(hp);
+    }
+
     /**
      * Abstract method forcing subclasses to define their specific string representation.
      */
@@ -0,0 +1,114 @@
+package events;
+
+import entities.Hero;
+import entities.Monster;
+import entities.RPGCharacter;
+import items.Item;
+import items.Spell;
+import items.Spell.SpellType;
+
+import java.util.Arrays;
+
+/**
+ * Fans combat events out to every subscribed listener, in subscription order.
+ * Listeners live in a copy-on-write array: subscribing is rare, publishing happens on every
+ * blow, so publishing is a plain array walk with no iterator or event object.
+ * With no subscribers every publish is an empty loop and no text is ever formatted.
+ *
+ * <p>Not thread safe for subscription; each game or battle controller owns its own bus.</p>
+ */
+public class CombatEventBus implements CombatListener {
+
+    private static final CombatListener[] NONE = new CombatListener[0];
+
+    private CombatListener[] listeners = NONE;
+
+    public void subscribe(CombatListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void unsubscribe(CombatListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                CombatListener[] next = new CombatListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, next, 0, i);
+                System.arraycopy(listeners, i + 1, next, i, listeners.length - i - 1);
+                listeners = next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops every listener, including the console renderer, so simulations publish into nothing.
+     */
+    public void clear() {
+        listeners = NONE;
+    }
+
+    public boolean hasListeners() {
+        return listeners.length > 0;
+    }
+
+    @Override
+    public void onAttack(RPGCharacter attacker, RPGCharacter target, double damage) {
+        for (CombatListener l : listeners) l.onAttack(attacker, target, damage);
+    }
+
+    @Override
+    public void onDodge(RPGCharacter attacker, RPGCharacter target, Spell spell) {
+        for (CombatListener l : listeners) l.onDodge(attacker, target, spell);
+    }
+
+    @Override
+    public void onSpellCast(Hero caster, Spell spell, Monster target, double damage) {
+        for (CombatListener l : listeners) l.onSpellCast(caster, spell, target, damage);
+    }
+
+    @Override
+    public void onSpellEffect(Monster target, SpellType type) {
+        for (CombatListener l : listeners) l.onSpellEffect(target, type);
+    }
+
+    @Override
+    public void onMonsterDefeated(Hero hero, Monster monster) {
+        for (CombatListener l : listeners) l.onMonsterDefeated(hero, monster);
+    }
+
+    @Override
+    public void onHeroFainted(Monster monster, Hero hero) {
+        for (CombatListener l : listeners) l.onHeroFainted(monster, hero);
+    }
+
+    @Override
+    public void onLevelUp(Hero hero, int oldLevel, double oldHp, double oldMana,
+                          double oldStrength, double oldAgility, double oldDexterity) {
+        for (CombatListener l : listeners) {
+            l.onLevelUp(hero, oldLevel, oldHp, oldMana, oldStrength, oldAgility, oldDexterity);
+        }
+    }
+
+    @Override
+    public void onReward(Hero hero, double gold, int experience) {
+        for (CombatListener l : listeners) l.onReward(hero, gold, experience);
+    }
+
+    @Override
+    public void onRewardForfeited(Hero hero) {
+        for (CombatListener l : listeners) l.onRewardForfeited(hero);
+    }
+
+    @Override
+    public void onRegenerate(Hero hero, double hpGain, double manaGain) {
+        for (CombatListener l : listeners) l.onRegenerate(hero, hpGain, manaGain);
+    }
+
+    @Override
+    public void onDurabilityBreak(Hero hero, Item item) {
+        for (CombatListener l : listeners) l.onDurabilityBreak(hero, item);
+    }
+}
@@ -0,0 +1,83 @@
+package events;
+
+import entities.Hero;
+import entities.Monster;
+import entities.RPGCharacter;
+import items.Item;
+import items.Spell;
+import items.Spell.SpellType;
+
+/**
+ * Receives typed combat events from BattleController and ValorGame.
+ * Every method has an empty default, so a listener only overrides what it cares about.
+ *
+ * <p>Events are plain method calls with primitive arguments; nothing is allocated to publish
+ * one. Arguments are only valid during the call: monsters may be pooled and reused once the
+ * battle ends, so keep names or numbers, not the objects themselves.</p>
+ */
+public interface CombatListener {
+
+    /**
+     * A blow landed (hero on monster or monster on hero) after mitigation.
+     *
+     * @param damage HP removed from the target.
+     */
+    default void onAttack(RPGCharacter attacker, RPGCharacter target, double damage) {}
+
+    /**
+     * The target avoided an attack or spell.
+     *
+     * @param spell The spell that missed, or null for a weapon attack.
+     */
+    default void onDodge(RPGCharacter attacker, RPGCharacter target, Spell spell) {}
+
+    /**
+     * A spell hit its target.
+     *
+     * @param damage HP removed from the target.
+     */
+    default void onSpellCast(Hero caster, Spell spell, Monster target, double damage) {}
+
+    /**
+     * A surviving target was weakened by a spell's side effect.
+     */
+    default void onSpellEffect(Monster target, SpellType type) {}
+
+    /**
+     * A monster's HP reached zero.
+     *
+     * @param hero The hero who landed the final blow.
+     */
+    default void onMonsterDefeated(Hero hero, Monster monster) {}
+
+    /**
+     * A hero's HP reached zero.
+     */
+    default void onHeroFainted(Monster monster, Hero hero) {}
+
+    /**
+     * A hero gained one or more levels; the hero already carries the new stats.
+     */
+    default void onLevelUp(Hero hero, int oldLevel, double oldHp, double oldMana,
+                           double oldStrength, double oldAgility, double oldDexterity) {}
+
+    /**
+     * A hero was paid for a win.
+     */
+    default void onReward(Hero hero, double gold, int experience) {}
+
+    /**
+     * A hero got nothing from a won battle because it fainted during it.
+     */
+    default void onRewardForfeited(Hero hero) {}
+
+    /**
+     * End-of-round recovery for a standing hero.
+     */
+    default void onRegenerate(Hero hero, double hpGain, double manaGain) {}
+
+    /**
+     * An equipped weapon or armor wore out and was unequipped.
+     */
+    default void onDurabilityBreak(Hero hero, Item item) {}
+}
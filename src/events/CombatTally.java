@@ -0,0 +1,91 @@
+package events;
+
+import entities.Hero;
+import entities.Monster;
+import entities.RPGCharacter;
+import items.Item;
+import items.Spell;
+
+/**
+ * Counts combat events instead of printing them: blows, dodges, damage each side dealt,
+ * defeats, level ups and gold paid out. Subscribe one to a bus to gather match statistics.
+ */
+public class CombatTally implements CombatListener {
+
+    private long attacks;
+    private long dodges;
+    private long spells;
+    private double damageToMonsters;
+    private double damageToHeroes;
+    private long monstersDefeated;
+    private long heroesFainted;
+    private long levelUps;
+    private double goldAwarded;
+    private long itemsBroken;
+
+    @Override
+    public void onAttack(RPGCharacter attacker, RPGCharacter target, double damage) {
+        attacks++;
+        if (target instanceof Monster) damageToMonsters += damage;
+        else damageToHeroes += damage;
+    }
+
+    @Override
+    public void onDodge(RPGCharacter attacker, RPGCharacter target, Spell spell) {
+        dodges++;
+    }
+
+    @Override
+    public void onSpellCast(Hero caster, Spell spell, Monster target, double damage) {
+        spells++;
+        damageToMonsters += damage;
+    }
+
+    @Override
+    public void onMonsterDefeated(Hero hero, Monster monster) {
+        monstersDefeated++;
+    }
+
+    @Override
+    public void onHeroFainted(Monster monster, Hero hero) {
+        heroesFainted++;
+    }
+
+    @Override
+    public void onLevelUp(Hero hero, int oldLevel, double oldHp, double oldMana,
+                          double oldStrength, double oldAgility, double oldDexterity) {
+        levelUps += hero.getLevel() - oldLevel;
+    }
+
+    @Override
+    public void onReward(Hero hero, double gold, int experience) {
+        goldAwarded += gold;
+    }
+
+    @Override
+    public void onDurabilityBreak(Hero hero, Item item) {
+        itemsBroken++;
+    }
+
+    public void reset() {
+        attacks = dodges = spells = monstersDefeated = heroesFainted = levelUps = itemsBroken = 0;
+        damageToMonsters = damageToHeroes = goldAwarded = 0;
+    }
+
+    public long getAttacks() { return attacks; }
+    public long getDodges() { return dodges; }
+    public long getSpells() { return spells; }
+    public double getDamageToMonsters() { return damageToMonsters; }
+    public double getDamageToHeroes() { return damageToHeroes; }
+    public long getMonstersDefeated() { return monstersDefeated; }
+    public long getHeroesFainted() { return heroesFainted; }
+    public long getLevelUps() { return levelUps; }
+    public double getGoldAwarded() { return goldAwarded; }
+    public long getItemsBroken() { return itemsBroken; }
+
+    @Override
+    public String toString() {
+        return String.format("%d attacks, %d dodges, %d spells, %.0f dealt, %.0f taken, %d defeated, %d fainted, %d level ups, %.0f gold",
+                attacks, dodges, spells, damageToMonsters, damageToHeroes, monstersDefeated, heroesFainted, levelUps, goldAwarded);
+    }
+}
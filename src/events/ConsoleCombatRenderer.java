@@ -0,0 +1,147 @@
+package events;
+
+import entities.Hero;
+import entities.Hero.HeroType;
+import entities.Monster;
+import entities.RPGCharacter;
+import items.Item;
+import items.Spell;
+import items.Spell.SpellType;
+import utils.ConsoleColors;
+
+/**
+ * Turns combat events back into the console text the games have always printed.
+ * Legends and Valor word some events differently, so the renderer is built for one of them.
+ * It is the only listener that formats text, so a bus without it costs no string work.
+ */
+public class ConsoleCombatRenderer implements CombatListener {
+
+    public enum Style { LEGENDS, VALOR }
+
+    private final Style style;
+
+    public ConsoleCombatRenderer(Style style) {
+        this.style = style;
+    }
+
+    @Override
+    public void onAttack(RPGCharacter attacker, RPGCharacter target, double damage) {
+        if (style == Style.VALOR) {
+            System.out.println(attacker.getName() + " dealt " + ConsoleColors.RED + String.format("%.0f", damage) + ConsoleColors.RESET + " damage!");
+        } else {
+            System.out.printf("%s attacks %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", attacker.getName(), target.getName(), damage);
+        }
+    }
+
+    @Override
+    public void onDodge(RPGCharacter attacker, RPGCharacter target, Spell spell) {
+        if (style == Style.VALOR) {
+            System.out.println(target.getName() + (spell == null ? " DODGED the attack!" : " DODGED the spell!"));
+        } else if (attacker instanceof Monster) {
+            System.out.println(target.getName() + " dodged " + attacker.getName() + "'s attack!");
+        } else {
+            System.out.println(target.getName() + " dodged the attack!");
+        }
+    }
+
+    @Override
+    public void onSpellCast(Hero caster, Spell spell, Monster target, double damage) {
+        System.out.printf("%s casts %s on %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n",
+                caster.getName(), spell.getName(), target.getName(), damage);
+    }
+
+    @Override
+    public void onSpellEffect(Monster target, SpellType type) {
+        String text;
+        String color;
+        switch (type) {
+            case ICE: text = "'s damage reduced by Ice!"; color = ConsoleColors.CYAN; break;
+            case FIRE: text = "'s defense melted by Fire!"; color = ConsoleColors.RED; break;
+            case LIGHTNING: text = "'s dodge reduced by Lightning!"; color = ConsoleColors.YELLOW; break;
+            default: return;
+        }
+        if (style == Style.VALOR) {
+            System.out.println(color + target.getName() + text + ConsoleColors.RESET);
+        } else {
+            System.out.println(target.getName() + text);
+        }
+    }
+
+    @Override
+    public void onMonsterDefeated(Hero hero, Monster monster) {
+        String text = (style == Style.VALOR) ? " was DEFEATED!" : " has been defeated!";
+        System.out.println(ConsoleColors.GREEN + monster.getName() + text + ConsoleColors.RESET);
+    }
+
+    @Override
+    public void onHeroFainted(Monster monster, Hero hero) {
+        System.out.println(ConsoleColors.RED + hero.getName() + " has fainted!" + ConsoleColors.RESET);
+    }
+
+    @Override
+    public void onLevelUp(Hero hero, int oldLevel, double oldHp, double oldMana,
+                          double oldStrength, double oldAgility, double oldDexterity) {
+        HeroType type = hero.getType();
+        System.out.println("\n" + ConsoleColors.GREEN + "LEVEL UP! " + hero.getName() + " (" + type + ") Level " + oldLevel + " -> " + hero.getLevel() + ConsoleColors.RESET);
+
+        // Show HP and MP first
+        System.out.printf("HP: " + ConsoleColors.GREEN + "%.0f -> %.0f" + ConsoleColors.RESET, oldHp, hero.getHp());
+        System.out.println();
+        System.out.printf("MP: " + ConsoleColors.BLUE + "%.0f -> %.0f" + ConsoleColors.RESET, oldMana, hero.getMana());
+        System.out.println();
+
+        // Show stats with favored ones colored
+        if (type == HeroType.WARRIOR || type == HeroType.PALADIN) {
+            System.out.printf("Strength: " + ConsoleColors.YELLOW + "%.0f -> %.0f" + ConsoleColors.RESET, oldStrength, hero.getStrength());
+        } else {
+            System.out.printf("Strength: %.0f -> %.0f", oldStrength, hero.getStrength());
+        }
+        System.out.println();
+
+        if (type == HeroType.WARRIOR || type == HeroType.SORCERER) {
+            System.out.printf("Agility: " + ConsoleColors.CYAN + "%.0f -> %.0f" + ConsoleColors.RESET, oldAgility, hero.getAgility());
+        } else {
+            System.out.printf("Agility: %.0f -> %.0f", oldAgility, hero.getAgility());
+        }
+        System.out.println();
+
+        if (type == HeroType.SORCERER || type == HeroType.PALADIN) {
+            System.out.printf("Dexterity: " + ConsoleColors.PURPLE + "%.0f -> %.0f" + ConsoleColors.RESET, oldDexterity, hero.getDexterity());
+        } else {
+            System.out.printf("Dexterity: %.0f -> %.0f", oldDexterity, hero.getDexterity());
+        }
+        System.out.println();
+        System.out.println();
+    }
+
+    @Override
+    public void onReward(Hero hero, double gold, int experience) {
+        if (style == Style.VALOR) {
+            System.out.println("Gained " + gold + " gold and " + experience + " XP.");
+        } else {
+            System.out.printf("%s gains " + ConsoleColors.YELLOW + "%.0f gold" + ConsoleColors.RESET + " and " + ConsoleColors.CYAN + "%d XP" + ConsoleColors.RESET + "\n",
+                    hero.getName(), gold, experience);
+        }
+    }
+
+    @Override
+    public void onRewardForfeited(Hero hero) {
+        System.out.printf("%s receives " + ConsoleColors.RED + "no rewards" + ConsoleColors.RESET + " (was fainted during battle)\n",
+                hero.getName());
+    }
+
+    @Override
+    public void onRegenerate(Hero hero, double hpGain, double manaGain) {
+        // Valor heals silently
+        if (style == Style.VALOR) return;
+        System.out.printf(ConsoleColors.CYAN + "%s" + ConsoleColors.RESET + " regains " +
+                ConsoleColors.RED + "%.1f HP" + ConsoleColors.RESET + " and " +
+                ConsoleColors.BLUE + "%.1f MP" + ConsoleColors.RESET + "\n",
+                hero.getName(), hpGain, manaGain);
+    }
+
+    @Override
+    public void onDurabilityBreak(Hero hero, Item item) {
+        System.out.println(ConsoleColors.RED + hero.getName() + "'s " + item.getName() + " has broken!" + ConsoleColors.RESET);
+    }
+}
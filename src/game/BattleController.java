@@ -1,19 +1,25 @@
 package game;
 
+import ai.BattleSolver;
+import ai.BattleState;
 import utils.ConsoleColors;
 import utils.GameDataLoader;
 import common.InputValidator;
 import common.RandomGenerator;
+import entities.EntityPool;
 import entities.Hero;
 import entities.Monster;
+import entities.MonsterTemplate;
 import entities.Party;
+import events.CombatEventBus;
+import events.ConsoleCombatRenderer;
 import items.*;
 import items.Spell.SpellType;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Controller responsible for managing turn-based combat.
@@ -21,89 +27,160 @@ import java.util.stream.Collectors;
  */
 public class BattleController {
 
-    private final List<Monster> monsterCatalog;
+    private final Supplier<List<MonsterTemplate>> monsterCatalog; // Read once per spawn
     private final RandomGenerator rng;
+    private EntityPool pool;
+    private final CombatEventBus events = new CombatEventBus();
 
-    public BattleController(List<Monster> monsterCatalog) {
+    // Scratch lists reused by every battle; only valid while a battle is running
+    private final List<Monster> enemies = new ArrayList<>();
+    private final List<Monster> alive = new ArrayList<>();
+    private final List<Hero> standingHeroes = new ArrayList<>();
+
+    // Combatants still standing, updated as they faint so end-of-battle checks are O(1)
+    private int aliveEnemies;
+    private int aliveHeroes;
+
+    // Created on first use, so players who never ask for advice never pay for the search tables
+    private BattleSolver solver;
+    private boolean autoBattle; // Set for the rest of a battle once the player hands it to the advisor
+    private int round; // Current round of the running battle; heroes owe upkeep for the rounds before it
+
+    public BattleController(List<MonsterTemplate> monsterCatalog) {
+        this(() -> monsterCatalog);
+    }
+
+    /**
+     * @param monsterCatalog Current monster catalog, e.g. from a LiveCatalog; each call must
+     *                       return a list that never changes afterwards.
+     */
+    public BattleController(Supplier<List<MonsterTemplate>> monsterCatalog) {
         this.monsterCatalog = monsterCatalog;
         this.rng = RandomGenerator.getInstance();
+        events.subscribe(new ConsoleCombatRenderer(ConsoleCombatRenderer.Style.LEGENDS));
+    }
+
+    /**
+     * @return The bus every combat event of this controller's battles is published on.
+     * The console renderer is subscribed by default; clear the bus to run battles silently.
+     */
+    public CombatEventBus getEvents() {
+        return events;
     }
 
-    public void startBattle(Scanner scanner, Party party) {
+    /**
+     * Recycles enemies through the given pool; they are released when their battle ends.
+     *
+     * @param pool Pool to draw from, or null (the default) to allocate every enemy.
+     */
+    public void setPool(EntityPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Runs one battle to completion.
+     *
+     * @return false if the player chose to quit the game mid-battle.
+     */
+    public boolean startBattle(Scanner scanner, Party party) {
         // Reset battle state for all heroes at the start of each battle
         for (Hero hero : party.getHeroes()) {
             hero.resetBattleState();
+            hero.stampUpkeep(0); // Upkeep is owed from the end of round 1
         }
         
-        List<Monster> enemies = spawnMonsters(party);
+        spawnMonsters(party);
+        autoBattle = false;
+        aliveEnemies = enemies.size();
+        aliveHeroes = 0;
+        for (Hero hero : party.getHeroes()) {
+            if (!hero.isFainted()) aliveHeroes++;
+        }
         System.out.println(ConsoleColors.RED + "\n*** Battle Started! Enemies approaching: ***" + ConsoleColors.RESET);
         for (Monster m : enemies) System.out.println("- " + m);
 
-        int round = 1;
-        boolean battleActive = true;
+        try {
+            round = 1;
+            boolean battleActive = true;
 
-        while (battleActive) {
-            System.out.println("\n" + ConsoleColors.YELLOW + "=== Round " + round + " ===" + ConsoleColors.RESET);
+            while (battleActive) {
+                System.out.println("\n" + ConsoleColors.YELLOW + "=== Round " + round + " ===" + ConsoleColors.RESET);
 
-            if (!processHeroesTurn(scanner, party, enemies)) {
-                battleActive = false;
-                break;
-            }
+                if (!processHeroesTurn(scanner, party, enemies)) {
+                    return false;
+                }
 
-            if (enemies.stream().allMatch(Monster::isFainted)) {
-                processVictory(party, enemies);
-                battleActive = false;
-                break;
-            }
+                if (aliveEnemies == 0) {
+                    settleUpkeep(party);
+                    processVictory(party, enemies);
+                    battleActive = false;
+                    break;
+                }
 
-            processMonstersTurn(party, enemies);
+                processMonstersTurn(party, enemies);
 
-            if (party.isPartyWipedOut()) {
-                System.out.println(ConsoleColors.RED + "The party has been defeated!" + ConsoleColors.RESET);
-                battleActive = false;
-                break;
-            }
+                if (aliveHeroes == 0) {
+                    System.out.println(ConsoleColors.RED + "The party has been defeated!" + ConsoleColors.RESET);
+                    battleActive = false;
+                    break;
+                }
 
-            performRegeneration(party);
-            round++;
+                round++;
+            }
+            return true;
+        } finally {
+            // Nothing outside the battle keeps a reference to its enemies
+            if (pool != null) {
+                for (Monster m : enemies) pool.releaseMonster(m);
+            }
+            enemies.clear();
+            alive.clear();
+            standingHeroes.clear();
         }
     }
 
-    private List<Monster> spawnMonsters(Party party) {
-        List<Monster> enemies = new ArrayList<>();
+    private void spawnMonsters(Party party) {
+        enemies.clear();
         int partySize = party.getSize();
 
         int targetLevel = party.getHeroes().stream()
                 .mapToInt(Hero::getLevel)
                 .max().orElse(1);
 
+        List<MonsterTemplate> catalog = monsterCatalog.get(); // One catalog for the whole encounter
         for (int i = 0; i < partySize; i++) {
-            Monster template = monsterCatalog.get(rng.nextInt(monsterCatalog.size()));
+            MonsterTemplate template = catalog.get(rng.nextInt(catalog.size()));
 
-            Monster monster = GameDataLoader.createMonsterFromTemplate(template, targetLevel);
+            Monster monster = GameDataLoader.createMonsterFromTemplate(template, targetLevel, GameDataLoader.getMonsterScaling(), pool);
             enemies.add(monster);
         }
-        return enemies;
     }
 
     private boolean processHeroesTurn(Scanner scanner, Party party, List<Monster> enemies) {
         for (Hero hero : party.getHeroes()) {
             if (hero.isFainted()) continue;
-            if (enemies.stream().allMatch(Monster::isFainted)) break;
+            if (aliveEnemies == 0) break;
 
+            settleUpkeep(hero);
             System.out.println("\nIt is " + ConsoleColors.PURPLE + hero.getName() + ConsoleColors.RESET + "'s turn.");
             displayHeroInfo(hero);
 
             boolean actionTaken = false;
             while (!actionTaken) {
+                if (autoBattle) {
+                    actionTaken = performAdvised(party, hero);
+                    continue;
+                }
                 System.out.println("1. Attack");
                 System.out.println("2. Cast Spell");
                 System.out.println("3. Use Potion");
                 System.out.println("4. Equip Gear");
                 System.out.println("5. Info");
                 System.out.println("6. Quit Game");
+                System.out.println("7. Ask Advisor");
+                System.out.println("8. Auto-Battle");
 
-                int choice = InputValidator.getValidInt(scanner, ConsoleColors.CYAN + "Action: " + ConsoleColors.RESET, 1, 6);
+                int choice = InputValidator.getValidInt(scanner, ConsoleColors.CYAN + "Action: " + ConsoleColors.RESET, 1, 8);
                 switch (choice) {
                     case 1: actionTaken = performAttack(scanner, hero, enemies); break;
                     case 2: actionTaken = performSpell(scanner, hero, enemies); break;
@@ -118,14 +195,12 @@ public class BattleController {
                         break;
                     case 5: showBattleInfo(party, enemies, hero); break;
                     case 6:
-                        if (promptRestart(scanner)) {
-                            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
-                            common.GameRunner.run();
-                        } else {
-                            System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
-                            System.exit(0);
-                        }
-                        return false;
+                        return false; // Quit: the game's end screen offers the way back to the menu
+                    case 7: showAdvice(party, hero); break;
+                    case 8:
+                        autoBattle = true;
+                        System.out.println(ConsoleColors.CYAN + "The advisor takes over for the rest of this battle." + ConsoleColors.RESET);
+                        break;
                 }
             }
         }
@@ -136,11 +211,16 @@ public class BattleController {
         Monster target = selectMonster(scanner, enemies);
         if (target == null) return false;
 
+        attack(hero, target);
+        return true;
+    }
+
+    private void attack(Hero hero, Monster target) {
         double monsterDodge = Math.min(0.20, target.getDodgeChance());
 
         if (rng.nextDouble() < monsterDodge) {
-            System.out.println(target.getName() + " dodged the attack!");
-            return true;
+            events.onDodge(hero, target, null);
+            return;
         }
 
         double weaponDmg = (hero.getEquippedWeapon() != null) ? hero.getEquippedWeapon().getDamage() : 0;
@@ -148,12 +228,19 @@ public class BattleController {
 
         double actualDamage = Math.max(0, rawDamage - (target.getDefense() * 0.05));
 
-        target.setHp(target.getHp() - actualDamage);
-        System.out.printf("%s attacks %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", hero.getName(), target.getName(), actualDamage);
+        damageEnemy(target, actualDamage);
+        events.onAttack(hero, target, actualDamage);
 
-        if (target.isFainted()) System.out.println(ConsoleColors.GREEN + target.getName() + " has been defeated!" + ConsoleColors.RESET);
+        if (target.isFainted()) events.onMonsterDefeated(hero, target);
+    }
 
-        return true;
+    /**
+     * Applies damage to an enemy and counts it out if this blow made it faint.
+     */
+    private void damageEnemy(Monster target, double damage) {
+        boolean wasStanding = !target.isFainted();
+        target.setHp(target.getHp() - damage);
+        if (wasStanding && target.isFainted()) aliveEnemies--;
     }
 
     private boolean performSpell(Scanner scanner, Hero hero, List<Monster> enemies) {
@@ -167,7 +254,8 @@ public class BattleController {
 
         System.out.println(ConsoleColors.WHITE_BOLD + "--- Spellbook ---" + ConsoleColors.RESET);
         for (int i = 0; i < spells.size(); i++) {
-            System.out.println((i + 1) + ". " + spells.get(i));
+            int held = hero.getInventory().getCount(spells.get(i));
+            System.out.println((i + 1) + ". " + spells.get(i) + (held > 1 ? " x" + held : ""));
         }
         System.out.println((spells.size() + 1) + ". Cancel");
 
@@ -183,27 +271,29 @@ public class BattleController {
         Monster target = selectMonster(scanner, enemies);
         if (target == null) return false;
 
+        castSpell(hero, spell, target);
+        return true;
+    }
+
+    private void castSpell(Hero hero, Spell spell, Monster target) {
         hero.setMana(hero.getMana() - spell.getManaCost());
 
         double damage = spell.getDamage() + ((hero.getDexterity() / 10000.0) * spell.getDamage());
-        target.setHp(target.getHp() - damage);
+        damageEnemy(target, damage);
 
         if (!target.isFainted()) {
             if (spell.getType() == SpellType.ICE) {
                 target.reduceDamage(target.getBaseDamage() * 0.1);
-                System.out.println(target.getName() + "'s damage reduced by Ice!");
             } else if (spell.getType() == SpellType.FIRE) {
                 target.reduceDefense(target.getDefense() * 0.1);
-                System.out.println(target.getName() + "'s defense melted by Fire!");
             } else if (spell.getType() == SpellType.LIGHTNING) {
                 target.reduceDodgeChance(target.getDodgeChance() * 0.1);
-                System.out.println(target.getName() + "'s dodge reduced by Lightning!");
             }
+            events.onSpellEffect(target, spell.getType());
         }
 
-        System.out.printf("%s casts %s on %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", hero.getName(), spell.getName(), target.getName(), damage);
+        events.onSpellCast(hero, spell, target, damage);
         hero.getInventory().removeItem(spell);
-        return true;
     }
 
     private boolean performPotion(Scanner scanner, Hero hero) {
@@ -216,15 +306,21 @@ public class BattleController {
         }
 
         System.out.println(ConsoleColors.WHITE_BOLD + "--- Potions ---" + ConsoleColors.RESET);
-        for(int i=0; i<potions.size(); i++) System.out.println((i+1) + ". " + potions.get(i));
+        for (int i = 0; i < potions.size(); i++) {
+            int held = hero.getInventory().getCount(potions.get(i));
+            System.out.println((i + 1) + ". " + potions.get(i) + (held > 1 ? " x" + held : ""));
+        }
         System.out.println((potions.size() + 1) + ". " + ConsoleColors.YELLOW + "Back" + ConsoleColors.RESET);
 
         int choice = InputValidator.getValidInt(scanner, ConsoleColors.CYAN + "Use Potion: " + ConsoleColors.RESET, 1, potions.size() + 1);
         if (choice > potions.size()) {
             return false; // Back option selected
         }
-        Potion potion = potions.get(choice - 1);
+        drinkPotion(hero, potions.get(choice - 1));
+        return false; // Potion use doesn't end turn - can still take another action
+    }
 
+    private void drinkPotion(Hero hero, Potion potion) {
         double val = potion.getAttributeIncrease();
         StringBuilder boostMessage = new StringBuilder();
         
@@ -253,8 +349,68 @@ public class BattleController {
         // Redisplay hero info after potion use
         System.out.println();
         displayHeroInfo(hero);
-        
-        return false; // Potion use doesn't end turn - can still take another action
+    }
+
+    /**
+     * Captures the battle at this hero's turn for the advisor, or returns null (after saying
+     * so) if the battle is too large for the advisor's model.
+     */
+    private BattleState captureForAdvice(Party party, Hero hero) {
+        if (party.getSize() > BattleState.MAX_HEROES || enemies.size() > BattleState.MAX_MONSTERS) {
+            System.out.println(ConsoleColors.YELLOW + "The advisor cannot read a battle this large." + ConsoleColors.RESET);
+            return null;
+        }
+        if (solver == null) solver = new BattleSolver();
+        settleUpkeep(party);
+        return BattleState.capture(party.getHeroes(), enemies, party.getHeroes().indexOf(hero));
+    }
+
+    private void showAdvice(Party party, Hero hero) {
+        BattleState state = captureForAdvice(party, hero);
+        if (state == null) return;
+        BattleSolver.Advice advice = solver.solve(state, BattleSolver.DEFAULT_BUDGET_NANOS);
+        System.out.printf(ConsoleColors.CYAN + "Advisor: %s" + ConsoleColors.RESET + " (looked %d moves ahead in %.0f ms)%n",
+                describe(state, advice.getMove(), hero), advice.getDepth(), advice.getNanos() / 1e6);
+    }
+
+    /**
+     * Plays the advisor's choice for this hero.
+     *
+     * @return true if the action ended the hero's turn, as the manual actions do.
+     */
+    private boolean performAdvised(Party party, Hero hero) {
+        BattleState state = captureForAdvice(party, hero);
+        if (state == null) {
+            autoBattle = false; // Hand the battle back to the player
+            return false;
+        }
+        int move = solver.solve(state, BattleSolver.DEFAULT_BUDGET_NANOS).getMove();
+        System.out.println(ConsoleColors.CYAN + "Advisor: " + describe(state, move, hero) + ConsoleColors.RESET);
+        int item = BattleState.moveItem(move);
+        switch (BattleState.moveKind(move)) {
+            case BattleState.SPELL:
+                castSpell(hero, hero.getInventory().getSpells().get(state.getSpellSlot(item)), enemies.get(BattleState.moveTarget(move)));
+                return true;
+            case BattleState.POTION:
+                drinkPotion(hero, hero.getInventory().getPotions().get(state.getPotionSlot(item)));
+                return false;
+            default:
+                attack(hero, enemies.get(BattleState.moveTarget(move)));
+                return true;
+        }
+    }
+
+    private String describe(BattleState state, int move, Hero hero) {
+        int item = BattleState.moveItem(move);
+        switch (BattleState.moveKind(move)) {
+            case BattleState.SPELL:
+                return "cast " + hero.getInventory().getSpells().get(state.getSpellSlot(item)).getName()
+                        + " on " + enemies.get(BattleState.moveTarget(move)).getName();
+            case BattleState.POTION:
+                return "drink " + hero.getInventory().getPotions().get(state.getPotionSlot(item)).getName();
+            default:
+                return "attack " + enemies.get(BattleState.moveTarget(move)).getName();
+        }
     }
 
     private boolean performEquip(Scanner scanner, Hero hero) {
@@ -365,21 +521,20 @@ public class BattleController {
     private void processMonstersTurn(Party party, List<Monster> enemies) {
         for (Monster monster : enemies) {
             if (monster.isFainted()) continue;
+            if (aliveHeroes == 0) break;
 
-            List<Hero> aliveHeroes = party.getHeroes().stream()
-                    .filter(h -> !h.isFainted())
-                    .collect(Collectors.toList());
-
-            if (aliveHeroes.isEmpty()) break;
-
-            Hero target = aliveHeroes.get(rng.nextInt(aliveHeroes.size()));
+            standingHeroes.clear();
+            for (Hero h : party.getHeroes()) {
+                if (!h.isFainted()) standingHeroes.add(h);
+            }
+            Hero target = standingHeroes.get(rng.nextInt(standingHeroes.size()));
 
             //  Hero Dodge Cap increased to 70% 
             double heroDodgeChance = target.getAgility() / (target.getAgility() + 1000.0);
             heroDodgeChance = Math.min(0.70, heroDodgeChance);
 
             if (rng.nextDouble() < heroDodgeChance) {
-                System.out.println(target.getName() + " dodged " + monster.getName() + "'s attack!");
+                events.onDodge(monster, target, null);
                 continue;
             }
 
@@ -393,57 +548,43 @@ public class BattleController {
             }
 
             target.setHp(target.getHp() - finalDmg);
-            System.out.printf("%s attacks %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", monster.getName(), target.getName(), finalDmg);
+            events.onAttack(monster, target, finalDmg);
 
             if (target.isFainted()) {
-                System.out.println(ConsoleColors.RED + target.getName() + " has fainted!" + ConsoleColors.RESET);
+                events.onHeroFainted(monster, target);
                 target.markFaintedInBattle();
+                aliveHeroes--;
             }
         }
-    }
 
-    private void performRegeneration(Party party) {
-        System.out.println(ConsoleColors.GREEN + "\n=== End of Round Regeneration ===" + ConsoleColors.RESET);
-        
-        boolean anyRegeneration = false;
+        // Armor worn out by this turn's hits comes off once every monster has struck
         for (Hero h : party.getHeroes()) {
-            if (!h.isFainted()) {
-                double oldHp = h.getHp();
-                double oldMana = h.getMana();
-                
-                h.setHp(h.getHp() * 1.1);
-                h.setMana(h.getMana() * 1.1);
-                
-                double hpGain = h.getHp() - oldHp;
-                double manaGain = h.getMana() - oldMana;
-                
-                System.out.printf(ConsoleColors.CYAN + "%s" + ConsoleColors.RESET + " regains " + 
-                        ConsoleColors.RED + "%.1f HP" + ConsoleColors.RESET + " and " + 
-                        ConsoleColors.BLUE + "%.1f MP" + ConsoleColors.RESET + "\n",
-                        h.getName(), hpGain, manaGain);
-                anyRegeneration = true;
-                
-                // Degrade equipped weapon durability
-                if (h.getEquippedWeapon() != null) {
-                    h.getEquippedWeapon().degrade();
-                    if (h.getEquippedWeapon().isBroken()) {
-                        System.out.println(ConsoleColors.RED + h.getName() + "'s " + h.getEquippedWeapon().getName() + " has broken!" + ConsoleColors.RESET);
-                        h.unequipWeapon(); // Auto-unequip broken weapon
-                    }
-                }
-                
-                // Check for broken armor at end of round
-                if (h.getEquippedArmor() != null && h.getEquippedArmor().isBroken()) {
-                    System.out.println(ConsoleColors.RED + h.getName() + "'s " + h.getEquippedArmor().getName() + " has broken!" + ConsoleColors.RESET);
-                    h.unequipArmor(); // Auto-unequip broken armor
-                }
+            if (!h.isFainted() && h.getEquippedArmor() != null && h.getEquippedArmor().isBroken()) {
+                events.onDurabilityBreak(h, h.getEquippedArmor());
+                h.unequipArmor(); // Auto-unequip broken armor
             }
         }
-        
-        if (!anyRegeneration) {
-            System.out.println(ConsoleColors.YELLOW + "No heroes available for regeneration." + ConsoleColors.RESET);
+    }
+
+    /**
+     * Applies the end-of-round regeneration and weapon wear a hero is owed for the rounds
+     * finished since it was last settled. Heroes are settled at the start of their turn and
+     * before anything reads the whole party, not at the end of every round.
+     */
+    private void settleUpkeep(Hero h) {
+        double oldHp = h.getHp();
+        double oldMana = h.getMana();
+        if (h.settleUpkeep(round - 1, true) == 0 || h.isFainted()) return;
+        events.onRegenerate(h, h.getHp() - oldHp, h.getMana() - oldMana);
+
+        if (h.getEquippedWeapon() != null && h.getEquippedWeapon().isBroken()) {
+            events.onDurabilityBreak(h, h.getEquippedWeapon());
+            h.unequipWeapon(); // Auto-unequip broken weapon
         }
-        System.out.println();
+    }
+
+    private void settleUpkeep(Party party) {
+        for (Hero h : party.getHeroes()) settleUpkeep(h);
     }
 
     private void processVictory(Party party, List<Monster> enemies) {
@@ -468,18 +609,19 @@ public class BattleController {
         for (Hero h : party.getHeroes()) {
             if (!h.wasFaintedInBattle()) {
                 h.addMoney(goldPerHero);
-                h.gainExperience(xpPerHero);
-                System.out.printf("%s gains " + ConsoleColors.YELLOW + "%.0f gold" + ConsoleColors.RESET + " and " + ConsoleColors.CYAN + "%d XP" + ConsoleColors.RESET + "\n", 
-                    h.getName(), goldPerHero, xpPerHero);
+                h.gainExperience(xpPerHero, events);
+                events.onReward(h, goldPerHero, xpPerHero);
             } else {
-                System.out.printf("%s receives " + ConsoleColors.RED + "no rewards" + ConsoleColors.RESET + " (was fainted during battle)\n", 
-                    h.getName());
+                events.onRewardForfeited(h);
             }
         }
     }
 
     private Monster selectMonster(Scanner scanner, List<Monster> enemies) {
-        List<Monster> alive = enemies.stream().filter(m -> !m.isFainted()).collect(Collectors.toList());
+        alive.clear();
+        for (Monster m : enemies) {
+            if (!m.isFainted()) alive.add(m);
+        }
         if (alive.isEmpty()) return null;
 
         System.out.println(ConsoleColors.CYAN + "Select Target:" + ConsoleColors.RESET);
@@ -497,6 +639,7 @@ public class BattleController {
     }
 
     private void showBattleInfo(Party party, List<Monster> enemies, Hero currentHero) {
+        settleUpkeep(party);
         System.out.println("\n" + ConsoleColors.WHITE_BOLD + "--- Battle Status ---" + ConsoleColors.RESET);
         System.out.println(ConsoleColors.PURPLE + "HEROES:" + ConsoleColors.RESET);
         party.getHeroes().forEach(System.out::println);
@@ -510,13 +653,6 @@ public class BattleController {
         displayHeroInfo(currentHero);
     }
     
-    private boolean promptRestart(Scanner scanner) {
-        String input = common.InputValidator.getValidOption(scanner, 
-            "\n" + utils.ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + utils.ConsoleColors.RESET, 
-            "y", "yes", "n", "no");
-        return input.equals("y") || input.equals("yes");
-    }
-    
     /**
      * Helper method to display hero information with HP, MP, and equipped items.
      * Shows boosted stats with highlighting when active.
@@ -1,5 +1,8 @@
 package game;
 
+import common.InputValidator;
+import utils.ConsoleColors;
+
 import java.util.Scanner;
 
 /**
@@ -15,8 +18,9 @@ public abstract class Game {
      * It is 'final' to prevent subclasses from altering the structural flow.
      *
      * @param scanner Shared scanner resource for input.
+     * @return true if the player wants to return to the main menu, false to leave.
      */
-    public final void play(Scanner scanner) {
+    public final boolean play(Scanner scanner) {
         System.out.println("Initializing Game Engine...");
 
         // Configuration & Setup
@@ -41,6 +45,21 @@ public abstract class Game {
 
         // Cleanup & Final Stats
         endGame();
+
+        // Hand control back to the caller instead of re-entering the menu from here,
+        // so this game and everything it loaded can be released
+        return playAgain(scanner);
+    }
+
+    private boolean playAgain(Scanner scanner) {
+        String input = InputValidator.getValidOption(scanner, "\n" + ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + ConsoleColors.RESET, "y", "yes", "n", "no");
+
+        if (input.equals("y") || input.equals("yes")) {
+            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
+            return true;
+        }
+        System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
+        return false;
     }
 
     // --- Abstract Hooks (To be implemented by LegendsGame) ---
@@ -5,17 +5,18 @@ import board.LegendsBoard;
 import common.InputValidator;
 import entities.Hero;
 import entities.Hero.HeroType;
-import entities.Monster;
-import entities.Monster.MonsterType;
+import entities.MonsterTemplate;
 import entities.Party;
+import events.CombatListener;
 import items.Item;
+import items.ItemStack;
 import items.Weapon;
 import items.Armor;
 import items.Potion;
 import items.Spell;
-import utils.GameDataLoader;
+import utils.AssetCatalog;
+import utils.LiveCatalog;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
@@ -30,6 +31,10 @@ public class LegendsGame extends Game {
     private boolean quitGame = false;
 
     private boolean skipNextRender = false;
+    private int turnCount; // Steps taken this session; markets restock by it
+
+    // Markets within this many steps of the party are stocked in the background on a level up
+    private static final int PREFETCH_RADIUS = 4;
 
     private MarketController marketController;
     private BattleController battleController;
@@ -37,27 +42,62 @@ public class LegendsGame extends Game {
     private List<Hero> availableWarriors;
     private List<Hero> availableSorcerers;
     private List<Hero> availablePaladins;
-    private List<Monster> allMonsters;
-
-
+    private List<MonsterTemplate> allMonsters;
+    private LiveCatalog liveCatalog; // Null unless data files are hot reloaded
+
+    /**
+     * @param liveCatalog Reloaded monsters and items, or null (the default) to read the data
+     *                    files once at the start of the game.
+     */
+    public void setLiveCatalog(LiveCatalog liveCatalog) {
+        this.liveCatalog = liveCatalog;
+    }
 
     @Override
     protected void initializeGame(Scanner scanner) {
         System.out.println(ConsoleColors.CYAN + "Loading Game Data..." + ConsoleColors.RESET);
-        loadAssets();
+        AssetCatalog assets = AssetCatalog.load();
+        loadAssets(assets);
+
+        if (liveCatalog != null) {
+            this.marketController = new MarketController(liveCatalog::items);
+            this.battleController = new BattleController(liveCatalog::monsters);
+        } else {
+            this.marketController = new MarketController(assets.items().join());
+            this.battleController = new BattleController(allMonsters);
+        }
 
-        this.marketController = new MarketController();
-        this.battleController = new BattleController(allMonsters);
+        // A level up changes every market's stock, so restock the nearby ones before the party arrives
+        battleController.getEvents().subscribe(new CombatListener() {
+            @Override
+            public void onLevelUp(Hero hero, int oldLevel, double oldHp, double oldMana,
+                                  double oldStrength, double oldAgility, double oldDexterity) {
+                prefetchNearbyMarkets();
+            }
+        });
 
         setupNewSession(scanner);
     }
 
+    private void prefetchNearbyMarkets() {
+        int highestLevel = party.getHeroes().stream().mapToInt(Hero::getLevel).max().orElse(1);
+        for (int row = party.getRow() - PREFETCH_RADIUS; row <= party.getRow() + PREFETCH_RADIUS; row++) {
+            for (int col = party.getCol() - PREFETCH_RADIUS; col <= party.getCol() + PREFETCH_RADIUS; col++) {
+                if (board.isValidCoordinate(row, col) && board.getCell(row, col).isMarket()) {
+                    marketController.prefetch(row, col, highestLevel);
+                }
+            }
+        }
+    }
+
     private void setupNewSession(Scanner scanner) {
         quitGame = false; // Reset quit flag for new session
+        turnCount = 0;
 
         System.out.println("\n" + ConsoleColors.YELLOW + "--- World Generation ---" + ConsoleColors.RESET);
         int boardSize = InputValidator.getValidInt(scanner, "Enter board size (4-20): ", 4, 20);
-        this.board = new LegendsBoard(boardSize);
+        this.board = LegendsBoard.obtain(boardSize);
+        LegendsBoard.prepare(boardSize); // Built while this session runs, ready for a replay at the same size
 
         System.out.println("\n" + ConsoleColors.YELLOW + "--- Hero Selection ---" + ConsoleColors.RESET);
         int partySize = InputValidator.getValidInt(scanner, "Enter party size (1-3): ", 1, 3);
@@ -77,15 +117,13 @@ public class LegendsGame extends Game {
         System.out.println(ConsoleColors.GREEN + "\nThe party enters the world..." + ConsoleColors.RESET);
     }
 
-    private void loadAssets() {
-        availableWarriors = GameDataLoader.loadHeroes("Warriors.txt", HeroType.WARRIOR);
-        availableSorcerers = GameDataLoader.loadHeroes("Sorcerers.txt", HeroType.SORCERER);
-        availablePaladins = GameDataLoader.loadHeroes("Paladins.txt", HeroType.PALADIN);
+    private void loadAssets(AssetCatalog assets) {
+        // All files are already being read in parallel; wait for the ones needed here
+        availableWarriors = assets.heroes(HeroType.WARRIOR).join();
+        availableSorcerers = assets.heroes(HeroType.SORCERER).join();
+        availablePaladins = assets.heroes(HeroType.PALADIN).join();
 
-        allMonsters = new ArrayList<>();
-        allMonsters.addAll(GameDataLoader.loadMonsters("Dragons.txt", MonsterType.DRAGON));
-        allMonsters.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", MonsterType.EXOSKELETON));
-        allMonsters.addAll(GameDataLoader.loadMonsters("Spirits.txt", MonsterType.SPIRIT));
+        allMonsters = assets.monsters().join();
 
         if (availableWarriors.isEmpty() && availableSorcerers.isEmpty() && availablePaladins.isEmpty()) {
             throw new RuntimeException("CRITICAL ERROR: No heroes could be loaded. Check data/ directory.");
@@ -191,6 +229,7 @@ public class LegendsGame extends Game {
         }
 
         party.setLocation(newRow, newCol);
+        turnCount++;
 
         if (targetCell.isCommon()) {
             checkForBattle(scanner);
@@ -200,7 +239,9 @@ public class LegendsGame extends Game {
     private void checkForBattle(Scanner scanner) {
         if (random.nextDouble() < 0.50) {
             System.out.println(ConsoleColors.RED + "\n*** AMBUSH! You have encountered monsters! ***" + ConsoleColors.RESET);
-            battleController.startBattle(scanner, party);
+            if (!battleController.startBattle(scanner, party)) {
+                quitGame = true; // Player quit from the battle menu
+            }
         }
     }
 
@@ -210,7 +251,7 @@ public class LegendsGame extends Game {
             System.out.println(ConsoleColors.YELLOW + "There is no market here." + ConsoleColors.RESET);
             return;
         }
-        marketController.enterMarketAtPosition(scanner, party, party.getRow(), party.getCol());
+        marketController.enterMarketAtPosition(scanner, party, party.getRow(), party.getCol(), turnCount);
     }
 
     private void showDetailedInfo(Scanner scanner) {
@@ -228,14 +269,15 @@ public class LegendsGame extends Game {
                              " | GOLD: " + ConsoleColors.YELLOW + (int)h.getMoney() + ConsoleColors.RESET + 
                              ConsoleColors.CYAN + " | XP: " + h.getExperience() + "/" + xpNeeded + ConsoleColors.RESET);
 
-            List<Item> items = h.getInventory().getItems();
+            List<ItemStack> items = h.getInventory().getStacks();
             if (items.isEmpty()) {
                 System.out.println(ConsoleColors.YELLOW + "Inventory: Empty" + ConsoleColors.RESET);
             } else {
-                System.out.println(ConsoleColors.CYAN + "Inventory (" + items.size() + " items):" + ConsoleColors.RESET);
-                for (Item item : items) {
+                System.out.println(ConsoleColors.CYAN + "Inventory (" + h.getInventory().getQuantity() + " items):" + ConsoleColors.RESET);
+                for (ItemStack stack : items) {
+                    Item item = stack.getItem();
                     String stats = extractItemStats(item);
-                    System.out.println("  - " + item.getName() + " (Lv" + item.getMinLevel() + ") " + stats);
+                    System.out.println("  - " + stack.getLabel() + " (Lv" + item.getMinLevel() + ") " + stats);
                 }
             }
         }
@@ -279,20 +321,5 @@ public class LegendsGame extends Game {
             System.out.println(ConsoleColors.WHITE_BOLD + "Final Status:" + ConsoleColors.RESET);
             printDashboard();
         }
-
-        // --- NEW: Restart Logic ---
-        Scanner scanner = new Scanner(System.in); // Use a fresh scanner or pass it down if possible
-        // Note: System.in should not be closed if we want to read again, but here we are at end of app lifecycle usually.
-
-        String input = InputValidator.getValidOption(scanner, "\n" + ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + ConsoleColors.RESET, "y", "yes", "n", "no");
-
-        if (input.equals("y") || input.equals("yes")) {
-            // Restart the entire application to go back to game selection
-            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
-            common.GameRunner.run();
-        } else {
-            System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
-            System.exit(0);
-        }
     }
 }
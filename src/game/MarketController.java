@@ -6,10 +6,13 @@ import common.RandomGenerator;
 import entities.Hero;
 import entities.Party;
 import items.*;
-import items.Spell.SpellType;
-import utils.GameDataLoader;
+import utils.AssetCatalog;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -18,30 +21,42 @@ import java.util.stream.Collectors;
  */
 public class MarketController {
 
-    private final List<Item> globalItemCatalog;
-    private Map<String, List<Item>> positionBasedInventories; // Cache inventories by position
+    private final Supplier<List<Item>> itemCatalog; // Read once per market visit, so a reload never lands mid-visit
+    // Daemon thread that stocks markets ahead of a visit; a pending prefetch never keeps the JVM alive
+    private static final ExecutorService PREFETCHER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "market-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Cache inventories by position and level. Only the game thread touches the map; prefetched
+    // entries are completed on the PREFETCHER thread.
+    private Map<String, CompletableFuture<List<Item>>> positionBasedInventories;
+    private List<Item> cachedFrom; // Catalog the cached inventories were drawn from
+    private final MarketPricing pricing = new MarketPricing(); // Stock and prices of the map's markets
     private int currentPage = 0;
     private final int itemsPerPage = 8;
 
     public MarketController() {
-        this.positionBasedInventories = new HashMap<>();
-        this.globalItemCatalog = new ArrayList<>();
-        initializeCatalog();
+        this(AssetCatalog.load().items().join());
+    }
+
+    /**
+     * @param itemCatalog Every item the markets may stock, typically from a game's AssetCatalog.
+     */
+    public MarketController(List<Item> itemCatalog) {
+        this(fixed(itemCatalog));
     }
 
     /**
-     * Loads all possible items into a master catalog.
-     * In a larger app, this might be injected rather than loaded here.
+     * @param itemCatalog Current item catalog, e.g. from a LiveCatalog; each call must return
+     *                    a list that never changes afterwards.
      */
-    private void initializeCatalog() {
-        globalItemCatalog.addAll(GameDataLoader.loadWeapons("Weaponry.txt"));
-        globalItemCatalog.addAll(GameDataLoader.loadArmor("Armory.txt"));
-        globalItemCatalog.addAll(GameDataLoader.loadPotions("Potions.txt"));
-        globalItemCatalog.addAll(GameDataLoader.loadSpells("FireSpells.txt", SpellType.FIRE));
-        globalItemCatalog.addAll(GameDataLoader.loadSpells("IceSpells.txt", SpellType.ICE));
-        globalItemCatalog.addAll(GameDataLoader.loadSpells("LightningSpells.txt", SpellType.LIGHTNING));
-
-        if (globalItemCatalog.isEmpty()) {
+    public MarketController(Supplier<List<Item>> itemCatalog) {
+        this.positionBasedInventories = new HashMap<>();
+        this.itemCatalog = itemCatalog;
+
+        if (itemCatalog.get().isEmpty()) {
             System.err.println("Warning: Market initialized with no items. Check data files.");
         }
     }
@@ -79,8 +94,11 @@ public class MarketController {
 
     /**
      * Position-based market for Legends game - inventory scales with highest level hero.
+     * Prices follow this market's stock, which has been restocking since the last visit.
+     *
+     * @param turn The game's turn clock, used to catch the market up on elapsed turns.
      */
-    public void enterMarketAtPosition(Scanner scanner, Party party, int row, int col) {
+    public void enterMarketAtPosition(Scanner scanner, Party party, int row, int col, int turn) {
         // Find highest level hero in party
         int highestLevel = party.getHeroes().stream()
                 .mapToInt(Hero::getLevel)
@@ -90,13 +108,47 @@ public class MarketController {
         String positionKey = row + "," + col + "," + highestLevel;
         Hero hero = party.getHeroes().get(0); // Assuming single hero for Legends
         
-        // Get or generate inventory for this position and level
+        // Get or generate inventory for this position and level; usually prefetched already
+        List<Item> catalog = currentCatalog();
         List<Item> marketInventory = positionBasedInventories.computeIfAbsent(
-            positionKey, k -> generateMarketInventoryForPosition(highestLevel, row, col)
-        );
+            positionKey, k -> CompletableFuture.completedFuture(generateMarketInventoryForPosition(catalog, highestLevel, row, col))
+        ).join();
         
+        MarketPricing.Stall stall = pricing.visit(row, col, turn, marketInventory);
+
         this.currentPage = 0; // Reset to first page
-        enterMarketWithPagination(scanner, hero, marketInventory);
+        enterMarketWithPagination(scanner, hero, marketInventory, stall);
+    }
+
+    /**
+     * Starts stocking the market at a cell for a party level on a background thread, so the
+     * next enterMarketAtPosition there is a cache hit. Does nothing if that stock is already
+     * cached or on its way. Call from the game thread.
+     *
+     * @param highestLevel Level of the party's highest level hero, as enterMarketAtPosition uses.
+     */
+    public void prefetch(int row, int col, int highestLevel) {
+        List<Item> catalog = currentCatalog();
+        positionBasedInventories.computeIfAbsent(row + "," + col + "," + highestLevel, k -> CompletableFuture.supplyAsync(
+                () -> generateMarketInventoryForPosition(catalog, highestLevel, row, col), PREFETCHER));
+    }
+
+    /**
+     * @return Whether stock for this market and level is generated and waiting.
+     */
+    public boolean isStocked(int row, int col, int highestLevel) {
+        CompletableFuture<List<Item>> stock = positionBasedInventories.get(row + "," + col + "," + highestLevel);
+        return stock != null && stock.isDone();
+    }
+
+    // A reloaded catalog restocks every market from the new data
+    private List<Item> currentCatalog() {
+        List<Item> catalog = itemCatalog.get();
+        if (catalog != cachedFrom) {
+            positionBasedInventories.clear();
+            cachedFrom = catalog;
+        }
+        return catalog;
     }
 
     /**
@@ -105,10 +157,13 @@ public class MarketController {
      */
     public void enterMarket(Scanner scanner, Hero hero) {
         List<Item> marketInventory = generateMarketInventoryForLevel(hero.getLevel());
-        enterMarketWithPagination(scanner, hero, marketInventory);
+        enterMarketWithPagination(scanner, hero, marketInventory, null);
     }
     
-    private void enterMarketWithPagination(Scanner scanner, Hero hero, List<Item> marketInventory) {
+    /**
+     * @param stall Stock and prices of this market, or null to trade at list prices.
+     */
+    private void enterMarketWithPagination(Scanner scanner, Hero hero, List<Item> marketInventory, MarketPricing.Stall stall) {
         boolean inMarket = true;
         while (inMarket) {
             System.out.println("\n" + ConsoleColors.YELLOW + "--- Market Menu ---" + ConsoleColors.RESET);
@@ -120,8 +175,8 @@ public class MarketController {
             int choice = InputValidator.getValidInt(scanner, "Choose action: ", 1, 3);
 
             switch (choice) {
-                case 1: buyLoopWithPagination(scanner, hero, marketInventory); break;
-                case 2: sellLoopSingleHero(scanner, hero); break;
+                case 1: buyLoopWithPagination(scanner, hero, marketInventory, stall); break;
+                case 2: sellLoopSingleHero(scanner, hero, stall); break;
                 case 3: inMarket = false; break;
             }
         }
@@ -129,6 +184,7 @@ public class MarketController {
     }
 
     private List<Item> generateMarketInventoryForLevel(int heroLevel) {
+        List<Item> globalItemCatalog = itemCatalog.get();
         List<Item> inventory = new ArrayList<>();
         if (globalItemCatalog.isEmpty()) return inventory;
 
@@ -157,7 +213,7 @@ public class MarketController {
         return inventory;
     }
     
-    private List<Item> generateMarketInventoryForPosition(int heroLevel, int row, int col) {
+    private List<Item> generateMarketInventoryForPosition(List<Item> globalItemCatalog, int heroLevel, int row, int col) {
         List<Item> inventory = new ArrayList<>();
         if (globalItemCatalog.isEmpty()) return inventory;
 
@@ -222,13 +278,13 @@ public class MarketController {
         buyLoopSingleHero(scanner, shopper, marketInventory);
     }
 
-    private void buyLoopWithPagination(Scanner scanner, Hero shopper, List<Item> marketInventory) {
+    private void buyLoopWithPagination(Scanner scanner, Hero shopper, List<Item> marketInventory, MarketPricing.Stall stall) {
         while (true) {
             List<Item> currentPageItems = getCurrentPageItems(marketInventory);
             int totalPages = (int) Math.ceil((double) marketInventory.size() / itemsPerPage);
             
             System.out.println("\n" + ConsoleColors.WHITE_BOLD + "--- Items for Sale (Page " + (currentPage + 1) + "/" + totalPages + ") (Shopper: " + shopper.getName() + " | Gold: " + ConsoleColors.YELLOW + shopper.getMoney() + ConsoleColors.RESET + ") ---" + ConsoleColors.RESET);
-            printItemTable(currentPageItems);
+            printItemTable(currentPageItems, stall);
             
             int optionNum = currentPageItems.size() + 1;
             if (currentPage > 0) {
@@ -245,7 +301,7 @@ public class MarketController {
             
             if (choice <= currentPageItems.size()) {
                 // Buying an item
-                buyItem(scanner, shopper, currentPageItems.get(choice - 1));
+                processPurchase(shopper, currentPageItems.get(choice - 1), stall);
             } else {
                 // Navigation options
                 int navChoice = choice - currentPageItems.size();
@@ -263,13 +319,13 @@ public class MarketController {
     private void buyLoopSingleHero(Scanner scanner, Hero shopper, List<Item> marketInventory) {
         while (true) {
             System.out.println("\n" + ConsoleColors.WHITE_BOLD + "--- Items for Sale (Shopper: " + shopper.getName() + " | Gold: " + ConsoleColors.YELLOW + shopper.getMoney() + ConsoleColors.RESET + ") ---" + ConsoleColors.RESET);
-            printItemTable(marketInventory);
+            printItemTable(marketInventory, null);
             System.out.println((marketInventory.size() + 1) + ". Back");
 
             int choice = InputValidator.getValidInt(scanner, "Select item to buy: ", 1, marketInventory.size() + 1);
             if (choice == marketInventory.size() + 1) break;
 
-            buyItem(scanner, shopper, marketInventory.get(choice - 1));
+            processPurchase(shopper, marketInventory.get(choice - 1), null);
         }
     }
     
@@ -279,25 +335,29 @@ public class MarketController {
         return allItems.subList(startIndex, endIndex);
     }
     
-    private void buyItem(Scanner scanner, Hero shopper, Item item) {
-        processPurchase(shopper, item);
-    }
-
-    private void processPurchase(Hero hero, Item item) {
+    private void processPurchase(Hero hero, Item item, MarketPricing.Stall stall) {
         // Rule: Hero cannot buy item if level is too low
         if (hero.getLevel() < item.getMinLevel()) {
             System.out.println(ConsoleColors.RED + "Cannot buy! Required Level: " + item.getMinLevel() + ConsoleColors.RESET);
             return;
         }
 
+        // Rule: Hero cannot buy what the market has run out of
+        if (stall != null && stall.getStock(item) < 1) {
+            System.out.println(ConsoleColors.RED + "Sold out! Come back later." + ConsoleColors.RESET);
+            return;
+        }
+
         // Rule: Hero cannot buy if insufficient gold
-        if (hero.getMoney() < item.getPrice()) {
-            System.out.println(ConsoleColors.RED + "Insufficient Gold! Cost: " + item.getPrice() + ConsoleColors.RESET);
+        double price = (stall != null) ? stall.buyPrice(item) : item.getPrice();
+        if (hero.getMoney() < price) {
+            System.out.println(ConsoleColors.RED + "Insufficient Gold! Cost: " + price + ConsoleColors.RESET);
             return;
         }
 
         // Transaction
-        hero.deductMoney(item.getPrice());
+        hero.deductMoney(price);
+        if (stall != null) stall.recordPurchase(item);
         hero.getInventory().addItem(item);
         System.out.println(ConsoleColors.GREEN + "Purchase successful! " + item.getName() + " added to inventory." + ConsoleColors.RESET);
     }
@@ -306,12 +366,12 @@ public class MarketController {
     private void sellLoop(Scanner scanner, Party party) {
         Hero seller = selectHero(scanner, party, "Who is selling?");
         if (seller == null) return;
-        sellLoopSingleHero(scanner, seller);
+        sellLoopSingleHero(scanner, seller, null);
     }
 
-    private void sellLoopSingleHero(Scanner scanner, Hero seller) {
+    private void sellLoopSingleHero(Scanner scanner, Hero seller, MarketPricing.Stall stall) {
         while (true) {
-            List<Item> sellableItems = seller.getInventory().getItems();
+            List<ItemStack> sellableItems = seller.getInventory().getStacks();
             if (sellableItems.isEmpty()) {
                 System.out.println(ConsoleColors.YELLOW + seller.getName() + " has nothing to sell." + ConsoleColors.RESET);
                 break;
@@ -319,22 +379,23 @@ public class MarketController {
 
             System.out.println("\n" + ConsoleColors.WHITE_BOLD + "--- Your Inventory (Seller: " + seller.getName() + ") ---" + ConsoleColors.RESET);
             // Show items with their resale value (50% of price)
-            printSellableItemTable(sellableItems);
+            printSellableItemTable(sellableItems, stall);
             System.out.println((sellableItems.size() + 1) + ". Back");
 
             int choice = InputValidator.getValidInt(scanner, "Select item to sell: ", 1, sellableItems.size() + 1);
             if (choice == sellableItems.size() + 1) break;
 
-            Item itemToSell = sellableItems.get(choice - 1);
-            processSale(seller, itemToSell);
+            Item itemToSell = sellableItems.get(choice - 1).getItem(); // One unit of the stack
+            processSale(seller, itemToSell, stall);
         }
     }
 
-    private void processSale(Hero hero, Item item) {
-        double resaleValue = item.getPrice() * 0.5;
+    private void processSale(Hero hero, Item item, MarketPricing.Stall stall) {
+        double resaleValue = (stall != null) ? stall.sellPrice(item) : item.getPrice() * 0.5;
 
         hero.getInventory().removeItem(item);
         hero.addMoney(resaleValue);
+        if (stall != null) stall.recordSale(item);
 
         System.out.println(ConsoleColors.GREEN + "Sold " + item.getName() + " for " + resaleValue + " gold." + ConsoleColors.RESET);
     }
@@ -354,7 +415,7 @@ public class MarketController {
     }
 
     // PRETTY TABLE PRINTING
-    private void printItemTable(List<Item> items) {
+    private void printItemTable(List<Item> items, MarketPricing.Stall stall) {
         System.out.println(ConsoleColors.CYAN + "+----+----------------------+-----+----------+--------------------------------+" + ConsoleColors.RESET);
         System.out.printf(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-2s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-20s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-3s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-8s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-30s " + ConsoleColors.CYAN + "|\n" + ConsoleColors.RESET, "ID", "NAME", "LVL", "COST", "TYPE / STATS");
         System.out.println(ConsoleColors.CYAN + "+----+----------------------+-----+----------+--------------------------------+" + ConsoleColors.RESET);
@@ -362,23 +423,29 @@ public class MarketController {
         for (int i = 0; i < items.size(); i++) {
             Item item = items.get(i);
             String stats = extractStats(item); // Helper to get simplified stats
-            System.out.printf(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-2d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-20s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-3d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " " + ConsoleColors.YELLOW + "%-8.0f" + ConsoleColors.RESET + " " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-30s " + ConsoleColors.CYAN + "|\n" + ConsoleColors.RESET,
-                    (i + 1), item.getName(), item.getMinLevel(), item.getPrice(), stats);
+            String cost;
+            if (stall == null) {
+                cost = String.format("%.0f", item.getPrice());
+            } else {
+                cost = (stall.getStock(item) < 1) ? "SOLD OUT" : String.format("%.0f", stall.buyPrice(item));
+            }
+            System.out.printf(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-2d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-20s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-3d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " " + ConsoleColors.YELLOW + "%-8s" + ConsoleColors.RESET + " " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-30s " + ConsoleColors.CYAN + "|\n" + ConsoleColors.RESET,
+                    (i + 1), item.getName(), item.getMinLevel(), cost, stats);
         }
         System.out.println(ConsoleColors.CYAN + "+----+----------------------+-----+----------+--------------------------------+" + ConsoleColors.RESET);
     }
 
-    private void printSellableItemTable(List<Item> items) {
+    private void printSellableItemTable(List<ItemStack> items, MarketPricing.Stall stall) {
         System.out.println(ConsoleColors.CYAN + "+----+----------------------+-----+----------+--------------------------------+" + ConsoleColors.RESET);
         System.out.printf(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-2s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-20s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-3s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-8s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-30s " + ConsoleColors.CYAN + "|\n" + ConsoleColors.RESET, "ID", "NAME", "LVL", "SELL", "TYPE / STATS");
         System.out.println(ConsoleColors.CYAN + "+----+----------------------+-----+----------+--------------------------------+" + ConsoleColors.RESET);
 
         for (int i = 0; i < items.size(); i++) {
-            Item item = items.get(i);
+            Item item = items.get(i).getItem();
             String stats = extractStats(item);
-            double sellPrice = item.getPrice() * 0.5;
+            double sellPrice = (stall != null) ? stall.sellPrice(item) : item.getPrice() * 0.5;
             System.out.printf(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-2d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-20s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-3d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " " + ConsoleColors.YELLOW + "%-8.0f" + ConsoleColors.RESET + " " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-30s " + ConsoleColors.CYAN + "|\n" + ConsoleColors.RESET,
-                    (i + 1), item.getName(), item.getMinLevel(), sellPrice, stats);
+                    (i + 1), items.get(i).getLabel(), item.getMinLevel(), sellPrice, stats);
         }
         System.out.println(ConsoleColors.CYAN + "+----+----------------------+-----+----------+--------------------------------+" + ConsoleColors.RESET);
     }
@@ -400,4 +467,10 @@ public class MarketController {
         }
         return "Item";
     }
+
+    // A catalog that never reloads: a private copy, so later changes to the caller's list do not leak in
+    private static Supplier<List<Item>> fixed(List<Item> itemCatalog) {
+        List<Item> copy = new ArrayList<>(itemCatalog);
+        return () -> copy;
+    }
 }
@@ -0,0 +1,147 @@
+package game;
+
+import items.Item;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Supply-driven prices for every market on a map.
+ *
+ * <p>Each market keeps a stock level per item it trades. Prices follow scarcity: at normal stock
+ * an item costs its list price, buying it out makes it dearer and selling the market a glut makes
+ * it cheaper. Between visits stock drifts back to normal by a fixed share of the gap per turn.</p>
+ *
+ * <p>Nothing is ticked globally. A market is created on its first visit, and each later visit
+ * applies all the turns since the last one in one closed-form step, so unvisited markets cost
+ * nothing and a visited one costs the same however long it was left alone.</p>
+ */
+public class MarketPricing {
+
+    /** Items on a market's offer list are normally this many deep. */
+    public static final int NORMAL_STOCK = 3;
+
+    /** Share of the gap between stock and normal stock closed every turn. */
+    public static final double RESTOCK_RATE = 0.05;
+
+    /** How strongly price follows scarcity: price ~ ((normal + 1) / (stock + 1))^ELASTICITY. */
+    public static final double ELASTICITY = 0.5;
+
+    /** Markets buy at this share of what they sell for, as before. */
+    public static final double RESALE_SHARE = 0.5;
+
+    private static final double MIN_FACTOR = 0.5;
+    private static final double MAX_FACTOR = 2.0;
+
+    private final Map<Long, Stall> stalls = new HashMap<>();
+
+    /**
+     * Brings the market at a cell up to date and makes sure it trades everything on its offer list.
+     *
+     * @param turn  The game's turn clock; must not run backwards.
+     * @param offer Items the market currently lists for sale.
+     */
+    public Stall visit(int row, int col, int turn, List<Item> offer) {
+        Stall stall = stalls.computeIfAbsent(((long) row << 32) | (col & 0xFFFFFFFFL), k -> new Stall(turn));
+        stall.catchUp(turn);
+        for (Item item : offer) stall.stock(item);
+        return stall;
+    }
+
+    /**
+     * @return Markets visited so far; every other market has no state at all.
+     */
+    public int size() {
+        return stalls.size();
+    }
+
+    /**
+     * One market's stock and prices. Items are tracked by name, since catalog entries are shared.
+     */
+    public static final class Stall {
+
+        // Stock is fractional so restocking can be applied in one step; whole units are for sale
+        private static final class Ledger {
+            double stock;
+            int normal;
+
+            Ledger(int normal) {
+                this.normal = normal;
+                this.stock = normal;
+            }
+        }
+
+        private final Map<String, Ledger> ledgers = new HashMap<>();
+        private int lastTurn;
+
+        private Stall(int turn) {
+            this.lastTurn = turn;
+        }
+
+        private void catchUp(int turn) {
+            int elapsed = turn - lastTurn;
+            if (elapsed <= 0) return;
+            lastTurn = turn;
+            double remaining = Math.pow(1 - RESTOCK_RATE, elapsed); // Share of each gap still open
+            Iterator<Ledger> it = ledgers.values().iterator();
+            while (it.hasNext()) {
+                Ledger ledger = it.next();
+                ledger.stock = ledger.normal + (ledger.stock - ledger.normal) * remaining;
+                // Items the market only took in trade are forgotten once they have sold off
+                if (ledger.normal == 0 && ledger.stock < 0.01) it.remove();
+            }
+        }
+
+        private void stock(Item item) {
+            Ledger ledger = ledgers.computeIfAbsent(item.getName(), k -> new Ledger(NORMAL_STOCK));
+            if (ledger.normal < NORMAL_STOCK) {
+                // Taken in trade before it was on the list: the usual stock arrives on top
+                ledger.stock += NORMAL_STOCK - ledger.normal;
+                ledger.normal = NORMAL_STOCK;
+            }
+        }
+
+        /**
+         * @return Whole units of the item for sale here.
+         */
+        public int getStock(Item item) {
+            Ledger ledger = ledgers.get(item.getName());
+            return (ledger == null) ? 0 : (int) Math.floor(ledger.stock + 1e-9);
+        }
+
+        /**
+         * @return What the market charges now, in whole gold.
+         */
+        public double buyPrice(Item item) {
+            return Math.round(item.getPrice() * factor(item));
+        }
+
+        /**
+         * @return What the market pays for the item now, in whole gold.
+         */
+        public double sellPrice(Item item) {
+            return Math.round(item.getPrice() * RESALE_SHARE * factor(item));
+        }
+
+        /**
+         * Takes one unit off the shelf; the caller checks getStock first.
+         */
+        public void recordPurchase(Item item) {
+            Ledger ledger = ledgers.get(item.getName());
+            if (ledger != null) ledger.stock = Math.max(0, ledger.stock - 1);
+        }
+
+        public void recordSale(Item item) {
+            ledgers.computeIfAbsent(item.getName(), k -> new Ledger(0)).stock += 1;
+        }
+
+        private double factor(Item item) {
+            Ledger ledger = ledgers.get(item.getName());
+            if (ledger == null) return 1; // Never traded here: list price
+            double factor = Math.pow((ledger.normal + 1) / (ledger.stock + 1), ELASTICITY);
+            return Math.max(MIN_FACTOR, Math.min(MAX_FACTOR, factor));
+        }
+    }
+}
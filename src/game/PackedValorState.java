@@ -0,0 +1,186 @@
+package game;
+
+import board.CellType;
+import board.ValorBoard;
+import entities.Hero;
+import entities.Monster;
+import utils.FixedPoint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A whole Valor game state in three primitive arrays: terrain per cell, one int record per hero
+ * and one per monster, with every stat in FixedPoint units. Equality and hashing are exact, a
+ * copy is three array clones, and copyFrom reuses buffers so a search can keep one scratch
+ * state per depth.
+ *
+ * <p>Snapshots of a game running with setFixedPoint(true) are lossless. Without it, stats are
+ * rounded to the nearest thousandth on capture, which is still the right granularity for
+ * comparing states but is not an exact image of the doubles.</p>
+ */
+public final class PackedValorState {
+
+    // Hero record layout
+    public static final int H_ROW = 0;
+    public static final int H_COL = 1;
+    public static final int H_LANE = 2;
+    public static final int H_LEVEL = 3;
+    public static final int H_EXPERIENCE = 4;
+    public static final int H_HP = 5;
+    public static final int H_MANA = 6;
+    public static final int H_STRENGTH = 7;
+    public static final int H_AGILITY = 8;
+    public static final int H_DEXTERITY = 9;
+    public static final int H_MONEY = 10;
+    public static final int HERO_FIELDS = 11;
+
+    // Monster record layout; monsters are stored lane by lane in spawn order
+    public static final int M_LANE = 0;
+    public static final int M_ROW = 1;
+    public static final int M_COL = 2;
+    public static final int M_LEVEL = 3;
+    public static final int M_HP = 4;
+    public static final int M_DAMAGE = 5;
+    public static final int M_DEFENSE = 6;
+    public static final int M_DODGE = 7; // As Monster stores it: getDodgeChance() * 100, a hundredth of the data file value
+    public static final int MONSTER_FIELDS = 8;
+
+    private static final CellType[] CELL_TYPES = CellType.values();
+
+    private int round;
+    private byte[] terrain;
+    private int[] heroes;
+    private int[] monsters;
+
+    private PackedValorState(int round, byte[] terrain, int[] heroes, int[] monsters) {
+        this.round = round;
+        this.terrain = terrain;
+        this.heroes = heroes;
+        this.monsters = monsters;
+    }
+
+    /**
+     * Packs a running game. Called through ValorGame.snapshot().
+     */
+    static PackedValorState capture(int round, ValorBoard board, List<Hero> party, List<List<Monster>> laneMonsters) {
+        int cellCount = board.getHeight() * board.getWidth();
+        byte[] terrain = new byte[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            terrain[i] = (byte) board.getCell(i).getType().ordinal();
+        }
+
+        int[] heroes = new int[party.size() * HERO_FIELDS];
+        for (int i = 0; i < party.size(); i++) {
+            Hero h = party.get(i);
+            int base = i * HERO_FIELDS;
+            heroes[base + H_ROW] = h.getRow();
+            heroes[base + H_COL] = h.getCol();
+            heroes[base + H_LANE] = h.getLane();
+            heroes[base + H_LEVEL] = h.getLevel();
+            heroes[base + H_EXPERIENCE] = h.getExperience();
+            heroes[base + H_HP] = FixedPoint.of(h.getHp());
+            heroes[base + H_MANA] = FixedPoint.of(h.getMana());
+            heroes[base + H_STRENGTH] = FixedPoint.of(h.getBaseStrength());
+            heroes[base + H_AGILITY] = FixedPoint.of(h.getBaseAgility());
+            heroes[base + H_DEXTERITY] = FixedPoint.of(h.getBaseDexterity());
+            heroes[base + H_MONEY] = FixedPoint.of(h.getMoney());
+        }
+
+        int monsterCount = 0;
+        for (List<Monster> lane : laneMonsters) monsterCount += lane.size();
+        int[] monsters = new int[monsterCount * MONSTER_FIELDS];
+        int base = 0;
+        for (List<Monster> lane : laneMonsters) {
+            for (Monster m : lane) {
+                monsters[base + M_LANE] = m.getLane();
+                monsters[base + M_ROW] = m.getRow();
+                monsters[base + M_COL] = m.getCol();
+                monsters[base + M_LEVEL] = m.getLevel();
+                monsters[base + M_HP] = FixedPoint.of(m.getHp());
+                monsters[base + M_DAMAGE] = FixedPoint.of(m.getBaseDamage());
+                monsters[base + M_DEFENSE] = FixedPoint.of(m.getDefense());
+                monsters[base + M_DODGE] = FixedPoint.of(m.getDodgeChance() * 100);
+                base += MONSTER_FIELDS;
+            }
+        }
+        return new PackedValorState(round, terrain, heroes, monsters);
+    }
+
+    /**
+     * @return An independent copy of this state.
+     */
+    public PackedValorState copy() {
+        return new PackedValorState(round, terrain.clone(), heroes.clone(), monsters.clone());
+    }
+
+    /**
+     * Overwrites this state with another, reusing this state's arrays when their lengths match.
+     */
+    public void copyFrom(PackedValorState other) {
+        round = other.round;
+        terrain = copyInto(other.terrain, terrain);
+        heroes = copyInto(other.heroes, heroes);
+        monsters = copyInto(other.monsters, monsters);
+    }
+
+    private static byte[] copyInto(byte[] src, byte[] dst) {
+        if (dst.length != src.length) return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        return dst;
+    }
+
+    private static int[] copyInto(int[] src, int[] dst) {
+        if (dst.length != src.length) return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        return dst;
+    }
+
+    public int getRound() { return round; }
+    public void setRound(int round) { this.round = round; }
+
+    public int getCellCount() { return terrain.length; }
+    public CellType getTerrain(int cell) { return CELL_TYPES[terrain[cell]]; }
+    public void setTerrain(int cell, CellType type) { terrain[cell] = (byte) type.ordinal(); }
+
+    public int getHeroCount() { return heroes.length / HERO_FIELDS; }
+    public int getHero(int hero, int field) { return heroes[hero * HERO_FIELDS + field]; }
+    public void setHero(int hero, int field, int value) { heroes[hero * HERO_FIELDS + field] = value; }
+
+    public int getMonsterCount() { return monsters.length / MONSTER_FIELDS; }
+    public int getMonster(int monster, int field) { return monsters[monster * MONSTER_FIELDS + field]; }
+    public void setMonster(int monster, int field, int value) { monsters[monster * MONSTER_FIELDS + field] = value; }
+
+    /**
+     * @return Bytes held by the three arrays, excluding object headers.
+     */
+    public int getPackedSize() {
+        return terrain.length + (heroes.length + monsters.length) * Integer.BYTES;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PackedValorState)) return false;
+        PackedValorState other = (PackedValorState) o;
+        return round == other.round
+                && Arrays.equals(heroes, other.heroes)
+                && Arrays.equals(monsters, other.monsters)
+                && Arrays.equals(terrain, other.terrain);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = round;
+        h = 31 * h + Arrays.hashCode(heroes);
+        h = 31 * h + Arrays.hashCode(monsters);
+        h = 31 * h + Arrays.hashCode(terrain);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Round %d: %d heroes, %d monsters, %d cells (%d bytes packed)",
+                round, getHeroCount(), getMonsterCount(), getCellCount(), getPackedSize());
+    }
+}
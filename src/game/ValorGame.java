@@ -2,82 +2,290 @@ package game;
 
 import board.Cell;
 import board.CellType;
+import board.NeighbourTable;
 import board.ValorBoard;
+import board.ValorLayout;
+import board.ZobristKeys;
 import utils.ConsoleColors;
 import common.InputValidator;
+import entities.EntityPool;
 import entities.Hero;
 import entities.Monster;
+import entities.MonsterTemplate;
 import entities.Party;
+import events.CombatEventBus;
+import events.ConsoleCombatRenderer;
 import items.Potion;
 import items.Spell;
 import items.Spell.SpellType;
+import utils.AssetCatalog;
 import utils.GameDataLoader;
+import utils.LiveCatalog;
+import utils.MonsterScaling;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 /**
  * The main game engine for "Legends of Valor".
  * Rules:
- * - 8x8 Grid, 3 Lanes.
+ * - Grid and lanes come from a ValorLayout (8x8 with 3 lanes by default).
  * - Heroes win by reaching Row 0 (Monster Nexus).
- * - Monsters win by reaching Row 7 (Hero Nexus).
- * - Heroes spawn at Row 7; Monsters spawn at Row 0.
+ * - Monsters win by reaching the bottom row (Hero Nexus, Row 7 by default).
+ * - Heroes spawn on the bottom row; Monsters spawn at Row 0, one of each per lane.
  * - A round consists of Hero Turns -> Monster Turns -> Regeneration.
  */
 public class ValorGame extends Game {
 
+    /**
+     * Result of a headless match.
+     */
+    public enum Outcome {
+        VICTORY, DEFEAT, TIMEOUT
+    }
+
+    // Below this many live monsters per lane, forking a lane task costs more than the march itself
+    private static final int PARALLEL_MIN_MONSTERS_PER_LANE = 64;
+
+    private final Random random;
+    private MonsterScaling scaling;
+    private ValorLayout layout;
+    private EntityPool pool;
+    private ForkJoinPool laneExecutor;
+    private boolean verbose = true;
+    private boolean fixedPoint;
+    private final CombatEventBus events = new CombatEventBus();
     private ValorBoard board;
     private Party party;
-    private List<Monster> activeMonsters;
-    private List<Monster> monsterCatalog;
+    private List<List<Monster>> laneMonsters; // Live monsters of each lane, in spawn order
+    private final List<Monster> spawnOrder = new ArrayList<>(); // The same monsters across all lanes, in spawn order
+    private LaneLog[] laneLogs; // What each lane did during the current monster phase
+
+    // Nexus occupancy, kept up to date on every move so the end-of-game check is O(1)
+    private long stateKey; // Zobrist key of the current state, updated by every mutation
+    private int heroesAtMonsterNexus;
+    private int monstersAtHeroNexus;
+    private Supplier<List<MonsterTemplate>> monsterCatalog; // Read once per spawn wave
+    private LiveCatalog liveCatalog; // Null unless data files are hot reloaded
     private MarketController marketController;
+    private final Monster[] targets = new Monster[NeighbourTable.MAX_RANGE]; // Filled by monstersInRange
 
     private int roundCount;
     private boolean quitGame;
+    private Outcome outcome;
+
+    public ValorGame() {
+        this(new Random());
+    }
+
+    /**
+     * @param random Source for terrain, spawns and dodge rolls; seed it for reproducible matches.
+     */
+    public ValorGame(Random random) {
+        this(random, GameDataLoader.getValorLayout());
+    }
+
+    /**
+     * @param layout Map to play on; the party holds one hero per lane.
+     */
+    public ValorGame(Random random, ValorLayout layout) {
+        this.random = random;
+        this.scaling = GameDataLoader.getMonsterScaling();
+        this.layout = layout;
+        events.subscribe(new ConsoleCombatRenderer(ConsoleCombatRenderer.Style.VALOR));
+    }
+
+    /**
+     * Overrides the monster scaling constants (damage, defense, dodge cap, spawn interval)
+     * used by later spawns; the balancer swaps candidates in between simulated matches.
+     */
+    public void setScaling(MonsterScaling scaling) {
+        this.scaling = scaling;
+        if (board != null) stateKey = computeStateKey(); // The round phase depends on the spawn interval
+    }
+
+    /**
+     * Switches the map used from the next match on (headless matches rebuild the board when it changes).
+     */
+    public void setLayout(ValorLayout layout) {
+        this.layout = layout;
+    }
+
+    public ValorLayout getLayout() { return layout; }
+
+    /**
+     * Runs the monster phase with one task per lane on the given pool once the lanes are
+     * crowded enough to pay for it. Lanes are walled off from each other, so the board ends
+     * up exactly as with sequential play; moves are still printed afterwards on the calling
+     * thread, in spawn order.
+     *
+     * @param executor Pool for lane tasks, or null (the default) to advance monsters one by one.
+     */
+    public void setLaneExecutor(ForkJoinPool executor) {
+        this.laneExecutor = executor;
+    }
+
+    /**
+     * @param verbose false skips the per-monster "moved South" lines, which otherwise
+     *                dominate the monster phase of headless matches on large maps.
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * @param fixedPoint true rounds every hero and monster stat onto the FixedPoint grid after
+     *                   each hero turn and at the end of each round, so snapshot() is lossless
+     *                   and equal states compare equal. Off by default; it changes results in
+     *                   the last decimals, so seeded matches differ from unrounded play.
+     */
+    public void setFixedPoint(boolean fixedPoint) {
+        this.fixedPoint = fixedPoint;
+    }
+
+    /**
+     * @param liveCatalog Reloaded monsters and items for play(), or null (the default) to read
+     *                    the data files once at the start of the game.
+     */
+    public void setLiveCatalog(LiveCatalog liveCatalog) {
+        this.liveCatalog = liveCatalog;
+    }
+
+    /**
+     * Settles the regeneration heroes are owed first, so the packed HP and mana are current.
+     *
+     * @return The current round, terrain, heroes and monsters packed into primitive arrays.
+     */
+    public PackedValorState snapshot() {
+        settleUpkeep(roundCount - 1);
+        return PackedValorState.capture(roundCount, board, party.getHeroes(), laneMonsters);
+    }
+
+    /**
+     * @return Zobrist key of the current state: hero and monster positions, monster HP buckets,
+     * standing obstacles and the round's place in the spawn cycle. Kept current incrementally,
+     * so reading it is O(1); equal states always have equal keys.
+     */
+    public long getStateKey() {
+        return stateKey;
+    }
+
+    /**
+     * Hashes the current state from scratch. Always equal to getStateKey(); used on setup and
+     * to verify the incremental updates.
+     */
+    public long computeStateKey() {
+        ZobristKeys keys = board.getZobrist();
+        NeighbourTable table = board.getNeighbours();
+        long key = keys.phase(roundCount % scaling.getSpawnInterval());
+        for (int cell = 0; cell < board.getHeight() * board.getWidth(); cell++) {
+            if (board.getCell(cell).getType() == CellType.OBSTACLE) key ^= keys.obstacle(cell);
+        }
+        List<Hero> heroes = party.getHeroes();
+        for (int slot = 0; slot < heroes.size(); slot++) {
+            Hero h = heroes.get(slot);
+            key ^= keys.hero(slot, table.indexOf(h.getRow(), h.getCol()));
+        }
+        for (List<Monster> lane : laneMonsters) {
+            for (Monster m : lane) key ^= monsterKey(m);
+        }
+        return key;
+    }
+
+    private long monsterKey(Monster m) {
+        int cell = board.getNeighbours().indexOf(m.getRow(), m.getCol());
+        return board.getZobrist().monster(cell, ZobristKeys.hpBucket(m.getHp(), m.getMaxHp()));
+    }
+
+    // Key change of a monster that has just stepped one row south
+    private long stepKey(Monster m) {
+        int from = board.getNeighbours().indexOf(m.getRow() - 1, m.getCol());
+        return monsterKey(m) ^ board.getZobrist().monster(from, ZobristKeys.hpBucket(m.getHp(), m.getMaxHp()));
+    }
+
+    /**
+     * @return The bus every attack, defeat, reward and level up of this game is published on.
+     * The console renderer is subscribed by default; clear the bus to skip combat text entirely.
+     */
+    public CombatEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * @return Read-only view of one lane's live monsters in spawn order (furthest south first).
+     */
+    public List<Monster> getMonsters(int lane) {
+        return Collections.unmodifiableList(laneMonsters.get(lane));
+    }
+
+    /**
+     * Recycles spawned monsters through the given pool instead of allocating new ones.
+     * Defeated monsters go back to the pool as soon as they leave the board.
+     *
+     * @param pool Per-thread pool, or null (the default) to allocate every spawn.
+     */
+    public void setPool(EntityPool pool) {
+        this.pool = pool;
+    }
 
     @Override
     protected void initializeGame(Scanner scanner) {
         System.out.println(ConsoleColors.CYAN + "Initializing Legends of Valor..." + ConsoleColors.RESET);
 
-        // 1. Load Assets
-        this.monsterCatalog = new ArrayList<>();
-        this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Dragons.txt", Monster.MonsterType.DRAGON));
-        this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", Monster.MonsterType.EXOSKELETON));
-        this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Spirits.txt", Monster.MonsterType.SPIRIT));
+        // 1. Load Assets (every data file is read concurrently)
+        AssetCatalog assets = AssetCatalog.load();
+        if (liveCatalog != null) {
+            this.monsterCatalog = liveCatalog::monsters;
+        } else {
+            List<MonsterTemplate> monsters = assets.monsters().join();
+            this.monsterCatalog = () -> monsters;
+        }
 
         // 2. Setup Board
-        this.board = new ValorBoard();
-        this.activeMonsters = new ArrayList<>();
+        this.board = new ValorBoard(random, layout);
+        resetMonsters();
+        this.heroesAtMonsterNexus = 0;
+        this.monstersAtHeroNexus = 0;
         this.roundCount = 1;
         this.quitGame = false;
-        this.marketController = new MarketController();
+        this.marketController = (liveCatalog != null)
+                ? new MarketController(liveCatalog::items)
+                : new MarketController(assets.items().join());
 
         // 3. Setup Party
-        setupParty(scanner);
+        setupParty(scanner, assets);
 
         // 4. Initial Spawn
         spawnHeroes();
         spawnMonsters();
+        if (fixedPoint) snapStats();
+        stateKey = computeStateKey();
 
         System.out.println(ConsoleColors.GREEN + "\nThe battle for the Nexus begins!" + ConsoleColors.RESET);
     }
 
-    private void setupParty(Scanner scanner) {
-        this.party = new Party();
+    private void setupParty(Scanner scanner, AssetCatalog assets) {
+        this.party = new Party(layout.getLanes());
+        int size = party.getCapacity();
 
-        // Load heroes by class
-        List<Hero> availableWarriors = GameDataLoader.loadHeroes("Warriors.txt", Hero.HeroType.WARRIOR);
-        List<Hero> availableSorcerers = GameDataLoader.loadHeroes("Sorcerers.txt", Hero.HeroType.SORCERER);
-        List<Hero> availablePaladins = GameDataLoader.loadHeroes("Paladins.txt", Hero.HeroType.PALADIN);
+        // Heroes by class
+        List<Hero> availableWarriors = assets.heroes(Hero.HeroType.WARRIOR).join();
+        List<Hero> availableSorcerers = assets.heroes(Hero.HeroType.SORCERER).join();
+        List<Hero> availablePaladins = assets.heroes(Hero.HeroType.PALADIN).join();
 
         System.out.println("\n" + ConsoleColors.YELLOW + "=== RECRUIT YOUR TEAM ===" + ConsoleColors.RESET);
-        System.out.println("You must select 3 Heroes to defend the Nexus.");
+        System.out.println("You must select " + size + " Heroes to defend the Nexus.");
 
-        while (party.getHeroes().size() < 3) {
-            System.out.println("\n" + ConsoleColors.WHITE_BOLD + "Party Size: " + party.getHeroes().size() + "/3" + ConsoleColors.RESET);
+        while (party.getHeroes().size() < size) {
+            System.out.println("\n" + ConsoleColors.WHITE_BOLD + "Party Size: " + party.getHeroes().size() + "/" + size + ConsoleColors.RESET);
             
             System.out.println("\nSelect Hero #" + (party.getHeroes().size() + 1) + ":");
             Hero selectedHero = selectHeroByClass(scanner, availableWarriors, availableSorcerers, availablePaladins);
@@ -85,7 +293,7 @@ public class ValorGame extends Game {
                 return; // User quit
             }
 
-            // Assign a unique lane to each hero as they are picked (0, 1, or 2)
+            // Assign a unique lane to each hero as they are picked (0, 1, 2, ...)
             selectedHero.setLane(party.getHeroes().size());
             party.addHero(selectedHero);
 
@@ -130,44 +338,100 @@ public class ValorGame extends Game {
 
     private void spawnHeroes() {
         List<Hero> heroes = party.getHeroes();
-        int[] laneSpawns = {0, 3, 6}; // Left side of Top, Mid, Bot lanes
 
         for (int i = 0; i < heroes.size(); i++) {
-            if (i >= 3) break;
+            if (i >= layout.getLanes()) break;
             Hero h = heroes.get(i);
-            int r = 7;
-            int c = laneSpawns[i];
+            int r = layout.getHeroNexusRow();
+            int c = layout.laneLeftColumn(i); // Left side of each lane
 
+            // Heroes start on their own Nexus, so no occupancy count changes here
             h.setPosition(r, c);
             h.setLane(i); // Ensure lane ID matches column
+            h.stampUpkeep(roundCount - 1); // Upkeep is owed from the current round
             board.getCell(r, c).setHero(h);
         }
     }
 
+    /**
+     * Moves a hero to another cell, keeping the Monster Nexus occupancy count and state key in step.
+     */
+    private void relocateHero(Hero hero, int row, int col) {
+        int monsterNexus = layout.getMonsterNexusRow();
+        NeighbourTable table = board.getNeighbours();
+        int slot = party.getHeroes().indexOf(hero);
+        stateKey ^= board.getZobrist().hero(slot, table.indexOf(hero.getRow(), hero.getCol()))
+                ^ board.getZobrist().hero(slot, table.indexOf(row, col));
+        board.getCell(hero.getRow(), hero.getCol()).removeHero();
+        if (hero.getRow() == monsterNexus) heroesAtMonsterNexus--;
+        hero.setPosition(row, col);
+        board.getCell(row, col).setHero(hero);
+        if (row == monsterNexus) heroesAtMonsterNexus++;
+    }
+
     private void spawnMonsters() {
         int highestHeroLvl = party.getHeroes().stream().mapToInt(Hero::getLevel).max().orElse(1);
-        int[] laneSpawns = {1, 4, 7}; // Right side of Top, Mid, Bot lanes
 
         System.out.println(ConsoleColors.RED + "*** Reinforcements! New Monsters have entered the Nexus! ***" + ConsoleColors.RESET);
+        List<MonsterTemplate> catalog = monsterCatalog.get(); // One catalog for the whole wave
 
-        for (int i = 0; i < 3; i++) {
-            Cell spawnCell = board.getCell(0, laneSpawns[i]);
+        for (int i = 0; i < layout.getLanes(); i++) {
+            int row = layout.getMonsterNexusRow();
+            int col = layout.laneRightColumn(i); // Right side of each lane
+            Cell spawnCell = board.getCell(row, col);
             if (spawnCell.hasMonster()) {
                 System.out.println(ConsoleColors.YELLOW + "Lane " + (i + 1) + " spawn blocked!" + ConsoleColors.RESET);
                 continue;
             }
 
-            Monster template = monsterCatalog.get((int) (Math.random() * monsterCatalog.size()));
-            Monster m = GameDataLoader.createMonsterFromTemplate(template, highestHeroLvl);
+            MonsterTemplate template = catalog.get(random.nextInt(catalog.size()));
+            Monster m = GameDataLoader.createMonsterFromTemplate(template, highestHeroLvl, scaling, pool);
 
-            m.setPosition(0, laneSpawns[i]);
+            m.setPosition(row, col);
             m.setLane(i);
 
             spawnCell.setMonster(m);
-            activeMonsters.add(m);
+            laneMonsters.get(i).add(m);
+            spawnOrder.add(m);
+            stateKey ^= monsterKey(m);
+        }
+    }
+
+    /**
+     * Empties every lane's monster list (recycling the monsters when pooled), creating
+     * the lists on first use or when the lane count changed.
+     */
+    private void resetMonsters() {
+        // The board was just reset, so these lists hold the last references to the monsters
+        if (pool != null) {
+            for (Monster m : spawnOrder) pool.releaseMonster(m);
+        }
+        spawnOrder.clear();
+        if (laneMonsters == null || laneMonsters.size() != layout.getLanes()) {
+            laneMonsters = new ArrayList<>(layout.getLanes());
+            laneLogs = new LaneLog[layout.getLanes()];
+            for (int i = 0; i < layout.getLanes(); i++) {
+                laneMonsters.add(new ArrayList<>());
+                laneLogs[i] = new LaneLog();
+            }
+            return;
+        }
+        for (List<Monster> lane : laneMonsters) {
+            lane.clear();
         }
     }
 
+    /**
+     * @return The first monster standing in the given lane on the given row, or null.
+     */
+    private Monster monsterInLaneRow(int lane, int row) {
+        for (int c = layout.laneLeftColumn(lane); c <= layout.laneRightColumn(lane); c++) {
+            Cell cell = board.getCell(row, c);
+            if (cell.hasMonster()) return cell.getMonster();
+        }
+        return null;
+    }
+
     @Override
     protected void processTurn(Scanner scanner) {
         System.out.println("\n" + ConsoleColors.YELLOW + "=== ROUND " + roundCount + " ===" + ConsoleColors.RESET);
@@ -180,6 +444,7 @@ public class ValorGame extends Game {
                 continue;
             }
 
+            settleUpkeep(hero, roundCount - 1);
             System.out.println("\nTurn: " + ConsoleColors.CYAN + hero.getName() + " [H" + (hero.getLane() + 1) + "]" + ConsoleColors.RESET + " (Lane " + hero.getLane() + ")");
             boolean actionTaken = false;
 
@@ -197,25 +462,53 @@ public class ValorGame extends Game {
                     case "m": actionTaken = handleMarket(scanner, hero); break;
                     case "p": actionTaken = handlePotion(scanner, hero); break;
                     case "e": actionTaken = handleEquip(scanner, hero); break;
-                    case "i": showDetailedHeroInfo(hero); break;
+                    case "i": showDetailedHeroInfo(scanner, hero); break;
                     case "q": quitGame = true; return;
                 }
             }
             if (quitGame) return;
+            if (fixedPoint) snapStats();
             board.printBoard();
         }
 
         // 2. MONSTERS TURN
         processMonstersTurn();
 
-        // 3. END ROUND / REGEN
-        performRegeneration();
+        // 3. END ROUND / RESPAWN
+        respawnFainted();
+
+        if (roundCount % scaling.getSpawnInterval() == 0) spawnMonsters();
+        if (fixedPoint) {
+            settleUpkeep(roundCount); // Rounded stats include this round's regeneration
+            snapStats();
+        }
 
-        if (roundCount % 8 == 0) spawnMonsters();
+        advanceRound();
+    }
 
+    /**
+     * Starts the next round, moving the state key to the next phase of the spawn cycle.
+     */
+    private void advanceRound() {
+        int interval = scaling.getSpawnInterval();
+        stateKey ^= board.getZobrist().phase(roundCount % interval) ^ board.getZobrist().phase((roundCount + 1) % interval);
         roundCount++;
     }
 
+    /**
+     * Rounds every live hero and monster stat onto the FixedPoint grid.
+     */
+    private void snapStats() {
+        for (Hero h : party.getHeroes()) h.snapToFixedPoint();
+        for (List<Monster> lane : laneMonsters) {
+            for (Monster m : lane) {
+                long before = monsterKey(m);
+                m.snapToFixedPoint(); // Rounding can tip HP across a bucket edge
+                stateKey ^= before ^ monsterKey(m);
+            }
+        }
+    }
+
     private void printControls() {
         System.out.print("CONTROLS: ");
         System.out.print("[" + ConsoleColors.YELLOW + "W" + ConsoleColors.RESET + "]Move ");
@@ -245,6 +538,17 @@ public class ValorGame extends Game {
             case "d": dC = 1; break; // Right
         }
 
+        return moveHero(hero, dR, dC, () -> InputValidator.getValidOption(scanner,
+                "Do you want to destroy it? (y/n): ", "y", "n").equals("y"));
+    }
+
+    /**
+     * Moves a hero one step, applying board, zone-of-control, obstacle and occupancy rules.
+     *
+     * @param destroyObstacle Asked whether to spend the turn breaking an obstacle in the way.
+     * @return true if the hero's turn was consumed.
+     */
+    private boolean moveHero(Hero hero, int dR, int dC, BooleanSupplier destroyObstacle) {
         int newR = hero.getRow() + dR;
         int newC = hero.getCol() + dC;
 
@@ -254,19 +558,13 @@ public class ValorGame extends Game {
         }
 
         // No Passing Logic (Zone of Control)
-        // If moving North (forward), check if any monster is in this lane at current row or North of it
+        // A hero may not step north past a monster that is level with it in the same lane.
+        // Monsters further ahead are still in front after a one-row step, so only this row matters.
         if (dR < 0) { // Moving UP
-            for (Monster m : activeMonsters) {
-                if (m.getLane() == hero.getLane()) {
-                    // If monster is 'ahead' or on same row, you cannot bypass it
-                    // 'Ahead' means closer to Row 0.
-                    if (m.getRow() <= hero.getRow()) {
-                        if (newR < m.getRow()) {
-                            System.out.println(ConsoleColors.RED + "Blocked: You cannot move behind " + m.getName() + "!" + ConsoleColors.RESET);
-                            return false;
-                        }
-                    }
-                }
+            Monster blocker = monsterInLaneRow(hero.getLane(), hero.getRow());
+            if (blocker != null) {
+                System.out.println(ConsoleColors.RED + "Blocked: You cannot move behind " + blocker.getName() + "!" + ConsoleColors.RESET);
+                return false;
             }
         }
 
@@ -275,10 +573,10 @@ public class ValorGame extends Game {
         // Obstacles
         if (target.getType() == CellType.OBSTACLE) {
             System.out.println(ConsoleColors.YELLOW + "An OBSTACLE blocks your path." + ConsoleColors.RESET);
-            String choice = InputValidator.getValidOption(scanner, "Do you want to destroy it? (y/n): ", "y", "n");
 
-            if (choice.equals("y")) {
+            if (destroyObstacle.getAsBoolean()) {
                 target.setType(CellType.COMMON); // Convert to plain cell
+                stateKey ^= board.getZobrist().obstacle(board.getNeighbours().indexOf(newR, newC));
                 System.out.println(ConsoleColors.GREEN + "You destroyed the obstacle! (Turn Used)" + ConsoleColors.RESET);
                 return true; // Turn consumed, but hero doesn't move yet
             } else {
@@ -303,9 +601,7 @@ public class ValorGame extends Game {
         }
 
         // EXECUTE MOVE
-        board.getCell(hero.getRow(), hero.getCol()).removeHero();
-        hero.setPosition(newR, newC);
-        target.setHero(hero);
+        relocateHero(hero, newR, newC);
 
         System.out.println(hero.getName() + " moved to (" + newR + "," + newC + ")");
         applyTerrainBonus(hero, target);
@@ -328,52 +624,74 @@ public class ValorGame extends Game {
         }
     }
 
+    /**
+     * Fills the targets buffer with the monsters in the 3x3 grid around the hero.
+     * The buffer is only valid until the next call.
+     *
+     * @return Number of monsters found.
+     */
+    private int monstersInRange(Hero hero) {
+        return board.collectMonstersInRange(hero.getRow(), hero.getCol(), targets);
+    }
+
     private boolean handleAttack(Scanner scanner, Hero hero) {
-        List<Monster> targets = new ArrayList<>();
-        // Check 3x3 grid around hero
-        for (int r = hero.getRow() - 1; r <= hero.getRow() + 1; r++) {
-            for (int c = hero.getCol() - 1; c <= hero.getCol() + 1; c++) {
-                if (board.isValidCoordinate(r, c) && board.getCell(r, c).hasMonster()) {
-                    targets.add(board.getCell(r, c).getMonster());
-                }
-            }
-        }
+        int count = monstersInRange(hero);
 
-        if (targets.isEmpty()) {
+        if (count == 0) {
             System.out.println(ConsoleColors.YELLOW + "No monsters in range." + ConsoleColors.RESET);
             return false;
         }
 
         System.out.println("Select Target:");
-        for (int i = 0; i < targets.size(); i++) {
-            System.out.println((i + 1) + ". " + targets.get(i));
+        for (int i = 0; i < count; i++) {
+            System.out.println((i + 1) + ". " + targets[i]);
         }
 
-        int idx = InputValidator.getValidInt(scanner, "Target: ", 1, targets.size()) - 1;
-        Monster target = targets.get(idx);
+        int idx = InputValidator.getValidInt(scanner, "Target: ", 1, count) - 1;
+        attackMonster(hero, targets[idx]);
+        return true;
+    }
 
+    private void attackMonster(Hero hero, Monster target) {
         double rawDmg = hero.attack(target);
 
-        if (Math.random() < target.getDodgeChance()) {
-            System.out.println(target.getName() + " DODGED the attack!");
+        if (random.nextDouble() < target.getDodgeChance()) {
+            events.onDodge(hero, target, null);
         } else {
             double actualDmg = Math.max(0, rawDmg - (target.getDefense() * 0.02));
-            target.setHp(target.getHp() - actualDmg);
-            System.out.println(hero.getName() + " dealt " + ConsoleColors.RED + String.format("%.0f", actualDmg) + ConsoleColors.RESET + " damage!");
+            damageMonster(target, actualDmg);
+            events.onAttack(hero, target, actualDmg);
 
             if (target.isFainted()) {
-                System.out.println(ConsoleColors.GREEN + target.getName() + " was DEFEATED!" + ConsoleColors.RESET);
-                board.getCell(target.getRow(), target.getCol()).removeMonster();
-                activeMonsters.remove(target);
-
-                double gold = 500 * target.getLevel();
-                int xp = 2 * target.getLevel();
-                hero.addMoney(gold);
-                hero.gainExperience(xp);
-                System.out.println("Gained " + gold + " gold and " + xp + " XP.");
+                defeatMonster(hero, target);
             }
         }
-        return true;
+    }
+
+    /**
+     * Lowers a monster's HP, moving its state key to the new HP bucket if it changed.
+     */
+    private void damageMonster(Monster target, double damage) {
+        long before = monsterKey(target);
+        target.setHp(target.getHp() - damage);
+        stateKey ^= before ^ monsterKey(target);
+    }
+
+    private void defeatMonster(Hero hero, Monster target) {
+        events.onMonsterDefeated(hero, target);
+        stateKey ^= monsterKey(target);
+        board.getCell(target.getRow(), target.getCol()).removeMonster();
+        laneMonsters.get(target.getLane()).remove(target);
+        spawnOrder.remove(target);
+        if (target.getRow() == layout.getHeroNexusRow()) monstersAtHeroNexus--;
+
+        double gold = 500 * target.getLevel();
+        int xp = 2 * target.getLevel();
+        hero.addMoney(gold);
+        settleUpkeep(hero, roundCount - 1); // A level up starts from the regenerated HP and mana
+        hero.gainExperience(xp, events);
+        events.onReward(hero, gold, xp);
+        if (pool != null) pool.releaseMonster(target);
     }
 
     private boolean handleCastSpell(Scanner scanner, Hero hero) {
@@ -384,16 +702,9 @@ public class ValorGame extends Game {
         }
 
         // Find targets in same range as attack (3x3 grid)
-        List<Monster> targets = new ArrayList<>();
-        for (int r = hero.getRow() - 1; r <= hero.getRow() + 1; r++) {
-            for (int c = hero.getCol() - 1; c <= hero.getCol() + 1; c++) {
-                if (board.isValidCoordinate(r, c) && board.getCell(r, c).hasMonster()) {
-                    targets.add(board.getCell(r, c).getMonster());
-                }
-            }
-        }
+        int count = monstersInRange(hero);
 
-        if (targets.isEmpty()) {
+        if (count == 0) {
             System.out.println(ConsoleColors.YELLOW + "No monsters in range." + ConsoleColors.RESET);
             return false;
         }
@@ -401,7 +712,8 @@ public class ValorGame extends Game {
         // Display spellbook
         System.out.println(ConsoleColors.PURPLE + "--- Spellbook ---" + ConsoleColors.RESET);
         for (int i = 0; i < spells.size(); i++) {
-            System.out.println((i + 1) + ". " + spells.get(i));
+            int held = hero.getInventory().getCount(spells.get(i));
+            System.out.println((i + 1) + ". " + spells.get(i) + (held > 1 ? " x" + held : ""));
         }
         System.out.println((spells.size() + 1) + ". Cancel");
 
@@ -416,12 +728,12 @@ public class ValorGame extends Game {
 
         // Select target
         System.out.println("Select Target:");
-        for (int i = 0; i < targets.size(); i++) {
-            System.out.println((i + 1) + ". " + targets.get(i));
+        for (int i = 0; i < count; i++) {
+            System.out.println((i + 1) + ". " + targets[i]);
         }
 
-        int targetIdx = InputValidator.getValidInt(scanner, "Target: ", 1, targets.size()) - 1;
-        Monster target = targets.get(targetIdx);
+        int targetIdx = InputValidator.getValidInt(scanner, "Target: ", 1, count) - 1;
+        Monster target = targets[targetIdx];
 
         // Deduct mana
         hero.setMana(hero.getMana() - spell.getManaCost());
@@ -430,38 +742,27 @@ public class ValorGame extends Game {
         double damage = spell.getDamage() + ((hero.getDexterity() / 10000.0) * spell.getDamage());
         
         // Check dodge
-        if (Math.random() < target.getDodgeChance()) {
-            System.out.println(target.getName() + " DODGED the spell!");
+        if (random.nextDouble() < target.getDodgeChance()) {
+            events.onDodge(hero, target, spell);
         } else {
-            target.setHp(target.getHp() - damage);
-            System.out.printf("%s casts %s on %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", 
-                    hero.getName(), spell.getName(), target.getName(), damage);
+            damageMonster(target, damage);
+            events.onSpellCast(hero, spell, target, damage);
 
             // Apply spell effects if target survives
             if (!target.isFainted()) {
                 if (spell.getType() == SpellType.ICE) {
                     target.reduceDamage(target.getBaseDamage() * 0.1);
-                    System.out.println(ConsoleColors.CYAN + target.getName() + "'s damage reduced by Ice!" + ConsoleColors.RESET);
                 } else if (spell.getType() == SpellType.FIRE) {
                     target.reduceDefense(target.getDefense() * 0.1);
-                    System.out.println(ConsoleColors.RED + target.getName() + "'s defense melted by Fire!" + ConsoleColors.RESET);
                 } else if (spell.getType() == SpellType.LIGHTNING) {
                     target.reduceDodgeChance(target.getDodgeChance() * 0.1);
-                    System.out.println(ConsoleColors.YELLOW + target.getName() + "'s dodge reduced by Lightning!" + ConsoleColors.RESET);
                 }
+                events.onSpellEffect(target, spell.getType());
             }
 
             // Check if target defeated
             if (target.isFainted()) {
-                System.out.println(ConsoleColors.GREEN + target.getName() + " was DEFEATED!" + ConsoleColors.RESET);
-                board.getCell(target.getRow(), target.getCol()).removeMonster();
-                activeMonsters.remove(target);
-
-                double gold = 500 * target.getLevel();
-                int xp = 2 * target.getLevel();
-                hero.addMoney(gold);
-                hero.gainExperience(xp);
-                System.out.println("Gained " + gold + " gold and " + xp + " XP.");
+                defeatMonster(hero, target);
             }
         }
 
@@ -488,21 +789,17 @@ public class ValorGame extends Game {
         int idx = InputValidator.getValidInt(scanner, "Choice: ", 1, targets.size()) - 1;
         Hero destHero = targets.get(idx);
 
-        int r = destHero.getRow();
-        int c = destHero.getCol();
-        int[][] spots = {{r, c - 1}, {r, c + 1}, {r + 1, c}};
-
-        for (int[] s : spots) {
-            if (board.isValidCoordinate(s[0], s[1])) {
-                Cell cell = board.getCell(s[0], s[1]);
-                if (cell.isAccessible() && !cell.hasHero() && !cell.hasMonster()) {
-                    board.getCell(hero.getRow(), hero.getCol()).removeHero();
-                    hero.setPosition(s[0], s[1]);
-                    hero.setLane(destHero.getLane());
-                    cell.setHero(hero);
-                    System.out.println(ConsoleColors.PURPLE + "*WOOSH* " + hero.getName() + " teleported to " + destHero.getName() + "!" + ConsoleColors.RESET);
-                    return true;
-                }
+        // Left of, right of, then behind the target hero (precomputed per cell)
+        NeighbourTable table = board.getNeighbours();
+        int from = table.indexOf(destHero.getRow(), destHero.getCol());
+        for (int i = table.spotFrom(from), end = table.spotTo(from); i < end; i++) {
+            int spot = table.spotCell(i);
+            Cell cell = board.getCell(spot);
+            if (cell.isAccessible() && !cell.hasHero() && !cell.hasMonster()) {
+                relocateHero(hero, table.rowOf(spot), table.colOf(spot));
+                hero.setLane(destHero.getLane());
+                System.out.println(ConsoleColors.PURPLE + "*WOOSH* " + hero.getName() + " teleported to " + destHero.getName() + "!" + ConsoleColors.RESET);
+                return true;
             }
         }
         System.out.println(ConsoleColors.RED + "Teleport failed: No open space beside target." + ConsoleColors.RESET);
@@ -510,8 +807,8 @@ public class ValorGame extends Game {
     }
 
     private boolean handleRecall(Hero hero) {
-        int r = 7;
-        int c = (hero.getLane() == 0) ? 0 : (hero.getLane() == 1) ? 3 : 6;
+        int r = layout.getHeroNexusRow();
+        int c = layout.laneLeftColumn(hero.getLane());
 
         Cell spawn = board.getCell(r, c);
         if (spawn.hasHero() && spawn.getHero() != hero) {
@@ -519,9 +816,7 @@ public class ValorGame extends Game {
             return false;
         }
 
-        board.getCell(hero.getRow(), hero.getCol()).removeHero();
-        hero.setPosition(r, c);
-        spawn.setHero(hero);
+        relocateHero(hero, r, c);
         System.out.println(ConsoleColors.CYAN + hero.getName() + " recalled to Nexus." + ConsoleColors.RESET);
         return true;
     }
@@ -529,7 +824,7 @@ public class ValorGame extends Game {
     private boolean handleMarket(Scanner scanner, Hero hero) {
         Cell currentCell = board.getCell(hero.getRow(), hero.getCol());
         
-        // Check if hero is in a Nexus cell (row 7 is Hero Nexus)
+        // Check if hero is in a Nexus cell (the bottom row is the Hero Nexus)
         if (currentCell.getType() != CellType.NEXUS) {
             System.out.println(ConsoleColors.RED + "Market unavailable: You must be in your Nexus to access the market!" + ConsoleColors.RESET);
             return false;
@@ -555,7 +850,10 @@ public class ValorGame extends Game {
             return false;
         }
         System.out.println("Select Potion:");
-        for (int i = 0; i < potions.size(); i++) System.out.println((i + 1) + ". " + potions.get(i).getName());
+        for (int i = 0; i < potions.size(); i++) {
+            int held = hero.getInventory().getCount(potions.get(i));
+            System.out.println((i + 1) + ". " + potions.get(i).getName() + (held > 1 ? " x" + held : ""));
+        }
         int choice = InputValidator.getValidInt(scanner, "Use: ", 1, potions.size()) - 1;
         Potion p = potions.get(choice);
 
@@ -586,41 +884,183 @@ public class ValorGame extends Game {
 
     private void processMonstersTurn() {
         System.out.println(ConsoleColors.RED + "\n--- Monsters Turn ---" + ConsoleColors.RESET);
-        Iterator<Monster> it = activeMonsters.iterator();
+        int lanes = laneMonsters.size();
+        if (laneExecutor == null || lanes == 1 || spawnOrder.size() < lanes * PARALLEL_MIN_MONSTERS_PER_LANE) {
+            advanceInSpawnOrder();
+            return;
+        }
+        laneExecutor.invoke(new LaneTask(0, lanes));
+
+        // Replay the logs on the calling thread, printing in spawn order as sequential play does
+        if (verbose) printMovesInSpawnOrder();
+        boolean removed = false;
+        for (LaneLog log : laneLogs) {
+            if (!log.removed.isEmpty()) {
+                removed = true;
+                if (pool != null) {
+                    for (Monster m : log.removed) pool.releaseMonster(m);
+                }
+            }
+            monstersAtHeroNexus += log.nexusChange;
+            stateKey ^= log.keyChange;
+            log.moved.clear();
+            log.removed.clear();
+            log.nexusChange = 0;
+            log.keyChange = 0;
+        }
+        // Released monsters stay fainted until they are next acquired
+        if (removed) spawnOrder.removeIf(Monster::isFainted);
+    }
+
+    /**
+     * Sequential monster phase: every monster, in spawn order, moves a row south if it can.
+     */
+    private void advanceInSpawnOrder() {
+        int heroNexus = layout.getHeroNexusRow();
+        boolean removed = false;
+        Iterator<Monster> it = spawnOrder.iterator();
         while (it.hasNext()) {
             Monster m = it.next();
             if (m.isFainted()) {
                 board.getCell(m.getRow(), m.getCol()).removeMonster();
                 it.remove();
+                stateKey ^= monsterKey(m);
+                if (m.getRow() == heroNexus) monstersAtHeroNexus--;
+                if (pool != null) pool.releaseMonster(m);
+                removed = true;
                 continue;
             }
+            if (stepSouth(m)) {
+                stateKey ^= stepKey(m);
+                if (m.getRow() == heroNexus) monstersAtHeroNexus++;
+                if (verbose) System.out.println(m.getName() + " moved South.");
+            }
+        }
+        if (removed) {
+            for (List<Monster> lane : laneMonsters) lane.removeIf(Monster::isFainted);
+        }
+    }
 
-            int newR = m.getRow() + 1;
-            if (newR < 8) {
-                Cell t = board.getCell(newR, m.getCol());
-                if (!t.hasMonster() && !t.hasHero() && t.isAccessible()) {
-                    board.getCell(m.getRow(), m.getCol()).removeMonster();
-                    m.setPosition(newR, m.getCol());
-                    t.setMonster(m);
-                    System.out.println(m.getName() + " moved South.");
-                }
+    /**
+     * Moves one lane's monsters a row south. Monsters never leave their lane, so this only
+     * touches the lane's own cells and list and may run concurrently with other lanes.
+     * Nothing is printed or pooled here; the lane's log records it for the calling thread.
+     */
+    private void advanceLane(int lane) {
+        LaneLog log = laneLogs[lane];
+        int heroNexus = layout.getHeroNexusRow();
+        Iterator<Monster> it = laneMonsters.get(lane).iterator();
+        while (it.hasNext()) {
+            Monster m = it.next();
+            if (m.isFainted()) {
+                board.getCell(m.getRow(), m.getCol()).removeMonster();
+                it.remove();
+                log.removed.add(m);
+                log.keyChange ^= monsterKey(m);
+                if (m.getRow() == heroNexus) log.nexusChange--;
+                continue;
+            }
+            if (stepSouth(m)) {
+                log.moved.add(m);
+                log.keyChange ^= stepKey(m);
+                if (m.getRow() == heroNexus) log.nexusChange++;
+            }
+        }
+    }
+
+    /**
+     * @return true if the monster moved, i.e. the cell south of it was free and accessible.
+     */
+    private boolean stepSouth(Monster m) {
+        int newR = m.getRow() + 1;
+        if (newR >= layout.getRows()) return false;
+        Cell t = board.getCell(newR, m.getCol());
+        if (t.hasMonster() || t.hasHero() || !t.isAccessible()) return false;
+        board.getCell(m.getRow(), m.getCol()).removeMonster();
+        m.setPosition(newR, m.getCol());
+        t.setMonster(m);
+        return true;
+    }
+
+    // Each lane's moves are in spawn order already, so walking spawnOrder merges them
+    private void printMovesInSpawnOrder() {
+        int[] next = new int[laneLogs.length];
+        for (Monster m : spawnOrder) {
+            List<Monster> moved = laneLogs[m.getLane()].moved;
+            int i = next[m.getLane()];
+            if (i < moved.size() && moved.get(i) == m) {
+                System.out.println(m.getName() + " moved South.");
+                next[m.getLane()] = i + 1;
             }
         }
     }
 
-    private void performRegeneration() {
+    /**
+     * Per-lane record of one monster phase.
+     */
+    private static final class LaneLog {
+        final List<Monster> moved = new ArrayList<>();
+        final List<Monster> removed = new ArrayList<>();
+        int nexusChange; // Monsters that entered minus left the Hero Nexus row
+        long keyChange; // XOR of every state key this lane's moves added or removed
+    }
+
+    /**
+     * Splits a lane range while its lanes hold enough monsters to be worth a task each;
+     * smaller ranges advance their lanes one after another.
+     */
+    private final class LaneTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        LaneTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int monsters = 0;
+            for (int lane = from; lane < to; lane++) monsters += laneMonsters.get(lane).size();
+            if (to - from == 1 || monsters < (to - from) * PARALLEL_MIN_MONSTERS_PER_LANE) {
+                for (int lane = from; lane < to; lane++) advanceLane(lane);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LaneTask(from, mid), new LaneTask(mid, to));
+        }
+    }
+
+    private void respawnFainted() {
         for (Hero h : party.getHeroes()) {
-            if (!h.isFainted()) {
-                h.setHp(h.getHp() * 1.1);
-                h.setMana(h.getMana() * 1.1);
-            } else {
+            if (h.isFainted()) {
                 h.revive();
+                h.stampUpkeep(roundCount); // Regenerates from the next round on
                 handleRecall(h);
                 System.out.println(ConsoleColors.GREEN + h.getName() + " has respawned at the Nexus!" + ConsoleColors.RESET);
             }
         }
     }
 
+    /**
+     * Applies the end-of-round regeneration a hero is owed for every round up to and including
+     * round. Heroes are settled when their HP or mana is next read (their turn, a level up, a
+     * snapshot, the final status), not at the end of every round. Weapons do not wear in Valor.
+     */
+    private void settleUpkeep(Hero h, int round) {
+        double oldHp = h.getHp();
+        double oldMana = h.getMana();
+        if (h.settleUpkeep(round, false) > 0 && !h.isFainted()) {
+            events.onRegenerate(h, h.getHp() - oldHp, h.getMana() - oldMana);
+        }
+    }
+
+    private void settleUpkeep(int round) {
+        for (Hero h : party.getHeroes()) settleUpkeep(h, round);
+    }
+
     private void printDashboard() {
         System.out.println(ConsoleColors.CYAN + "\n+------------------------------------------------------------+" + ConsoleColors.RESET);
         System.out.println(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + ConsoleColors.WHITE_BOLD + "                        PARTY STATUS                        " + ConsoleColors.RESET + ConsoleColors.CYAN + "|" + ConsoleColors.RESET);
@@ -637,18 +1077,16 @@ public class ValorGame extends Game {
 
     @Override
     protected boolean isGameOver() {
-        for (Hero h : party.getHeroes()) {
-            if (h.getRow() == 0) {
-                System.out.println(ConsoleColors.GREEN + "\n*** VICTORY! ***" + ConsoleColors.RESET);
-                return true;
-            }
+        if (heroesAtMonsterNexus > 0) {
+            System.out.println(ConsoleColors.GREEN + "\n*** VICTORY! ***" + ConsoleColors.RESET);
+            outcome = Outcome.VICTORY;
+            return true;
         }
-        for (Monster m : activeMonsters) {
-            if (m.getRow() == 7) {
-                System.out.println(ConsoleColors.RED + "\n*** DEFEAT! ***" + ConsoleColors.RESET);
-                System.out.println(ConsoleColors.RED + "You lost!" + ConsoleColors.RESET);
-                return true;
-            }
+        if (monstersAtHeroNexus > 0) {
+            System.out.println(ConsoleColors.RED + "\n*** DEFEAT! ***" + ConsoleColors.RESET);
+            System.out.println(ConsoleColors.RED + "You lost!" + ConsoleColors.RESET);
+            outcome = Outcome.DEFEAT;
+            return true;
         }
         return false;
     }
@@ -656,7 +1094,94 @@ public class ValorGame extends Game {
     @Override
     protected boolean shouldQuit() { return quitGame; }
 
-    private void showDetailedHeroInfo(Hero hero) {
+    public int getRoundCount() { return roundCount; }
+
+    // HEADLESS MATCHES
+
+    /**
+     * Plays one complete match without console input, using a simple greedy policy for every hero.
+     * The game object, its board and its random source are reused between calls, so a worker can
+     * play thousands of matches with one instance. Console output still goes to System.out; bind a
+     * headless GameSession to discard it.
+     *
+     * @param heroes    Fresh heroes, one per lane in list order (extras beyond the lane count are ignored).
+     * @param catalog   Monster templates to spawn from (read-only, may be shared across threads).
+     * @param maxRounds Rounds after which the match is scored as a timeout.
+     * @return The match outcome.
+     */
+    public Outcome simulate(List<Hero> heroes, List<MonsterTemplate> catalog, int maxRounds) {
+        this.monsterCatalog = () -> catalog;
+        if (board == null || board.getLayout() != layout) {
+            board = new ValorBoard(random, layout);
+        } else {
+            board.reset();
+        }
+        resetMonsters();
+        this.heroesAtMonsterNexus = 0;
+        this.monstersAtHeroNexus = 0;
+        this.roundCount = 1;
+        this.quitGame = false;
+        this.outcome = null;
+
+        this.party = new Party(layout.getLanes());
+        for (int i = 0; i < heroes.size() && i < layout.getLanes(); i++) {
+            heroes.get(i).setLane(i);
+            party.addHero(heroes.get(i));
+        }
+
+        spawnHeroes();
+        spawnMonsters();
+        if (fixedPoint) snapStats();
+        stateKey = computeStateKey();
+
+        while (roundCount <= maxRounds) {
+            if (isGameOver()) {
+                settleUpkeep(roundCount - 1);
+                return outcome;
+            }
+
+            for (Hero hero : party.getHeroes()) {
+                if (hero.isFainted()) continue;
+                autoTurn(hero);
+                if (fixedPoint) snapStats();
+            }
+            processMonstersTurn();
+            respawnFainted();
+            if (roundCount % scaling.getSpawnInterval() == 0) spawnMonsters();
+            if (fixedPoint) {
+                settleUpkeep(roundCount);
+                snapStats();
+            }
+            advanceRound();
+        }
+        Outcome result = isGameOver() ? outcome : Outcome.TIMEOUT;
+        settleUpkeep(roundCount - 1); // Heroes leave the match with their final HP and mana
+        return result;
+    }
+
+    /**
+     * Greedy policy: hit the weakest monster in range, otherwise push north,
+     * breaking obstacles and side-stepping within the lane when the way is blocked.
+     */
+    private void autoTurn(Hero hero) {
+        int count = monstersInRange(hero);
+        if (count > 0) {
+            Monster weakest = targets[0];
+            for (int i = 1; i < count; i++) {
+                if (targets[i].getHp() < weakest.getHp()) weakest = targets[i];
+            }
+            attackMonster(hero, weakest);
+            return;
+        }
+
+        if (moveHero(hero, -1, 0, () -> true)) return;
+
+        // Step right from the lane's left edge, otherwise left
+        int sideStep = (hero.getCol() == layout.laneLeftColumn(hero.getLane())) ? 1 : -1;
+        moveHero(hero, 0, sideStep, () -> true);
+    }
+
+    private void showDetailedHeroInfo(Scanner scanner, Hero hero) {
         System.out.println("\n" + ConsoleColors.WHITE_BOLD + "=== HERO INFORMATION ===" + ConsoleColors.RESET);
         
         System.out.println("\n" + ConsoleColors.PURPLE + String.format("[%s] %s (Lvl %d) - Lane %d", 
@@ -687,23 +1212,23 @@ public class ValorGame extends Game {
         // Inventory section
         System.out.println(ConsoleColors.CYAN + "\n" + ConsoleColors.WHITE_BOLD + "INVENTORY:" + ConsoleColors.RESET);
         
-        List<items.Item> items = hero.getInventory().getItems();
+        List<items.ItemStack> items = hero.getInventory().getStacks();
         if (items.isEmpty()) {
             System.out.println(ConsoleColors.YELLOW + "  (Empty)" + ConsoleColors.RESET);
         } else {
             System.out.println(ConsoleColors.CYAN + "+----------------------+--------+----------+--------------------------------------+" + ConsoleColors.RESET);
-            for (items.Item item : items) {
+            for (items.ItemStack stack : items) {
+                items.Item item = stack.getItem();
                 String stats = extractItemStats(item);
                 if (stats.length() > 36) stats = stats.substring(0, 33) + "...";
 
                 System.out.printf(ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-20s " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " Lv%-4d " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " " + ConsoleColors.YELLOW + "%-8.0f" + ConsoleColors.RESET + " " + ConsoleColors.CYAN + "|" + ConsoleColors.RESET + " %-36s " + ConsoleColors.CYAN + "|\n" + ConsoleColors.RESET,
-                        item.getName(), item.getMinLevel(), item.getPrice(), stats);
+                        stack.getLabel(), item.getMinLevel(), item.getPrice(), stats);
             }
             System.out.println(ConsoleColors.CYAN + "+----------------------+--------+----------+--------------------------------------+" + ConsoleColors.RESET);
         }
         
         System.out.println("\n" + ConsoleColors.YELLOW + "Press Enter to continue..." + ConsoleColors.RESET);
-        Scanner scanner = new Scanner(System.in);
         scanner.nextLine();
     }
 
@@ -727,19 +1252,8 @@ public class ValorGame extends Game {
         System.out.println(ConsoleColors.RED + "\nGame Over. Thanks for playing Legends of Valor!" + ConsoleColors.RESET);
         if (party != null) {
             System.out.println(ConsoleColors.WHITE_BOLD + "Final Status:" + ConsoleColors.RESET);
+            settleUpkeep(roundCount - 1);
             printDashboard();
         }
-        
-        Scanner scanner = new Scanner(System.in);
-        String input = InputValidator.getValidOption(scanner, "\n" + ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + ConsoleColors.RESET, "y", "yes", "n", "no");
-        
-        if (input.equals("y") || input.equals("yes")) {
-            // Restart the entire application to go back to game selection
-            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
-            common.GameRunner.run();
-        } else {
-            System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
-            System.exit(0);
-        }
     }
 }
@@ -1,76 +1,163 @@
 package items;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Manages a collection of Items for a Hero.
  * Provides methods to add, remove, and filter items by type.
+ *
+ * <p>Identical consumables (units of the same potion or spell definition) are kept as one stack
+ * with a count, so memory and every listing grow with the number of distinct items, not the
+ * quantity. Stacks are keyed by the definition object, not its name, so a reloaded potion with
+ * new stats starts a stack of its own. Weapons and armor each keep their own entry because
+ * each wears down on its own.</p>
  */
 public class Inventory {
-    private final List<Item> items;
+    private final List<ItemStack> stacks;
+    private final Map<Item, ItemStack> consumables; // Stacks of stackable items, by definition
+    private int quantity;
 
     public Inventory() {
-        this.items = new ArrayList<>();
+        this.stacks = new ArrayList<>();
+        this.consumables = new IdentityHashMap<>();
+    }
+
+    /**
+     * @return true for items that stack: potions and spells.
+     */
+    public static boolean isStackable(Item item) {
+        return item instanceof Potion || item instanceof Spell;
     }
 
     public void addItem(Item item) {
-        items.add(item);
+        quantity++;
+        if (!isStackable(item)) {
+            stacks.add(new ItemStack(item, 1));
+            return;
+        }
+        ItemStack stack = consumables.get(item);
+        if (stack != null) {
+            stack.add(1);
+        } else {
+            stack = new ItemStack(item, 1);
+            consumables.put(item, stack);
+            stacks.add(stack);
+        }
     }
 
+    /**
+     * Removes one unit: one from the item's stack for consumables, the very piece for gear.
+     */
     public boolean removeItem(Item item) {
-        return items.remove(item);
+        ItemStack stack = find(item);
+        if (stack == null) return false;
+        stack.removeOne();
+        if (stack.getCount() == 0) {
+            stacks.remove(stack);
+            if (isStackable(item)) consumables.remove(item);
+        }
+        quantity--;
+        return true;
+    }
+
+    public void clear() {
+        stacks.clear();
+        consumables.clear();
+        quantity = 0;
     }
 
     public boolean contains(Item item) {
-        return items.contains(item);
+        return find(item) != null;
     }
 
+    /**
+     * @return How many of the item are held; gear counts only the very piece.
+     */
+    public int getCount(Item item) {
+        ItemStack stack = find(item);
+        return (stack == null) ? 0 : stack.getCount();
+    }
+
+    private ItemStack find(Item item) {
+        if (isStackable(item)) return consumables.get(item);
+        for (ItemStack stack : stacks) {
+            if (stack.getItem() == item) return stack;
+        }
+        return null;
+    }
+
+    /**
+     * @return Every entry with its count, in the order first acquired.
+     */
+    public List<ItemStack> getStacks() {
+        return Collections.unmodifiableList(stacks);
+    }
+
+    /**
+     * @return One item per entry (a stack of five potions appears once); see getCount for quantities.
+     */
     public List<Item> getItems() {
-        return new ArrayList<>(items); // Return copy to protect internal list
+        List<Item> items = new ArrayList<>(stacks.size());
+        for (ItemStack stack : stacks) items.add(stack.getItem());
+        return items;
+    }
+
+    /**
+     * @return Total units held, counting every potion and spell in each stack.
+     */
+    public int getQuantity() {
+        return quantity;
     }
 
     public List<Weapon> getWeapons() {
-        return items.stream()
+        return stacks.stream()
+                .map(ItemStack::getItem)
                 .filter(i -> i instanceof Weapon)
                 .map(i -> (Weapon) i)
                 .collect(Collectors.toList());
     }
 
     public List<Armor> getArmor() {
-        return items.stream()
+        return stacks.stream()
+                .map(ItemStack::getItem)
                 .filter(i -> i instanceof Armor)
                 .map(i -> (Armor) i)
                 .collect(Collectors.toList());
     }
 
     public List<Potion> getPotions() {
-        return items.stream()
+        return stacks.stream()
+                .map(ItemStack::getItem)
                 .filter(i -> i instanceof Potion)
                 .map(i -> (Potion) i)
                 .collect(Collectors.toList());
     }
 
     public List<Spell> getSpells() {
-        return items.stream()
+        return stacks.stream()
+                .map(ItemStack::getItem)
                 .filter(i -> i instanceof Spell)
                 .map(i -> (Spell) i)
                 .collect(Collectors.toList());
     }
 
     public boolean isEmpty() {
-        return items.isEmpty();
+        return stacks.isEmpty();
     }
 
     public void printInventory() {
-        if (items.isEmpty()) {
+        if (stacks.isEmpty()) {
             System.out.println("Inventory is empty.");
             return;
         }
         System.out.println("--- Inventory ---");
-        for (int i = 0; i < items.size(); i++) {
-            System.out.println((i + 1) + ". " + items.get(i).toString());
+        for (int i = 0; i < stacks.size(); i++) {
+            System.out.println((i + 1) + ". " + stacks.get(i).toString());
         }
     }
-}
\ No newline at end of file
+}
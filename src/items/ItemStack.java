@@ -0,0 +1,34 @@
+package items;
+
+/**
+ * One inventory entry: an item definition and how many of it are held.
+ * Consumables of the same name share a stack; gear always has a stack of its own,
+ * since each piece wears down separately.
+ */
+public final class ItemStack {
+    private final Item item;
+    private int count;
+
+    ItemStack(Item item, int count) {
+        this.item = item;
+        this.count = count;
+    }
+
+    public Item getItem() { return item; }
+    public int getCount() { return count; }
+
+    void add(int amount) { count += amount; }
+    void removeOne() { count--; }
+
+    /**
+     * @return The item's name, with the count appended when more than one is held.
+     */
+    public String getLabel() {
+        return (count > 1) ? item.getName() + " x" + count : item.getName();
+    }
+
+    @Override
+    public String toString() {
+        return (count > 1) ? item + " x" + count : item.toString();
+    }
+}
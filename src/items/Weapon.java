@@ -5,6 +5,9 @@ package items;
  * Data derived from: Weaponry.txt
  */
 public class Weapon extends Item {
+    /** Durability lost for every round the weapon is wielded in battle. */
+    public static final double WEAR_PER_ROUND = 1.5;
+
     private final double baseDamage;
     private final int requiredHands;
     private double durability; // Current durability (0.0 to 100.0)
@@ -32,8 +35,15 @@ public class Weapon extends Item {
     
     // Degrade weapon slowly (1-2% per round)
     public void degrade() {
-        if (durability > 0) {
-            durability = Math.max(0, durability - 1.5); // 1.5% degradation per round
+        wear(1);
+    }
+
+    /**
+     * Applies several rounds of wear in one step; same as calling degrade() that many times.
+     */
+    public void wear(int rounds) {
+        if (durability > 0 && rounds > 0) {
+            durability = Math.max(0, durability - WEAR_PER_ROUND * rounds); // 1.5% degradation per round
         }
     }
     
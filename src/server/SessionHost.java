@@ -0,0 +1,126 @@
+package server;
+
+import common.GameSession;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many independent game sessions inside one JVM.
+ * Each session runs the normal GameRunner menu on its own (virtual, when available) thread,
+ * blocking on its own input channel while idle, so thousands of mostly-idle players
+ * cost little more than their stacks and a couple of small buffers.
+ */
+public class SessionHost implements AutoCloseable {
+
+    // Fallback stack size for platform threads on JVMs without virtual threads
+    private static final long PLATFORM_STACK_SIZE = 512 * 1024;
+
+    private final ExecutorService executor;
+    private final Set<GameSession> sessions = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocket serverSocket;
+
+    public SessionHost() {
+        this.executor = createExecutor();
+    }
+
+    /**
+     * Starts a new session over the given channels.
+     *
+     * @param in      Player input (one command per line).
+     * @param out     Player output.
+     * @param onClose Optional callback invoked once the session has released its channels.
+     * @return The running session.
+     */
+    public GameSession open(InputStream in, OutputStream out, Runnable onClose) {
+        GameSession session = new GameSession(in, out, onClose);
+        sessions.add(session);
+        executor.execute(() -> {
+            try {
+                session.run();
+            } finally {
+                sessions.remove(session);
+            }
+        });
+        return session;
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Accepts TCP connections on the given port and opens one session per connection.
+     * Blocks the calling thread until the host is closed.
+     *
+     * @param port Local port to listen on.
+     */
+    public void listen(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port)) {
+            this.serverSocket = server;
+            System.out.println("Hosting game sessions on port " + server.getLocalPort());
+
+            while (!server.isClosed()) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketException e) {
+                    break; // Listener closed by close()
+                }
+                socket.setTcpNoDelay(true);
+                open(socket.getInputStream(), socket.getOutputStream(), null);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and ends every running session.
+     */
+    @Override
+    public void close() {
+        ServerSocket server = serverSocket;
+        if (server != null) {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+        for (GameSession session : sessions) {
+            session.close();
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Uses one virtual thread per session on Java 21+, and small-stack daemon threads otherwise.
+     * Looked up reflectively so the project still compiles on older JDKs.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(null, task, "game-session", PLATFORM_STACK_SIZE);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
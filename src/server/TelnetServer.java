@@ -0,0 +1,498 @@
+package server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-blocking telnet / line-protocol front end for hosted game sessions.
+ * One selector thread multiplexes every connection: it decodes incoming lines into each
+ * session's input pipe and drains queued output with gathering writes from pooled buffers.
+ * The games themselves still run unchanged on SessionHost threads, blocking on their pipes.
+ */
+public class TelnetServer implements Runnable, AutoCloseable {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int OUTPUT_BUFFER_SIZE = 2048;
+    private static final int MAX_POOLED_BUFFERS = 4096;
+    private static final int MAX_GATHER = 16;
+    private static final int INPUT_CAPACITY = 512;
+    private static final long MAX_PENDING_OUTPUT = 64 * 1024;
+
+    // Telnet protocol bytes (RFC 854)
+    private static final int IAC = 255;
+    private static final int SB = 250;
+    private static final int SE = 240;
+    private static final int WILL = 251;
+    private static final int DONT = 254;
+
+    private static final int TELNET_DATA = 0;
+    private static final int TELNET_COMMAND = 1;
+    private static final int TELNET_OPTION = 2;
+    private static final int TELNET_SUBNEGOTIATION = 3;
+    private static final int TELNET_SUBNEGOTIATION_IAC = 4;
+
+    private final SessionHost host;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final BufferPool pool = new BufferPool(OUTPUT_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    private final Queue<Connection> pendingUpdates = new ConcurrentLinkedQueue<>();
+
+    // Owned by the selector thread only
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+
+    private volatile boolean running = true;
+
+    public TelnetServer(SessionHost host, int port) throws IOException {
+        this.host = host;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * The selector loop. Blocks the calling thread until close() is called.
+     */
+    @Override
+    public void run() {
+        System.out.println("Telnet front end listening on port " + getPort());
+        while (running) {
+            try {
+                selector.select();
+                applyPendingUpdates();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(connection);
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Telnet selector error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            serverChannel.close();
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    ((Connection) key.attachment()).closeChannel();
+                }
+            }
+            selector.close();
+        } catch (IOException ignored) {
+            // Shutting down anyway
+        }
+    }
+
+    // SELECTOR THREAD
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            host.open(connection.input, connection.output, connection::onSessionClosed);
+        }
+    }
+
+    private void applyPendingUpdates() {
+        Connection connection;
+        while ((connection = pendingUpdates.poll()) != null) {
+            connection.updateQueued.set(false);
+            if (!connection.key.isValid()) continue;
+
+            if (connection.sessionClosed && connection.outbound.isEmpty()) {
+                connection.closeChannel();
+                continue;
+            }
+            int ops = 0;
+            if (!connection.peerClosed && connection.input.hasRoom()) ops |= SelectionKey.OP_READ;
+            if (!connection.outbound.isEmpty()) ops |= SelectionKey.OP_WRITE;
+            connection.key.interestOps(ops);
+        }
+    }
+
+    private void read(Connection connection) {
+        int room = connection.input.room();
+        if (room == 0) {
+            connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_READ);
+            return;
+        }
+
+        readBuffer.clear();
+        readBuffer.limit(Math.min(READ_BUFFER_SIZE, room));
+        int count;
+        try {
+            count = connection.channel.read(readBuffer);
+        } catch (IOException e) {
+            count = -1;
+        }
+        if (count < 0) {
+            connection.peerClosed = true;
+            connection.input.endOfStream();
+            connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_READ);
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            connection.decode(readBuffer.get() & 0xFF);
+        }
+        connection.input.publish();
+
+        if (!connection.input.hasRoom()) {
+            // Stop reading until the session catches up; it re-arms OP_READ when it drains the pipe
+            connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_READ);
+        }
+    }
+
+    private void write(Connection connection) {
+        int count = 0;
+        for (ByteBuffer buffer : connection.outbound) {
+            if (count == MAX_GATHER) break;
+            gather[count++] = buffer;
+        }
+
+        long written;
+        try {
+            written = connection.channel.write(gather, 0, count);
+        } catch (IOException e) {
+            Arrays.fill(gather, 0, count, null);
+            connection.closeChannel();
+            return;
+        }
+        Arrays.fill(gather, 0, count, null);
+
+        ByteBuffer head;
+        while ((head = connection.outbound.peek()) != null && !head.hasRemaining()) {
+            connection.outbound.poll();
+            pool.release(head);
+        }
+        connection.drained(written);
+
+        if (connection.outbound.isEmpty()) {
+            if (connection.sessionClosed) {
+                connection.closeChannel();
+            } else {
+                connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    /**
+     * State for one client socket and the session attached to it.
+     */
+    private final class Connection {
+        final SocketChannel channel;
+        SelectionKey key;
+
+        final ChannelInput input = new ChannelInput(this);
+        final ChannelOutput output = new ChannelOutput(this);
+        final ConcurrentLinkedQueue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        final AtomicLong pendingBytes = new AtomicLong();
+        final AtomicBoolean updateQueued = new AtomicBoolean();
+        final ReentrantLock outputLock = new ReentrantLock();
+        final Condition outputDrained = outputLock.newCondition();
+
+        volatile boolean sessionClosed;
+        volatile boolean channelClosed;
+        boolean peerClosed;
+
+        // Telnet decoding state (selector thread only)
+        int telnetState = TELNET_DATA;
+        boolean lastWasCarriageReturn;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Strips telnet negotiation and normalises CR, CR LF and CR NUL to a single LF.
+         */
+        void decode(int b) {
+            switch (telnetState) {
+                case TELNET_COMMAND:
+                    if (b == IAC) {
+                        telnetState = TELNET_DATA;
+                        input.put((byte) b); // Escaped 0xFF data byte
+                    } else if (b == SB) {
+                        telnetState = TELNET_SUBNEGOTIATION;
+                    } else if (b >= WILL && b <= DONT) {
+                        telnetState = TELNET_OPTION;
+                    } else {
+                        telnetState = TELNET_DATA;
+                    }
+                    return;
+                case TELNET_OPTION:
+                    telnetState = TELNET_DATA;
+                    return;
+                case TELNET_SUBNEGOTIATION:
+                    if (b == IAC) telnetState = TELNET_SUBNEGOTIATION_IAC;
+                    return;
+                case TELNET_SUBNEGOTIATION_IAC:
+                    telnetState = (b == SE) ? TELNET_DATA : TELNET_SUBNEGOTIATION;
+                    return;
+                default:
+                    break;
+            }
+
+            if (b == IAC) {
+                telnetState = TELNET_COMMAND;
+                return;
+            }
+            if (lastWasCarriageReturn && (b == '\n' || b == 0)) {
+                lastWasCarriageReturn = false;
+                return;
+            }
+            lastWasCarriageReturn = (b == '\r');
+            input.put(lastWasCarriageReturn ? (byte) '\n' : (byte) b);
+        }
+
+        /**
+         * Asks the selector thread to recompute this connection's interest set.
+         * Called from session threads; coalesced so a burst of writes costs one wakeup.
+         */
+        void requestUpdate() {
+            if (updateQueued.compareAndSet(false, true)) {
+                pendingUpdates.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void onSessionClosed() {
+            sessionClosed = true;
+            requestUpdate();
+        }
+
+        void drained(long written) {
+            long remaining = pendingBytes.addAndGet(-written);
+            if (remaining < MAX_PENDING_OUTPUT) {
+                outputLock.lock();
+                try {
+                    outputDrained.signalAll();
+                } finally {
+                    outputLock.unlock();
+                }
+            }
+        }
+
+        void closeChannel() {
+            if (channelClosed) return;
+            channelClosed = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Peer already gone
+            }
+            ByteBuffer buffer;
+            while ((buffer = outbound.poll()) != null) {
+                pool.release(buffer);
+            }
+            input.endOfStream();
+            outputLock.lock();
+            try {
+                outputDrained.signalAll();
+            } finally {
+                outputLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Session-side view of the decoded input: a small bounded byte pipe.
+     * The selector thread fills it; the session thread blocks on it like a socket.
+     */
+    private static final class ChannelInput extends InputStream {
+        private final Connection connection;
+        private final byte[] buffer = new byte[INPUT_CAPACITY];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition available = lock.newCondition();
+        private int head;
+        private int count;
+        private boolean eof;
+
+        ChannelInput(Connection connection) {
+            this.connection = connection;
+        }
+
+        int room() {
+            lock.lock();
+            try {
+                return buffer.length - count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean hasRoom() {
+            return room() > 0;
+        }
+
+        // Selector thread: only ever called after room() reported space
+        void put(byte b) {
+            lock.lock();
+            try {
+                if (count == buffer.length) return;
+                buffer[(head + count) % buffer.length] = b;
+                count++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void publish() {
+            lock.lock();
+            try {
+                if (count > 0) available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void endOfStream() {
+            lock.lock();
+            try {
+                eof = true;
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            boolean wasFull;
+            int copied = 0;
+
+            lock.lock();
+            try {
+                while (count == 0 && !eof) {
+                    available.awaitUninterruptibly();
+                }
+                if (count == 0) return -1;
+
+                wasFull = count == buffer.length;
+                while (copied < len && count > 0) {
+                    b[off + copied++] = buffer[head];
+                    head = (head + 1) % buffer.length;
+                    count--;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (wasFull) {
+                connection.requestUpdate(); // Re-arm OP_READ
+            }
+            return copied;
+        }
+
+        @Override
+        public void close() {
+            endOfStream();
+        }
+    }
+
+    /**
+     * Session-side output: copies bytes into pooled buffers and queues them for the selector.
+     * Blocks the writing session, not the selector, when a slow client falls too far behind.
+     */
+    private final class ChannelOutput extends OutputStream {
+        private final Connection connection;
+
+        ChannelOutput(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            awaitCapacity();
+
+            while (len > 0) {
+                ByteBuffer buffer = pool.acquire();
+                int chunk = Math.min(len, buffer.remaining());
+                buffer.put(b, off, chunk);
+                buffer.flip();
+
+                connection.outbound.add(buffer);
+                connection.pendingBytes.addAndGet(chunk);
+                off += chunk;
+                len -= chunk;
+            }
+            connection.requestUpdate();
+        }
+
+        private void awaitCapacity() throws IOException {
+            if (connection.pendingBytes.get() < MAX_PENDING_OUTPUT && !connection.channelClosed) return;
+
+            connection.outputLock.lock();
+            try {
+                while (connection.pendingBytes.get() >= MAX_PENDING_OUTPUT && !connection.channelClosed) {
+                    connection.outputDrained.awaitUninterruptibly();
+                }
+            } finally {
+                connection.outputLock.unlock();
+            }
+            if (connection.channelClosed) {
+                throw new IOException("Connection closed");
+            }
+        }
+    }
+}
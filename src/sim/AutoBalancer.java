@@ -0,0 +1,321 @@
+package sim;
+
+import common.GameSession;
+import entities.EntityPool;
+import entities.Hero;
+import entities.MonsterTemplate;
+import game.ValorGame;
+import game.ValorGame.Outcome;
+import utils.AssetCatalog;
+import utils.GameDataLoader;
+import utils.MonsterScaling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tunes the monster scaling constants that can move a Valor result (defense per level, its
+ * floor, the dodge cap and the spawn interval) against a target win-rate curve over hero levels.
+ * Valor monsters never attack, so the damage constants are left as they are.
+ *
+ * <p>Only Valor matches are scored. LegendsGame battles read the same file, so a tuned
+ * defense or dodge cap also changes Legends fights without having been measured there.</p>
+ *
+ * <p>The search is a stochastic hill climb: each step perturbs one constant of the best
+ * candidate so far and scores it with headless matches played in parallel on a ForkJoinPool.
+ * Matches are played in batches, and a candidate is dropped as soon as even its most
+ * optimistic loss (win rates moved toward the targets by a Hoeffding confidence margin)
+ * cannot beat the best loss. Every candidate sees the same match seeds, so differences
+ * between candidates are not drowned out by spawn luck.</p>
+ *
+ * <p>Usage: java -cp bin sim.AutoBalancer [--targets 1:0.75,3:0.65,5:0.55,8:0.45]
+ * [--iterations N] [--matches N] [--batch N] [--rounds R] [--seed S] [--out data/MonsterScaling.txt]</p>
+ */
+public class AutoBalancer {
+
+    private static final double CONFIDENCE_DELTA = 0.05;
+    private static final double STEP_DECAY = 0.95; // Applied to a constant's step after a rejected move
+    private static final int LEAF_SIZE = 8;
+    private static final int POOL_CAPACITY = 32; // Idle monsters/heroes kept per worker; a match never has more alive
+
+    // Constants searched, as MonsterScaling constructor positions, and their search box: {min, max, initial step}
+    private static final int[] TUNED = {2, 3, 4, 5};
+    private static final double[][] BOUNDS = {
+            {2, 40, 3},   // defense per level
+            {0, 30, 2},   // min defense
+            {10, 90, 6},  // dodge cap (percent, as in the data files)
+            {3, 16, 1}    // spawn interval
+    };
+    private static final int SPAWN_INTERVAL = 5;
+
+    private final List<Hero> roster;
+    private final List<MonsterTemplate> catalog;
+    private final int[] levels;
+    private final double[] targets;
+    private final int matchesPerLevel;
+    private final int batchSize;
+    private final int maxRounds;
+    private final long seed;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    public AutoBalancer(List<Hero> roster, List<MonsterTemplate> catalog, int[] levels, double[] targets,
+                        int matchesPerLevel, int batchSize, int maxRounds, long seed) {
+        this.roster = roster;
+        this.catalog = catalog;
+        this.levels = levels;
+        this.targets = targets;
+        this.matchesPerLevel = matchesPerLevel;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String curve = "1:0.75,3:0.65,5:0.55,8:0.45";
+        int iterations = 40;
+        int matches = 64;
+        int batch = 16;
+        int maxRounds = 150;
+        long seed = 611L;
+        String outFile = "data" + File.separator + "MonsterScaling.txt";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--targets": curve = args[++i]; break;
+                case "--iterations": iterations = Integer.parseInt(args[++i]); break;
+                case "--matches": matches = Integer.parseInt(args[++i]); break;
+                case "--batch": batch = Integer.parseInt(args[++i]); break;
+                case "--rounds": maxRounds = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--out": outFile = args[++i]; break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        String[] points = curve.split(",");
+        int[] levels = new int[points.length];
+        double[] targets = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            String[] pair = points[i].trim().split(":");
+            levels[i] = Integer.parseInt(pair[0]);
+            targets[i] = Double.parseDouble(pair[1]);
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        if (roster.size() < 3 || catalog.isEmpty()) {
+            System.err.println("Need at least 3 heroes and 1 monster. Check data/ directory.");
+            return;
+        }
+
+        AutoBalancer balancer = new AutoBalancer(roster, catalog, levels, targets, matches, batch, maxRounds, seed);
+        long start = System.nanoTime();
+        MonsterScaling best = balancer.optimize(GameDataLoader.getMonsterScaling(), iterations, new Random(seed));
+        System.err.printf("Search finished in %.1fs%n", (System.nanoTime() - start) / 1e9);
+
+        if (outFile.equals("-")) {
+            System.out.print(best.toDataFile());
+        } else {
+            Files.write(new File(outFile).toPath(), best.toDataFile().getBytes(StandardCharsets.UTF_8));
+            System.err.println("Wrote " + outFile);
+        }
+    }
+
+    /**
+     * Hill-climbs from the given constants and returns the best candidate found.
+     */
+    public MonsterScaling optimize(MonsterScaling start, int iterations, Random search) {
+        double[] steps = new double[BOUNDS.length];
+        for (int i = 0; i < steps.length; i++) steps[i] = BOUNDS[i][2];
+
+        MonsterScaling best = start;
+        Evaluation bestEval = evaluate(best, Double.POSITIVE_INFINITY);
+        report("start", best, bestEval);
+
+        int rejectedEarly = 0;
+        for (int it = 1; it <= iterations; it++) {
+            int param = search.nextInt(BOUNDS.length);
+            MonsterScaling candidate = neighbour(best, param, steps[param], search);
+            Evaluation eval = evaluate(candidate, bestEval.loss);
+
+            if (eval.complete && eval.loss < bestEval.loss) {
+                best = candidate;
+                bestEval = eval;
+                report("step " + it, best, bestEval);
+            } else {
+                if (!eval.complete) rejectedEarly++;
+                steps[param] *= STEP_DECAY;
+            }
+        }
+
+        System.err.printf("%d of %d candidates stopped early%n", rejectedEarly, iterations);
+        return best;
+    }
+
+    private void report(String label, MonsterScaling scaling, Evaluation eval) {
+        StringBuilder curve = new StringBuilder();
+        for (int i = 0; i < levels.length; i++) {
+            curve.append(String.format(Locale.ROOT, " L%d=%.2f/%.2f", levels[i], eval.winRates[i], targets[i]));
+        }
+        System.err.printf(Locale.ROOT, "%-8s loss=%.4f%s | %s%n", label, eval.loss, curve, scaling);
+    }
+
+    // Moves the constant in slot param of TUNED by about one step, staying inside its box
+    private static MonsterScaling neighbour(MonsterScaling base, int param, double step, Random search) {
+        double[] values = {
+                base.getDamagePerLevel(), base.getMinDamage(), base.getDefensePerLevel(),
+                base.getMinDefense(), base.getDodgeCap(), base.getSpawnInterval()
+        };
+        int slot = TUNED[param];
+        double delta = (search.nextBoolean() ? 1 : -1) * step * (0.5 + search.nextDouble());
+        if (slot == SPAWN_INTERVAL) {
+            delta = Math.signum(delta) * Math.max(1, Math.round(Math.abs(delta)));
+        }
+        values[slot] = Math.max(BOUNDS[param][0], Math.min(BOUNDS[param][1], values[slot] + delta));
+        return new MonsterScaling(values[0], values[1], values[2], values[3], values[4], (int) Math.round(values[5]));
+    }
+
+    /**
+     * Win rates and loss for one candidate. When complete is false the candidate was
+     * stopped early and loss holds the optimistic bound that ruled it out.
+     */
+    private static final class Evaluation {
+        final double[] winRates;
+        final double loss;
+        final boolean complete;
+
+        Evaluation(double[] winRates, double loss, boolean complete) {
+            this.winRates = winRates;
+            this.loss = loss;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * Plays batches of matches at every target level until the match budget is spent or the
+     * candidate provably cannot beat the cutoff loss.
+     */
+    Evaluation evaluate(MonsterScaling scaling, double cutoff) {
+        int[] wins = new int[levels.length];
+        byte[] results = new byte[levels.length * batchSize];
+        double[] rates = new double[levels.length];
+        int played = 0;
+
+        while (played < matchesPerLevel) {
+            int count = Math.min(batchSize, matchesPerLevel - played);
+            ForkJoinPool.commonPool().invoke(new MatchTask(scaling, played, count, results, 0, levels.length * count));
+            for (int i = 0; i < levels.length * count; i++) {
+                wins[i / count] += results[i];
+            }
+            played += count;
+
+            double loss = 0;
+            double optimistic = 0;
+            double margin = Math.sqrt(Math.log(2.0 * levels.length / CONFIDENCE_DELTA) / (2.0 * played));
+            for (int l = 0; l < levels.length; l++) {
+                rates[l] = (double) wins[l] / played;
+                double error = Math.abs(rates[l] - targets[l]);
+                loss += error * error;
+                double bound = Math.max(0, error - margin);
+                optimistic += bound * bound;
+            }
+            loss /= levels.length;
+            optimistic /= levels.length;
+
+            if (played >= matchesPerLevel) return new Evaluation(rates, loss, true);
+            if (optimistic >= cutoff) return new Evaluation(rates, optimistic, false);
+        }
+        return new Evaluation(rates, 0, true);
+    }
+
+    /**
+     * Per-thread scratch state, reused for every match the thread plays.
+     */
+    private static final class Worker {
+        final Random random = new Random();
+        final ValorGame game = new ValorGame(random);
+        final GameSession console = GameSession.headless();
+        final EntityPool pool = new EntityPool(POOL_CAPACITY);
+        final List<Hero> lineup = new ArrayList<>(3);
+
+        Worker() {
+            game.setPool(pool);
+            game.getEvents().clear(); // Nobody reads the combat text of a simulated match
+        }
+    }
+
+    /**
+     * Plays the matches of one batch; slot i is level i / count, match offset + i % count.
+     */
+    private final class MatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MonsterScaling scaling;
+        private final int offset;
+        private final int count;
+        private final byte[] results;
+        private final int from;
+        private final int to;
+
+        MatchTask(MonsterScaling scaling, int offset, int count, byte[] results, int from, int to) {
+            this.scaling = scaling;
+            this.offset = offset;
+            this.count = count;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                Worker worker = workers.get();
+                worker.game.setScaling(scaling);
+                worker.console.execute(() -> {
+                    for (int i = from; i < to; i++) {
+                        results[i] = playMatch(worker, i / count, offset + i % count);
+                    }
+                });
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MatchTask(scaling, offset, count, results, from, mid),
+                      new MatchTask(scaling, offset, count, results, mid, to));
+        }
+    }
+
+    /**
+     * @return 1 if a random party raised to the target level wins the seeded match, else 0.
+     */
+    private byte playMatch(Worker worker, int levelIndex, int match) {
+        worker.random.setSeed(TournamentRunner.mix(seed, (long) levelIndex * 1_000_003L + match));
+        worker.lineup.clear();
+        while (worker.lineup.size() < 3) {
+            Hero pick = roster.get(worker.random.nextInt(roster.size()));
+            boolean taken = false;
+            for (Hero h : worker.lineup) {
+                if (h.getName().equals(pick.getName())) taken = true;
+            }
+            if (taken) continue;
+
+            Hero hero = worker.pool.acquireHero(pick);
+            hero.advanceLevels(levels[levelIndex] - hero.getLevel());
+            worker.lineup.add(hero);
+        }
+        Outcome outcome = worker.game.simulate(worker.lineup, catalog, maxRounds);
+        for (Hero hero : worker.lineup) worker.pool.releaseHero(hero);
+        return outcome == Outcome.VICTORY ? (byte) 1 : (byte) 0;
+    }
+}
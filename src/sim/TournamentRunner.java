@@ -0,0 +1,242 @@
+package sim;
+
+import board.ValorLayout;
+import common.GameSession;
+import entities.EntityPool;
+import entities.Hero;
+import entities.MonsterTemplate;
+import game.ValorGame;
+import game.ValorGame.Outcome;
+import utils.AssetCatalog;
+import utils.GameDataLoader;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Batch tool that plays every 3-hero composition through many headless Valor matches.
+ * Compositions are split over a work-stealing ForkJoinPool; each worker thread reuses one
+ * ValorGame, one seeded Random and one row buffer, and every finished composition is
+ * streamed out immediately as a CSV row (in completion order, keyed by composition id).
+ *
+ * <p>Usage: java -cp bin sim.TournamentRunner [--matches N] [--rounds R] [--seed S]
+ * [--ordered] [--layout LANESxROWS] [--out results.csv]</p>
+ *
+ * <p>--layout plays on a custom map for stress runs; the trio always holds the first three lanes.</p>
+ *
+ * <p>Every match seed is derived from (seed, composition, match), so results are reproducible
+ * no matter how the pool schedules the work.</p>
+ */
+public class TournamentRunner {
+
+    private static final int DEFAULT_MATCHES = 20;
+    private static final int DEFAULT_MAX_ROUNDS = 200;
+    private static final int LEAF_SIZE = 4; // Compositions per leaf task before splitting stops
+    private static final int POOL_CAPACITY = 32; // Idle monsters/heroes kept per worker; a match never has more alive
+
+    private final List<Hero> roster;
+    private final List<MonsterTemplate> catalog;
+    private final int[] compositions; // Flattened roster index triples, lane order
+    private final int matches;
+    private final int maxRounds;
+    private final long seed;
+    private final PrintStream sink;
+    private ValorLayout layout = GameDataLoader.getValorLayout();
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    public TournamentRunner(List<Hero> roster, List<MonsterTemplate> catalog, boolean ordered,
+                            int matches, int maxRounds, long seed, PrintStream sink) {
+        this.roster = roster;
+        this.catalog = catalog;
+        this.compositions = enumerate(roster.size(), ordered);
+        this.matches = matches;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+        this.sink = sink;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int matches = DEFAULT_MATCHES;
+        int maxRounds = DEFAULT_MAX_ROUNDS;
+        long seed = 611L;
+        boolean ordered = false;
+        String outFile = null;
+        ValorLayout layout = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches": matches = Integer.parseInt(args[++i]); break;
+                case "--rounds": maxRounds = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--ordered": ordered = true; break;
+                case "--layout": layout = ValorLayout.parse(args[++i]); break;
+                case "--out": outFile = args[++i]; break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        AssetCatalog assets = AssetCatalog.load();
+        List<Hero> roster = assets.heroes().join();
+        List<MonsterTemplate> catalog = assets.monsters().join();
+
+        if (roster.size() < 3 || catalog.isEmpty()) {
+            System.err.println("Need at least 3 heroes and 1 monster. Check data/ directory.");
+            return;
+        }
+
+        // Capture the real stdout before any worker binds a headless console
+        PrintStream sink = (outFile == null) ? System.out : new PrintStream(new FileOutputStream(outFile), false, "UTF-8");
+        TournamentRunner runner = new TournamentRunner(roster, catalog, ordered, matches, maxRounds, seed, sink);
+        if (layout != null) runner.setLayout(layout);
+
+        long start = System.nanoTime();
+        runner.run(ForkJoinPool.commonPool());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("Played %d compositions x %d matches in %.1fs on %d threads%n",
+                runner.getCompositionCount(), matches, seconds, ForkJoinPool.commonPool().getParallelism());
+        if (outFile != null) sink.close();
+    }
+
+    /**
+     * Map every match is played on; defaults to data/ValorLayout.txt.
+     */
+    public void setLayout(ValorLayout layout) {
+        this.layout = layout;
+    }
+
+    public int getCompositionCount() {
+        return compositions.length / 3;
+    }
+
+    /**
+     * Plays every composition on the given pool and blocks until all rows are written.
+     */
+    public void run(ForkJoinPool pool) {
+        sink.println("composition,hero_1,class_1,hero_2,class_2,hero_3,class_3,matches,wins,losses,timeouts,win_rate,avg_rounds");
+        pool.invoke(new CompositionTask(0, getCompositionCount()));
+        sink.flush();
+    }
+
+    private final class CompositionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        CompositionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                Worker worker = workers.get();
+                worker.game.setLayout(layout);
+                worker.console.execute(() -> {
+                    for (int i = from; i < to; i++) {
+                        playComposition(worker, i);
+                    }
+                });
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CompositionTask(from, mid), new CompositionTask(mid, to));
+        }
+    }
+
+    /**
+     * Per-thread scratch state, reused for every match the thread plays.
+     */
+    private static final class Worker {
+        final Random random = new Random();
+        final ValorGame game = new ValorGame(random);
+        final GameSession console = GameSession.headless();
+        final EntityPool pool = new EntityPool(POOL_CAPACITY);
+        final List<Hero> lineup = new ArrayList<>(3);
+        final StringBuilder row = new StringBuilder(160);
+
+        Worker() {
+            game.setPool(pool);
+            game.getEvents().clear(); // Nobody reads the combat text of a simulated match
+        }
+    }
+
+    private void playComposition(Worker worker, int index) {
+        int wins = 0, losses = 0, timeouts = 0;
+        long totalRounds = 0;
+
+        for (int m = 0; m < matches; m++) {
+            worker.random.setSeed(mix(seed, (long) index * matches + m));
+            worker.lineup.clear();
+            for (int slot = 0; slot < 3; slot++) {
+                worker.lineup.add(worker.pool.acquireHero(roster.get(compositions[index * 3 + slot])));
+            }
+
+            Outcome outcome = worker.game.simulate(worker.lineup, catalog, maxRounds);
+            totalRounds += worker.game.getRoundCount();
+            for (Hero hero : worker.lineup) worker.pool.releaseHero(hero);
+            if (outcome == Outcome.VICTORY) wins++;
+            else if (outcome == Outcome.DEFEAT) losses++;
+            else timeouts++;
+        }
+
+        StringBuilder row = worker.row;
+        row.setLength(0);
+        row.append(index);
+        for (int slot = 0; slot < 3; slot++) {
+            Hero hero = roster.get(compositions[index * 3 + slot]);
+            row.append(',').append(hero.getName()).append(',').append(hero.getType());
+        }
+        row.append(',').append(matches)
+           .append(',').append(wins)
+           .append(',').append(losses)
+           .append(',').append(timeouts)
+           .append(',').append(String.format("%.4f", matches == 0 ? 0.0 : (double) wins / matches))
+           .append(',').append(String.format("%.1f", matches == 0 ? 0.0 : (double) totalRounds / matches));
+
+        synchronized (sink) {
+            sink.println(row);
+        }
+    }
+
+    /**
+     * Lists roster index triples: combinations, or every lane ordering when ordered is set.
+     */
+    private static int[] enumerate(int n, boolean ordered) {
+        List<int[]> triples = new ArrayList<>();
+        for (int a = 0; a < n; a++) {
+            for (int b = ordered ? 0 : a + 1; b < n; b++) {
+                if (b == a) continue;
+                for (int c = ordered ? 0 : b + 1; c < n; c++) {
+                    if (c == a || c == b) continue;
+                    triples.add(new int[] {a, b, c});
+                }
+            }
+        }
+        int[] flat = new int[triples.size() * 3];
+        for (int i = 0; i < triples.size(); i++) {
+            System.arraycopy(triples.get(i), 0, flat, i * 3, 3);
+        }
+        return flat;
+    }
+
+    /**
+     * SplitMix64 finaliser: decorrelates neighbouring match indices into independent seeds.
+     */
+    static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
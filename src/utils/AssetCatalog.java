@@ -0,0 +1,160 @@
+package utils;
+
+import entities.Hero;
+import entities.Hero.HeroType;
+import entities.MonsterTemplate;
+import entities.Monster.MonsterType;
+import items.Item;
+import items.Spell.SpellType;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads every data file concurrently and exposes the parsed lists as futures.
+ * Each call to load() starts a fresh set of reads, so every game still gets its own
+ * mutable hero and item objects; startup only waits for the slowest file.
+ */
+public class AssetCatalog {
+
+    private static final int LOADER_THREADS = 4;
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger(1);
+
+    // Daemon threads so a pending load never keeps the JVM alive
+    private static final ExecutorService LOADERS = Executors.newFixedThreadPool(LOADER_THREADS, task -> {
+        Thread thread = new Thread(task, "asset-loader-" + THREAD_IDS.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<FileStats> stats = Collections.synchronizedList(new ArrayList<>());
+
+    private final CompletableFuture<List<Hero>> warriors;
+    private final CompletableFuture<List<Hero>> sorcerers;
+    private final CompletableFuture<List<Hero>> paladins;
+    private final CompletableFuture<List<Hero>> heroes;
+    private final CompletableFuture<List<MonsterTemplate>> monsters;
+    private final CompletableFuture<List<Item>> items;
+
+    private AssetCatalog() {
+        warriors = submit("Warriors.txt", () -> GameDataLoader.loadHeroes("Warriors.txt", HeroType.WARRIOR));
+        sorcerers = submit("Sorcerers.txt", () -> GameDataLoader.loadHeroes("Sorcerers.txt", HeroType.SORCERER));
+        paladins = submit("Paladins.txt", () -> GameDataLoader.loadHeroes("Paladins.txt", HeroType.PALADIN));
+        heroes = concat(List.of(warriors, sorcerers, paladins));
+
+        monsters = concat(List.of(
+                submit("Dragons.txt", () -> GameDataLoader.loadMonsters("Dragons.txt", MonsterType.DRAGON)),
+                submit("Exoskeletons.txt", () -> GameDataLoader.loadMonsters("Exoskeletons.txt", MonsterType.EXOSKELETON)),
+                submit("Spirits.txt", () -> GameDataLoader.loadMonsters("Spirits.txt", MonsterType.SPIRIT))));
+
+        // Same order as the market has always listed them
+        items = concat(List.of(
+                submit("Weaponry.txt", () -> GameDataLoader.loadWeapons("Weaponry.txt")),
+                submit("Armory.txt", () -> GameDataLoader.loadArmor("Armory.txt")),
+                submit("Potions.txt", () -> GameDataLoader.loadPotions("Potions.txt")),
+                submit("FireSpells.txt", () -> GameDataLoader.loadSpells("FireSpells.txt", SpellType.FIRE)),
+                submit("IceSpells.txt", () -> GameDataLoader.loadSpells("IceSpells.txt", SpellType.ICE)),
+                submit("LightningSpells.txt", () -> GameDataLoader.loadSpells("LightningSpells.txt", SpellType.LIGHTNING))));
+    }
+
+    /**
+     * Starts reading all asset files in the background and returns immediately.
+     */
+    public static AssetCatalog load() {
+        return new AssetCatalog();
+    }
+
+    public CompletableFuture<List<Hero>> heroes(HeroType type) {
+        switch (type) {
+            case WARRIOR: return warriors;
+            case SORCERER: return sorcerers;
+            default: return paladins;
+        }
+    }
+
+    /**
+     * @return Warriors, sorcerers and paladins, in that order.
+     */
+    public CompletableFuture<List<Hero>> heroes() { return heroes; }
+
+    /**
+     * @return Dragons, exoskeletons and spirits, in that order.
+     */
+    public CompletableFuture<List<MonsterTemplate>> monsters() { return monsters; }
+
+    /**
+     * @return Weapons, armor, potions and spells, in that order.
+     */
+    public CompletableFuture<List<Item>> items() { return items; }
+
+    /**
+     * Waits for every file and returns their timings in completion order.
+     */
+    public List<FileStats> getReport() {
+        CompletableFuture.allOf(warriors, sorcerers, paladins, monsters, items).join();
+        synchronized (stats) {
+            return new ArrayList<>(stats);
+        }
+    }
+
+    public void printReport(PrintStream out) {
+        long slowest = 0;
+        long total = 0;
+        out.println(ConsoleColors.CYAN + String.format("%-22s %8s %8s %10s", "FILE", "LINES", "RECORDS", "PARSE (ms)") + ConsoleColors.RESET);
+        for (FileStats file : getReport()) {
+            out.printf("%-22s %8d %8d %10.2f%n", file.getFileName(), file.getLines(), file.getRecords(), file.getNanos() / 1e6);
+            slowest = Math.max(slowest, file.getNanos());
+            total += file.getNanos();
+        }
+        out.printf("Slowest file: %.2f ms, sum of all files: %.2f ms%n", slowest / 1e6, total / 1e6);
+    }
+
+    private <T> CompletableFuture<List<T>> submit(String fileName, Supplier<List<T>> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            List<T> result = loader.get();
+            // Line count is per thread, so it belongs to the load that just ran here
+            stats.add(new FileStats(fileName, GameDataLoader.getLastLineCount(), result.size(), System.nanoTime() - start));
+            return result;
+        }, LOADERS);
+    }
+
+    private static <T> CompletableFuture<List<T>> concat(List<CompletableFuture<? extends List<? extends T>>> parts) {
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<T> all = new ArrayList<>();
+            for (CompletableFuture<? extends List<? extends T>> part : parts) {
+                all.addAll(part.join());
+            }
+            return all;
+        });
+    }
+
+    /**
+     * Parse timing and size of one asset file.
+     */
+    public static class FileStats {
+        private final String fileName;
+        private final int lines;
+        private final int records;
+        private final long nanos;
+
+        FileStats(String fileName, int lines, int records, long nanos) {
+            this.fileName = fileName;
+            this.lines = lines;
+            this.records = records;
+            this.nanos = nanos;
+        }
+
+        public String getFileName() { return fileName; }
+        public int getLines() { return lines; }
+        public int getRecords() { return records; }
+        public long getNanos() { return nanos; }
+    }
+}
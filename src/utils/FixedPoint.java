@@ -0,0 +1,40 @@
+package utils;
+
+/**
+ * Fixed-point grid for combat stats: a value is stored as an int counting thousandths,
+ * so 12.5 HP is 12500. Sums and comparisons are exact, and a stat block packs into an int[].
+ * Values are rounded half to even onto the grid.
+ *
+ * <p>The largest representable value is about 2.1 million, far above any HP, mana, stat or
+ * purse a hero reaches; anything beyond throws instead of wrapping.</p>
+ */
+public final class FixedPoint {
+
+    /** Fixed-point units per whole unit. */
+    public static final int SCALE = 1000;
+
+    private FixedPoint() {}
+
+    /**
+     * @return The nearest fixed-point value to a double.
+     * @throws ArithmeticException if the value does not fit.
+     */
+    public static int of(double value) {
+        double scaled = Math.rint(value * SCALE);
+        if (Double.isNaN(scaled) || scaled > Integer.MAX_VALUE || scaled < Integer.MIN_VALUE) {
+            throw new ArithmeticException("Value out of fixed-point range: " + value);
+        }
+        return (int) scaled;
+    }
+
+    public static double toDouble(int fixed) {
+        return fixed / (double) SCALE;
+    }
+
+    /**
+     * Rounds a double onto the fixed-point grid, so of(snap(x)) == of(x) and snap(snap(x)) == snap(x).
+     */
+    public static double snap(double value) {
+        return toDouble(of(value));
+    }
+}
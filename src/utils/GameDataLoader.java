@@ -1,17 +1,18 @@
 package utils;
 
+import board.ValorLayout;
 import entities.*;
 import entities.Hero.HeroType;
 import entities.Monster.MonsterType;
 import items.*;
 import items.Spell.SpellType;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Utility class responsible for parsing game data from external text files.
@@ -21,225 +22,240 @@ import java.util.List;
 public class GameDataLoader {
 
     private static final String DATA_DIR = "data";
-
-    // ENTITY LOADERS
-    public static List<Hero> loadHeroes(String fileName, HeroType type) {
-        List<Hero> heroes = new ArrayList<>();
+    private static final String SCALING_FILE = "MonsterScaling.txt";
+
+    private static final String LAYOUT_FILE = "ValorLayout.txt";
+    private static volatile MonsterScaling monsterScaling; // Loaded on first monster spawn
+    private static volatile ValorLayout valorLayout; // Loaded on first Valor game
+
+    // Lines read by the most recent load on each thread (for AssetCatalog's report)
+    private static final ThreadLocal<int[]> LAST_LINE_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    // Records the most recent load on each thread skipped as short or malformed (for LiveCatalog)
+    private static final ThreadLocal<int[]> LAST_REJECTED_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Reads a data file record by record with the streaming tokenizer, skipping blanks,
+     * headers and records with too few fields. Malformed lines are logged with their number.
+     *
+     * @param warnIfMissing Whether a missing file is worth a warning (entities) or expected (items).
+     */
+    private static void forEachRecord(String fileName, int minFields, boolean warnIfMissing, RecordReader.RecordHandler parser) {
+        int[] lineCount = LAST_LINE_COUNT.get();
+        int[] rejectedCount = LAST_REJECTED_COUNT.get();
+        lineCount[0] = 0;
+        rejectedCount[0] = 0;
         File file = new File(DATA_DIR + File.separator + fileName);
 
         if (!file.exists()) {
-            System.err.println("Warning: Config file not found: " + fileName);
-            return heroes;
+            if (warnIfMissing) System.err.println("Warning: Config file not found: " + fileName);
+            return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (shouldSkip(line)) continue;
-                try {
-                    String[] parts = line.trim().split("\\s+");
-                    // Format: Name/mana/strength/agility/dexterity/starting money/starting experience
-                    if (parts.length < 7) continue;
-
-                    Hero hero = new Hero(parts[0], type,
-                            Double.parseDouble(parts[1]), // Mana
-                            Double.parseDouble(parts[2]), // Str
-                            Double.parseDouble(parts[3]), // Agi
-                            Double.parseDouble(parts[4]), // Dex
-                            Double.parseDouble(parts[5]), // Money
-                            Integer.parseInt(parts[6])    // XP
-                    );
-                    if (hero != null) heroes.add(hero);
-                } catch (Exception e) {
-                    logError(fileName, line);
-                }
-            }
+        try (RecordReader reader = new RecordReader(new FileReader(file), fileName)) {
+            reader.forEach(minFields, parser);
+            lineCount[0] = reader.getLineNumber();
+            rejectedCount[0] = reader.getRejectedCount();
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return heroes;
     }
 
-    public static List<Monster> loadMonsters(String fileName, MonsterType type) {
-        List<Monster> monsters = new ArrayList<>();
+    /**
+     * Streams monsters from a data file without building a list, for catalogs too large
+     * to hold in memory. The caller must close the stream.
+     */
+    public static Stream<MonsterTemplate> streamMonsters(String fileName, MonsterType type) throws IOException {
         File file = new File(DATA_DIR + File.separator + fileName);
+        RecordReader reader = new RecordReader(new FileReader(file), fileName);
+        // Format: Name/level/damage/defense/dodge chance
+        return reader.stream(5, r -> new MonsterTemplate(r.getString(0), type,
+                r.getInt(1),          // Level
+                r.getDouble(2),       // Damage
+                r.getDouble(3),       // Defense
+                r.getDouble(4)        // Dodge
+        ));
+    }
 
-        if (!file.exists()) {
-            System.err.println("Warning: Config file not found: " + fileName);
-            return monsters;
-        }
+    /**
+     * @return Number of lines read by the last load performed on the calling thread.
+     */
+    public static int getLastLineCount() {
+        return LAST_LINE_COUNT.get()[0];
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (shouldSkip(line)) continue;
-                try {
-                    String[] parts = line.trim().split("\\s+");
-                    // Format: Name/level/damage/defense/dodge chance
-                    if (parts.length < 5) continue;
+    /**
+     * @return Records skipped as short or malformed by the last load performed on the calling thread.
+     */
+    public static int getLastRejectedCount() {
+        return LAST_REJECTED_COUNT.get()[0];
+    }
 
-                    Monster monster = createMonster(parts[0], type,
-                            Integer.parseInt(parts[1]),   // Level
-                            Integer.parseInt(parts[1]) * 100.0, // HP = level * 100
-                            Double.parseDouble(parts[2]), // Damage
-                            Double.parseDouble(parts[3]), // Defense
-                            Double.parseDouble(parts[4])  // Dodge
-                    );
-                    if (monster != null) monsters.add(monster);
-                } catch (Exception e) {
-                    logError(fileName, line);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    // ENTITY LOADERS
+    public static List<Hero> loadHeroes(String fileName, HeroType type) {
+        List<Hero> heroes = new ArrayList<>();
+        // Format: Name/mana/strength/agility/dexterity/starting money/starting experience
+        forEachRecord(fileName, 7, true, r -> heroes.add(new Hero(r.getString(0), type,
+                r.getDouble(1),       // Mana
+                r.getDouble(2),       // Str
+                r.getDouble(3),       // Agi
+                r.getDouble(4),       // Dex
+                r.getDouble(5),       // Money
+                r.getInt(6)           // XP
+        )));
+        return heroes;
+    }
+
+    public static List<MonsterTemplate> loadMonsters(String fileName, MonsterType type) {
+        List<MonsterTemplate> monsters = new ArrayList<>();
+        // Format: Name/level/damage/defense/dodge chance
+        forEachRecord(fileName, 5, true, r -> monsters.add(new MonsterTemplate(r.getString(0), type,
+                r.getInt(1),          // Level
+                r.getDouble(2),       // Damage
+                r.getDouble(3),       // Defense
+                r.getDouble(4)        // Dodge
+        )));
         return monsters;
     }
 
     // ITEM LOADERS
     public static List<Weapon> loadWeapons(String fileName) {
         List<Weapon> weapons = new ArrayList<>();
-        File file = new File(DATA_DIR + File.separator + fileName);
-
-        if (!file.exists()) return weapons;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (shouldSkip(line)) continue;
-                try {
-                    String[] parts = line.trim().split("\\s+");
-                    // Format: Name/cost/level/damage/required hands
-                    if (parts.length < 5) continue;
-
-                    weapons.add(new Weapon(
-                            parts[0],                     // Name
-                            Double.parseDouble(parts[1]), // Cost
-                            Integer.parseInt(parts[2]),   // Min Level
-                            Double.parseDouble(parts[3]), // Damage
-                            Integer.parseInt(parts[4])    // Hands
-                    ));
-                } catch (Exception e) {
-                    logError(fileName, line);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Format: Name/cost/level/damage/required hands
+        forEachRecord(fileName, 5, false, r -> weapons.add(new Weapon(
+                r.getString(0),       // Name
+                r.getDouble(1),       // Cost
+                r.getInt(2),          // Min Level
+                r.getDouble(3),       // Damage
+                r.getInt(4)           // Hands
+        )));
         return weapons;
     }
 
     public static List<Armor> loadArmor(String fileName) {
         List<Armor> armorList = new ArrayList<>();
-        File file = new File(DATA_DIR + File.separator + fileName);
-
-        if (!file.exists()) return armorList;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (shouldSkip(line)) continue;
-                try {
-                    String[] parts = line.trim().split("\\s+");
-                    // Format: Name/cost/required level/damage reduction
-                    if (parts.length < 4) continue;
-
-                    armorList.add(new Armor(
-                            parts[0],                     // Name
-                            Double.parseDouble(parts[1]), // Cost
-                            Integer.parseInt(parts[2]),   // Min Level
-                            Double.parseDouble(parts[3])  // Damage Reduction
-                    ));
-                } catch (Exception e) {
-                    logError(fileName, line);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Format: Name/cost/required level/damage reduction
+        forEachRecord(fileName, 4, false, r -> armorList.add(new Armor(
+                r.getString(0),       // Name
+                r.getDouble(1),       // Cost
+                r.getInt(2),          // Min Level
+                r.getDouble(3)        // Damage Reduction
+        )));
         return armorList;
     }
 
     // --- UPDATED METHOD FOR POTION FACTORY LOGIC ---
     public static List<Potion> loadPotions(String fileName) {
         List<Potion> potions = new ArrayList<>();
-        File file = new File(DATA_DIR + File.separator + fileName);
-
-        if (!file.exists()) return potions;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (shouldSkip(line)) continue;
-                try {
-                    String[] parts = line.trim().split("\\s+");
-                    // Format: Name/cost/required level/attribute increase/attribute affected
-                    if (parts.length < 5) continue;
-
-                    String name = parts[0];
-                    double cost = Double.parseDouble(parts[1]);
-                    int lvl = Integer.parseInt(parts[2]);
-                    double val = Double.parseDouble(parts[3]);
-                    String attr = parts[4];
-
-                    // Factory Logic
-                    if (attr.equalsIgnoreCase("Health")) {
-                        potions.add(new HealingPotion(name, cost, lvl, val));
-                    } else if (attr.equalsIgnoreCase("Mana")) {
-                        potions.add(new ManaPotion(name, cost, lvl, val));
-                    } else {
-                        potions.add(new StatPotion(name, cost, lvl, val, attr));
-                    }
-
-                } catch (Exception e) {
-                    logError(fileName, line);
-                }
+        // Format: Name/cost/required level/attribute increase/attribute affected
+        forEachRecord(fileName, 5, false, r -> {
+            String name = r.getString(0);
+            double cost = r.getDouble(1);
+            int lvl = r.getInt(2);
+            double val = r.getDouble(3);
+
+            // Factory Logic
+            if (r.fieldEqualsIgnoreCase(4, "Health")) {
+                potions.add(new HealingPotion(name, cost, lvl, val));
+            } else if (r.fieldEqualsIgnoreCase(4, "Mana")) {
+                potions.add(new ManaPotion(name, cost, lvl, val));
+            } else {
+                potions.add(new StatPotion(name, cost, lvl, val, r.getString(4)));
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        });
         return potions;
     }
 
     public static List<Spell> loadSpells(String fileName, SpellType type) {
         List<Spell> spells = new ArrayList<>();
-        File file = new File(DATA_DIR + File.separator + fileName);
-
-        if (!file.exists()) return spells;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (shouldSkip(line)) continue;
-                try {
-                    String[] parts = line.trim().split("\\s+");
-                    // Format: Name/cost/required level/damage/mana cost
-                    if (parts.length < 5) continue;
+        // Format: Name/cost/required level/damage/mana cost
+        forEachRecord(fileName, 5, false, r -> {
+            Spell spell = createSpell(r.getString(0), type,
+                    r.getDouble(1),   // Cost
+                    r.getInt(2),      // Min Level
+                    r.getDouble(3),   // Damage
+                    r.getDouble(4)    // Mana Cost
+            );
+            if (spell != null) spells.add(spell);
+        });
+        return spells;
+    }
 
-                    Spell spell = createSpell(parts[0], type,
-                            Double.parseDouble(parts[1]), // Cost
-                            Integer.parseInt(parts[2]),   // Min Level
-                            Double.parseDouble(parts[3]), // Damage
-                            Double.parseDouble(parts[4])  // Mana Cost
-                    );
-                    if (spell != null) spells.add(spell);
-                } catch (Exception e) {
-                    logError(fileName, line);
-                }
+    // BALANCE CONSTANTS
+    /**
+     * Reads monster scaling constants from "key value" lines. Unknown keys and
+     * malformed lines are skipped; any constant not present keeps its default.
+     */
+    public static MonsterScaling loadMonsterScaling(String fileName) {
+        MonsterScaling d = MonsterScaling.DEFAULT;
+        double[] v = {
+                d.getDamagePerLevel(), d.getMinDamage(), d.getDefensePerLevel(),
+                d.getMinDefense(), d.getDodgeCap(), d.getSpawnInterval()
+        };
+
+        // Format: Name/value
+        forEachRecord(fileName, 2, false, r -> {
+            double value = r.getDouble(1);
+            switch (r.getString(0)) {
+                case "damage_per_level": v[0] = value; break;
+                case "min_damage": v[1] = value; break;
+                case "defense_per_level": v[2] = value; break;
+                case "min_defense": v[3] = value; break;
+                case "dodge_cap": v[4] = value; break;
+                case "spawn_interval": v[5] = value; break;
+                default: throw new IllegalArgumentException("Unknown constant " + r.getString(0));
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+        });
+        return new MonsterScaling(v[0], v[1], v[2], v[3], v[4], (int) v[5]);
+    }
+
+    /**
+     * @return The scaling constants from data/MonsterScaling.txt, read once and cached.
+     */
+    public static MonsterScaling getMonsterScaling() {
+        MonsterScaling scaling = monsterScaling;
+        if (scaling == null) {
+            scaling = loadMonsterScaling(SCALING_FILE);
+            monsterScaling = scaling;
         }
-        return spells;
+        return scaling;
     }
 
-    private static boolean shouldSkip(String line) {
-        // Skip empty lines or header lines that start with "Name/"
-        return line.trim().isEmpty() || line.trim().startsWith("Name/");
+    /**
+     * Reads the Valor map layout (lanes, lane width, rows). Missing keys keep their default.
+     */
+    public static ValorLayout loadValorLayout(String fileName) {
+        ValorLayout d = ValorLayout.DEFAULT;
+        int[] v = {d.getLanes(), d.getLaneWidth(), d.getRows()};
+
+        // Format: Name/value
+        forEachRecord(fileName, 2, false, r -> {
+            int value = r.getInt(1);
+            switch (r.getString(0)) {
+                case "lanes": v[0] = value; break;
+                case "lane_width": v[1] = value; break;
+                case "rows": v[2] = value; break;
+                default: throw new IllegalArgumentException("Unknown layout key " + r.getString(0));
+            }
+        });
+        try {
+            return new ValorLayout(v[0], v[1], v[2]);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid layout in " + fileName + " (" + e.getMessage() + "), using the default map.");
+            return d;
+        }
     }
 
-    private static void logError(String fileName, String line) {
-        System.err.println("Skipping malformed line in " + fileName + ": " + line);
+    /**
+     * @return The layout from data/ValorLayout.txt, read once and cached.
+     */
+    public static ValorLayout getValorLayout() {
+        ValorLayout layout = valorLayout;
+        if (layout == null) {
+            layout = loadValorLayout(LAYOUT_FILE);
+            valorLayout = layout;
+        }
+        return layout;
     }
 
     // Factory method to create specific hero subclasses
@@ -258,38 +274,37 @@ public class GameDataLoader {
         }
     }
 
-    // Factory method to create specific monster subclasses
-    private static Monster createMonster(String name, MonsterType type, int level, 
-                                        double hp, double baseDamage, double defense, 
-                                        double dodgeChance) {
-        switch (type) {
-            case DRAGON:
-                return new Dragon(name, level, hp, baseDamage, defense, dodgeChance);
-            case EXOSKELETON:
-                return new Exoskeleton(name, level, hp, baseDamage, defense, dodgeChance);
-            case SPIRIT:
-                return new Spirit(name, level, hp, baseDamage, defense, dodgeChance);
-            default:
-                return null;
-        }
+    // Public factory method for runtime monster creation
+    public static Monster createMonsterFromTemplate(MonsterTemplate template, int level) {
+        return createMonsterFromTemplate(template, level, getMonsterScaling());
     }
 
-    // Public factory method for runtime monster creation
-    public static Monster createMonsterFromTemplate(Monster template, int level) {
-        // Much more reasonable scaling - base damage is way too high in data files
-        // Scale damage to be appropriate for hero HP levels (heroes have ~150-300 HP)
-        double scaledDamage = Math.max(10, level * 15 + (level * 5)); // Level 1: ~20, Level 2: ~40, Level 5: ~100
-        double scaledDefense = Math.max(5, level * 8 + (level * 2)); // Level 1: ~10, Level 2: ~20, Level 5: ~50
-        
-        return createMonster(
-            template.getName(),
-            template.getType(), 
-            level,
-            level * 100.0, // HP = level * 100 (reasonable)
-            scaledDamage, // Reasonable damage scaling
-            scaledDefense, // Reasonable defense scaling
-            Math.min(50, template.getDodgeChance()) // Cap dodge at 50%
-        );
+    /**
+     * Builds a monster of the given level from a template using explicit scaling constants.
+     * Base damage in the data files is far too high for hero HP (~150-300), so damage and
+     * defense come from the scaling formulas instead; only the dodge chance is kept (capped).
+     * The new monster shares the template and only owns its scaled, mutable stats.
+     */
+    public static Monster createMonsterFromTemplate(MonsterTemplate template, int level, MonsterScaling scaling) {
+        return createMonsterFromTemplate(template, level, scaling, null);
+    }
+
+    /**
+     * Same as {@link #createMonsterFromTemplate(MonsterTemplate, int, MonsterScaling)}, but takes
+     * the instance from a pool when one is given.
+     *
+     * @param pool Free list to recycle from, or null to allocate a new monster.
+     */
+    public static Monster createMonsterFromTemplate(MonsterTemplate template, int level, MonsterScaling scaling, EntityPool pool) {
+        double hp = scaling.hpFor(level);
+        double damage = scaling.damageFor(level);
+        double defense = scaling.defenseFor(level);
+        // Capped on the data file's 0-100 scale; spawns have always been fed the 0-1 value, so keep that balance
+        double dodge = scaling.dodgeFor(template.getDodgeChance()) * 0.01;
+        if (pool != null) {
+            return pool.acquireMonster(template, level, hp, damage, defense, dodge);
+        }
+        return new Monster(template, level, hp, damage, defense, dodge);
     }
 
     // Factory method to create specific spell subclasses
@@ -306,4 +321,4 @@ public class GameDataLoader {
                 return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package utils;
+
+import entities.Monster.MonsterType;
+import entities.MonsterTemplate;
+import items.Item;
+import items.Spell.SpellType;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Monster and item catalogs that follow edits to the data directory while games are running.
+ *
+ * <p>A daemon thread watches data/ with a WatchService. When a data file changes, only that
+ * file is parsed again; the result replaces its part of the catalog and a new immutable
+ * Snapshot is swapped in atomically. Readers never wait and never see a half-updated catalog:
+ * markets and spawners take one snapshot per visit or spawn and use it throughout.</p>
+ *
+ * <p>A reparse is only swapped in if the file stayed the same size and age for a settle window
+ * after it was read, and it has records and no more short or malformed ones than the version
+ * it replaces. Otherwise the previous version stays; a save still in progress brings another
+ * change event.</p>
+ *
+ * <p>Heroes are only read when a game starts, so hero files are not watched.</p>
+ */
+public class LiveCatalog implements AutoCloseable {
+
+    private static final Path DATA_DIR = Paths.get("data");
+
+    // Concatenation order matches AssetCatalog
+    private static final String[] MONSTER_FILES = {"Dragons.txt", "Exoskeletons.txt", "Spirits.txt"};
+    private static final String[] ITEM_FILES = {"Weaponry.txt", "Armory.txt", "Potions.txt",
+            "FireSpells.txt", "IceSpells.txt", "LightningSpells.txt"};
+
+    // Editors save in several writes; changes arriving this close together are parsed once
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Map<String, List<?>> parts = new HashMap<>(); // Only touched by the watcher after construction
+    private final Map<String, Integer> rejected = new HashMap<>(); // Short or malformed records in each part
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final WatchService watcher;
+
+    private LiveCatalog() throws IOException {
+        // Watch first, so an edit made during the initial parse is picked up afterwards
+        watcher = FileSystems.getDefault().newWatchService();
+        DATA_DIR.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        for (String file : MONSTER_FILES) load(file);
+        for (String file : ITEM_FILES) load(file);
+        current.set(assemble(0));
+
+        Thread thread = new Thread(this::awaitChanges, "catalog-watcher");
+        thread.setDaemon(true); // Never keeps the JVM alive
+        thread.start();
+    }
+
+    /**
+     * Loads every monster and item file, then starts watching the data directory.
+     *
+     * @throws IOException if the data directory cannot be watched.
+     */
+    public static LiveCatalog watch() throws IOException {
+        return new LiveCatalog();
+    }
+
+    /**
+     * @return The catalogs as of the latest reload; never changes after it is returned.
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * @return Dragons, exoskeletons and spirits as of the latest reload (unmodifiable).
+     */
+    public List<MonsterTemplate> monsters() {
+        return current.get().getMonsters();
+    }
+
+    /**
+     * @return Weapons, armor, potions and spells as of the latest reload (unmodifiable).
+     */
+    public List<Item> items() {
+        return current.get().getItems();
+    }
+
+    @Override
+    public void close() {
+        try {
+            watcher.close(); // Wakes the watcher thread, which then exits
+        } catch (IOException e) {
+            System.err.println("Error closing catalog watcher: " + e.getMessage());
+        }
+    }
+
+    private void awaitChanges() {
+        try {
+            while (true) {
+                Set<String> changed = new LinkedHashSet<>();
+                WatchKey key = watcher.take();
+                // Gather the rest of this save before parsing anything
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            for (String file : parts.keySet()) changed.add(file);
+                        } else {
+                            String file = ((Path) event.context()).getFileName().toString();
+                            if (parts.containsKey(file)) changed.add(file);
+                        }
+                    }
+                    key.reset();
+                    key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (!changed.isEmpty()) reload(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed: stop watching
+        }
+    }
+
+    private void load(String file) {
+        parts.put(file, parse(file));
+        rejected.put(file, GameDataLoader.getLastRejectedCount());
+    }
+
+    private void reload(Set<String> files) throws InterruptedException {
+        Map<String, List<?>> records = new LinkedHashMap<>();
+        Map<String, Integer> bad = new HashMap<>();
+        Map<String, String> stamps = new HashMap<>();
+        for (String file : files) {
+            stamps.put(file, stamp(file));
+            List<?> parsed = parse(file);
+            int skipped = GameDataLoader.getLastRejectedCount();
+            // Both usually mean the save was caught half written; the next event brings the rest
+            if (parsed.isEmpty() && !parts.get(file).isEmpty()) {
+                System.err.println("Warning: " + file + " reloaded with no records; keeping the previous version.");
+            } else if (skipped > rejected.get(file)) {
+                System.err.println("Warning: " + file + " reloaded with " + skipped
+                        + " short or malformed records; keeping the previous version.");
+            } else {
+                records.put(file, parsed);
+                bad.put(file, skipped);
+            }
+        }
+        if (records.isEmpty()) return;
+
+        // A file still being written changes again within the settle window; its change event follows
+        Thread.sleep(SETTLE_MILLIS);
+        records.keySet().removeIf(file -> !stamp(file).equals(stamps.get(file)));
+        if (records.isEmpty()) return;
+
+        parts.putAll(records);
+        rejected.putAll(bad);
+        current.set(assemble(current.get().getVersion() + 1));
+    }
+
+    // Size and modification time, or "" for a file that cannot be read right now
+    private static String stamp(String file) {
+        Path path = DATA_DIR.resolve(file);
+        try {
+            return Files.size(path) + "@" + Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Snapshot assemble(int version) {
+        List<MonsterTemplate> monsters = new ArrayList<>();
+        for (String file : MONSTER_FILES) monsters.addAll((List<MonsterTemplate>) parts.get(file));
+        List<Item> items = new ArrayList<>();
+        for (String file : ITEM_FILES) items.addAll((List<Item>) parts.get(file));
+        return new Snapshot(version, List.copyOf(monsters), List.copyOf(items));
+    }
+
+    private static List<?> parse(String file) {
+        switch (file) {
+            case "Dragons.txt": return GameDataLoader.loadMonsters(file, MonsterType.DRAGON);
+            case "Exoskeletons.txt": return GameDataLoader.loadMonsters(file, MonsterType.EXOSKELETON);
+            case "Spirits.txt": return GameDataLoader.loadMonsters(file, MonsterType.SPIRIT);
+            case "Weaponry.txt": return GameDataLoader.loadWeapons(file);
+            case "Armory.txt": return GameDataLoader.loadArmor(file);
+            case "Potions.txt": return GameDataLoader.loadPotions(file);
+            case "FireSpells.txt": return GameDataLoader.loadSpells(file, SpellType.FIRE);
+            case "IceSpells.txt": return GameDataLoader.loadSpells(file, SpellType.ICE);
+            case "LightningSpells.txt": return GameDataLoader.loadSpells(file, SpellType.LIGHTNING);
+            default: throw new IllegalArgumentException("Not a catalog file: " + file);
+        }
+    }
+
+    /**
+     * Every catalog at one moment. Lists are unmodifiable and never change.
+     */
+    public static final class Snapshot {
+        private final int version;
+        private final List<MonsterTemplate> monsters;
+        private final List<Item> items;
+
+        Snapshot(int version, List<MonsterTemplate> monsters, List<Item> items) {
+            this.version = version;
+            this.monsters = monsters;
+            this.items = items;
+        }
+
+        /**
+         * @return 0 for the initial load, then one more for every reload.
+         */
+        public int getVersion() { return version; }
+        public List<MonsterTemplate> getMonsters() { return monsters; }
+        public List<Item> getItems() { return items; }
+    }
+}
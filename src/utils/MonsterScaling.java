@@ -0,0 +1,71 @@
+package utils;
+
+import java.util.Locale;
+
+/**
+ * Immutable set of constants that turn a monster template into a monster of a given level.
+ * Loaded from data/MonsterScaling.txt by GameDataLoader so balance changes need no recompile;
+ * DEFAULT reproduces the original hard-coded formulas.
+ */
+public class MonsterScaling {
+
+    public static final MonsterScaling DEFAULT = new MonsterScaling(20, 10, 10, 5, 50, 8);
+
+    private final double damagePerLevel;
+    private final double minDamage;
+    private final double defensePerLevel;
+    private final double minDefense;
+    private final double dodgeCap;
+    private final int spawnInterval;
+
+    /**
+     * @param damagePerLevel  Monster damage added per level.
+     * @param minDamage       Floor for monster damage.
+     * @param defensePerLevel Monster defense added per level.
+     * @param minDefense      Floor for monster defense.
+     * @param dodgeCap        Highest dodge chance a template keeps, on the 0-100 scale of the data files.
+     * @param spawnInterval   Valor rounds between monster waves.
+     */
+    public MonsterScaling(double damagePerLevel, double minDamage, double defensePerLevel,
+                          double minDefense, double dodgeCap, int spawnInterval) {
+        this.damagePerLevel = damagePerLevel;
+        this.minDamage = minDamage;
+        this.defensePerLevel = defensePerLevel;
+        this.minDefense = minDefense;
+        this.dodgeCap = dodgeCap;
+        this.spawnInterval = Math.max(1, spawnInterval);
+    }
+
+    public double damageFor(int level) { return Math.max(minDamage, level * damagePerLevel); }
+    public double defenseFor(int level) { return Math.max(minDefense, level * defensePerLevel); }
+    public double hpFor(int level) { return level * 100.0; }
+    public double dodgeFor(double templateDodge) { return Math.min(dodgeCap, templateDodge); } // Both 0-100
+
+    public double getDamagePerLevel() { return damagePerLevel; }
+    public double getMinDamage() { return minDamage; }
+    public double getDefensePerLevel() { return defensePerLevel; }
+    public double getMinDefense() { return minDefense; }
+    public double getDodgeCap() { return dodgeCap; }
+    public int getSpawnInterval() { return spawnInterval; }
+
+    /**
+     * @return The constants in the data file format read by GameDataLoader.loadMonsterScaling.
+     */
+    public String toDataFile() {
+        return String.format(Locale.ROOT,
+                "Name/value%n"
+                + "damage_per_level    %.2f%n"
+                + "min_damage          %.2f%n"
+                + "defense_per_level   %.2f%n"
+                + "min_defense         %.2f%n"
+                + "dodge_cap           %.2f%n"
+                + "spawn_interval      %d%n",
+                damagePerLevel, minDamage, defensePerLevel, minDefense, dodgeCap, spawnInterval);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "dmg/lvl=%.1f (min %.1f), def/lvl=%.1f (min %.1f), dodge cap=%.1f, spawn every %d",
+                damagePerLevel, minDamage, defensePerLevel, minDefense, dodgeCap, spawnInterval);
+    }
+}
@@ -0,0 +1,352 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming tokenizer for the whitespace-separated data file format.
+ * Characters are read through one reused buffer and each line is split into field offsets
+ * in place, so numeric fields are parsed without creating substrings or regex matches.
+ * Only one line is held at a time, which keeps memory flat for catalogs of any size.
+ *
+ * <p>Blank lines and "Name/..." header lines are skipped. The Record handed to callbacks
+ * is a view of the current line and is only valid until the next line is read.</p>
+ */
+public class RecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_FIELDS = 16;
+
+    // Exact powers of ten: a mantissa below 2^53 divided or multiplied by one is correctly rounded
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader source;
+    private final String sourceName;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferLimit;
+
+    private char[] line = new char[256];
+    private int lineLength;
+    private int lineNumber;
+    private int rejected; // Records skipped for too few fields or a field that did not parse
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private int fieldCount;
+
+    private final Record record = new Record();
+
+    /**
+     * @param source     Character source; closed when this reader is closed.
+     * @param sourceName Name used in malformed-line messages (usually the file name).
+     */
+    public RecordReader(Reader source, String sourceName) {
+        this.source = source;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Callback for one parsed record. Throwing any exception marks the line as malformed.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void handle(Record record) throws Exception;
+    }
+
+    /**
+     * Maps one record to a value for streaming. Returning null skips the record.
+     */
+    @FunctionalInterface
+    public interface RecordMapper<T> {
+        T map(Record record) throws Exception;
+    }
+
+    /**
+     * Reads every remaining record, skipping records with fewer than minFields fields.
+     * Malformed lines are reported on System.err with their line number and skipped.
+     */
+    public void forEach(int minFields, RecordHandler handler) throws IOException {
+        while (nextRecord()) {
+            if (fieldCount < minFields) {
+                rejected++;
+                continue;
+            }
+            try {
+                handler.handle(record);
+            } catch (Exception e) {
+                reportMalformed(e);
+            }
+        }
+    }
+
+    /**
+     * Lazily maps records to values. Close the stream to close the underlying reader.
+     */
+    public <T> Stream<T> stream(int minFields, RecordMapper<T> mapper) {
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    while (nextRecord()) {
+                        if (fieldCount < minFields) {
+                            rejected++;
+                            continue;
+                        }
+                        T value;
+                        try {
+                            value = mapper.map(record);
+                        } catch (Exception e) {
+                            reportMalformed(e);
+                            continue;
+                        }
+                        if (value == null) continue;
+                        action.accept(value);
+                        return true;
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return Number of lines consumed so far, including skipped ones.
+     */
+    public int getLineNumber() { return lineNumber; }
+
+    /**
+     * @return Records skipped so far, short or malformed; blank and header lines do not count.
+     */
+    public int getRejectedCount() { return rejected; }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private void reportMalformed(Exception cause) {
+        rejected++;
+        String reason = (cause instanceof NumberFormatException) ? "bad number" : cause.getClass().getSimpleName();
+        System.err.println("Skipping malformed line " + lineNumber + " in " + sourceName + " (" + reason + "): "
+                + new String(line, 0, lineLength).trim());
+    }
+
+    // LINE SCANNING
+
+    /**
+     * Advances to the next data line and splits it into fields.
+     *
+     * @return false at end of input.
+     */
+    private boolean nextRecord() throws IOException {
+        while (readLine()) {
+            splitFields();
+            if (fieldCount == 0) continue; // Blank line
+            if (startsWith(0, "Name/")) continue; // Header line
+            return true;
+        }
+        return false;
+    }
+
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean sawAny = false;
+        while (true) {
+            if (bufferPos == bufferLimit) {
+                bufferLimit = source.read(buffer, 0, buffer.length);
+                bufferPos = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    if (sawAny) lineNumber++;
+                    return sawAny;
+                }
+            }
+            sawAny = true;
+            char c = buffer[bufferPos++];
+            if (c == '\n') {
+                lineNumber++;
+                return true;
+            }
+            if (lineLength == line.length) {
+                char[] grown = new char[line.length * 2];
+                System.arraycopy(line, 0, grown, 0, lineLength);
+                line = grown;
+            }
+            line[lineLength++] = c;
+        }
+    }
+
+    private void splitFields() {
+        fieldCount = 0;
+        int i = 0;
+        while (i < lineLength) {
+            while (i < lineLength && isWhitespace(line[i])) i++;
+            if (i == lineLength) break;
+            int start = i;
+            while (i < lineLength && !isWhitespace(line[i])) i++;
+            if (fieldCount < MAX_FIELDS) {
+                fieldStart[fieldCount] = start;
+                fieldEnd[fieldCount] = i;
+                fieldCount++;
+            }
+        }
+    }
+
+    // Same character class as the regex \s used by the original loaders
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f' || c == '\u000B';
+    }
+
+    private boolean startsWith(int field, String prefix) {
+        int start = fieldStart[field];
+        if (fieldEnd[field] - start < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line[start + i] != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Read-only view of the current line's fields.
+     */
+    public final class Record {
+
+        public int getFieldCount() { return fieldCount; }
+
+        public int getLineNumber() { return lineNumber; }
+
+        /**
+         * @return The field as a new String (the only accessor that allocates).
+         */
+        public String getString(int field) {
+            check(field);
+            return new String(line, fieldStart[field], fieldEnd[field] - fieldStart[field]);
+        }
+
+        public boolean fieldEqualsIgnoreCase(int field, String text) {
+            check(field);
+            int start = fieldStart[field];
+            int length = fieldEnd[field] - start;
+            if (length != text.length()) return false;
+            for (int i = 0; i < length; i++) {
+                if (Character.toLowerCase(line[start + i]) != Character.toLowerCase(text.charAt(i))) return false;
+            }
+            return true;
+        }
+
+        public int getInt(int field) {
+            check(field);
+            int i = fieldStart[field];
+            int end = fieldEnd[field];
+            boolean negative = false;
+            if (line[i] == '-' || line[i] == '+') {
+                negative = line[i] == '-';
+                i++;
+            }
+            if (i == end) throw new NumberFormatException();
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = line[i] - '0';
+                if (digit < 0 || digit > 9) throw new NumberFormatException();
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) throw new NumberFormatException();
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) throw new NumberFormatException();
+            return (int) value;
+        }
+
+        /**
+         * Parses plain decimals ("12", "-3.75", "1e3") in place. Anything outside the exact
+         * fast path falls back to Double.parseDouble, so results always match it.
+         */
+        public double getDouble(int field) {
+            check(field);
+            int start = fieldStart[field];
+            int end = fieldEnd[field];
+            int i = start;
+            boolean negative = false;
+            if (line[i] == '-' || line[i] == '+') {
+                negative = line[i] == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int scale = 0;
+            boolean seenDigit = false;
+            for (; i < end && line[i] >= '0' && line[i] <= '9'; i++) {
+                seenDigit = true;
+                if (mantissa != 0 || line[i] != '0') digits++;
+                mantissa = mantissa * 10 + (line[i] - '0');
+                if (digits > 15) return slowParse(start, end);
+            }
+            if (i < end && line[i] == '.') {
+                for (i++; i < end && line[i] >= '0' && line[i] <= '9'; i++) {
+                    seenDigit = true;
+                    if (mantissa != 0 || line[i] != '0') digits++;
+                    mantissa = mantissa * 10 + (line[i] - '0');
+                    scale--;
+                    if (digits > 15) return slowParse(start, end);
+                }
+            }
+            if (!seenDigit) return slowParse(start, end);
+            if (i < end && (line[i] == 'e' || line[i] == 'E')) {
+                int exponent = 0;
+                boolean negativeExponent = false;
+                i++;
+                if (i < end && (line[i] == '-' || line[i] == '+')) {
+                    negativeExponent = line[i] == '-';
+                    i++;
+                }
+                if (i == end) throw new NumberFormatException();
+                for (; i < end && line[i] >= '0' && line[i] <= '9'; i++) {
+                    exponent = exponent * 10 + (line[i] - '0');
+                    if (exponent > 400) return slowParse(start, end);
+                }
+                scale += negativeExponent ? -exponent : exponent;
+            }
+            if (i != end) return slowParse(start, end); // Suffixes like "d", hex, NaN, ...
+
+            double value = mantissa;
+            if (scale < 0) {
+                if (-scale >= POWERS_OF_TEN.length) return slowParse(start, end);
+                value /= POWERS_OF_TEN[-scale];
+            } else if (scale > 0) {
+                if (scale >= POWERS_OF_TEN.length) return slowParse(start, end);
+                value *= POWERS_OF_TEN[scale];
+            }
+            return negative ? -value : value;
+        }
+
+        private double slowParse(int start, int end) {
+            return Double.parseDouble(new String(line, start, end - start));
+        }
+
+        private void check(int field) {
+            if (field < 0 || field >= fieldCount) {
+                throw new IllegalArgumentException("Missing field " + (field + 1));
+            }
+        }
+    }
+}